@@ -0,0 +1,69 @@
+package com.practice.priceservice.benchmark;
+
+import com.practice.priceservice.PriceserviceApplication;
+import com.practice.priceservice.domain.Price;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arranca la aplicación (por defecto sin servidor web) sobre una H2 propia y la rellena con tarifas sintéticas
+ * por JDBC en lotes.
+ */
+final class BenchmarkApplication {
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(List<Price> prices, Map<String, Object> properties) {
+        return start(prices, properties, WebApplicationType.NONE);
+    }
+
+    static ConfigurableApplicationContext start(List<Price> prices, Map<String, Object> properties,
+                                                WebApplicationType webApplicationType) {
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        overrides.put("spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        overrides.put("spring.jpa.show-sql", "false");
+        overrides.put("spring.h2.console.enabled", "false");
+        overrides.put("spring.devtools.restart.enabled", "false");
+        overrides.put("logging.level.root", "WARN");
+        overrides.put("spring.autoconfigure.exclude", "org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration");
+        overrides.putAll(properties);
+
+        // Como argumentos de línea de comandos para que prevalezcan sobre application.properties
+        String[] args = overrides.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PriceserviceApplication.class)
+                .web(webApplicationType)
+                .run(args);
+        insert(context.getBean(JdbcTemplate.class), prices);
+        return context;
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Price> prices) {
+        String sql = "INSERT INTO price (id, brand_id, start_date, end_date, price_list, product_id, priority, price, currency) "
+                + "VALUES (NEXT VALUE FOR price_seq, ?, ?, ?, ?, ?, ?, ?, ?)";
+        for (int from = 0; from < prices.size(); from += INSERT_BATCH_SIZE) {
+            List<Price> chunk = prices.subList(from, Math.min(from + INSERT_BATCH_SIZE, prices.size()));
+            jdbcTemplate.batchUpdate(sql, chunk, chunk.size(), (statement, price) -> {
+                statement.setInt(1, price.getBrandId());
+                statement.setTimestamp(2, Timestamp.valueOf(price.getStartDate()));
+                statement.setTimestamp(3, Timestamp.valueOf(price.getEndDate()));
+                statement.setInt(4, price.getPriceList());
+                statement.setInt(5, price.getProductId());
+                statement.setInt(6, price.getPriority());
+                statement.setDouble(7, price.getPrice());
+                statement.setString(8, price.getCurrency());
+            });
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.practice.priceservice.benchmark;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.infrastructure.memory.InMemoryPriceRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas de {@link InMemoryPriceRepository} sobre las cadenas 2 a 5 mientras otro hilo recarga sin pausa la
+ * cadena 1. {@code reload=brand} usa {@code reloadBrand} (solo se copia la cadena 1); {@code reload=all} recarga
+ * todo el catálogo, como hacía el índice sin particionar. El grupo {@code idle} es la referencia sin recargas.
+ * Con {@code -prof gc} se ve la basura que genera cada modo; con {@code -tg} se escala el número de lectores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InMemoryShardingBenchmark {
+
+    private static final int RELOADED_BRAND = 1;
+
+    @Param("100000")
+    private int products;
+
+    @Param("4")
+    private int tariffsPerProduct;
+
+    @Param("0.5")
+    private double overlap;
+
+    @Param({"brand", "all"})
+    private String reload;
+
+    private InMemoryPriceRepository repository;
+    private List<Price> prices;
+    private List<Price> reloadedBrandPrices;
+    private PriceQuery[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        prices = SyntheticPrices.generate(products, tariffsPerProduct, overlap);
+        reloadedBrandPrices = prices.stream().filter(price -> price.getBrandId() == RELOADED_BRAND).toList();
+        queries = Arrays.stream(SyntheticPrices.queries(products, 8192))
+                .filter(query -> query.getBrandId() != RELOADED_BRAND)
+                .toArray(PriceQuery[]::new);
+        repository = new InMemoryPriceRepository(prices);
+    }
+
+    @Benchmark
+    @Group("idle")
+    @GroupThreads(3)
+    public Optional<Price> readIdle(QueryCursor cursor) {
+        return read(cursor);
+    }
+
+    @Benchmark
+    @Group("reloading")
+    @GroupThreads(3)
+    public Optional<Price> readWhileReloading(QueryCursor cursor) {
+        return read(cursor);
+    }
+
+    @Benchmark
+    @Group("reloading")
+    @GroupThreads(1)
+    public void reloadBrand() {
+        if ("all".equals(reload)) {
+            repository.reload(prices);
+        } else {
+            repository.reloadBrand(RELOADED_BRAND, reloadedBrandPrices);
+        }
+    }
+
+    private Optional<Price> read(QueryCursor cursor) {
+        PriceQuery query = cursor.next(queries);
+        return repository.findBestPrice(query.getDate(), query.getProductId(), query.getBrandId());
+    }
+}
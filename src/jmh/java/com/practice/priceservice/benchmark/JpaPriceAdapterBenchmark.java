@@ -0,0 +1,104 @@
+package com.practice.priceservice.benchmark;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.infrastructure.persistence.JpaPriceAdapter;
+import com.practice.priceservice.infrastructure.persistence.JpaPriceEntity;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas de {@link JpaPriceAdapter} contra H2: la lista de tarifas aplicables y la consulta top-1.
+ * {@code findApplicablePricesViaEntities} reproduce la lectura anterior, hidratando entidades gestionadas y copiándolas
+ * al dominio, como referencia para la proyección; con {@code -prof gc} se compara la memoria reservada por operación.
+ * Con {@code -p products=500000} la tabla tiene 2 millones de filas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JpaPriceAdapterBenchmark {
+
+    @Param("10000")
+    private int products;
+
+    @Param("4")
+    private int tariffsPerProduct;
+
+    @Param("0.5")
+    private double overlap;
+
+    @Param("16")
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private JpaPriceAdapter adapter;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private PriceQuery[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(SyntheticPrices.generate(products, tariffsPerProduct, overlap), Map.of());
+        adapter = context.getBean(JpaPriceAdapter.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        queries = SyntheticPrices.queries(products, 4096);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Price> findApplicablePrices(QueryCursor cursor) {
+        PriceQuery query = cursor.next(queries);
+        return adapter.findApplicablePrices(query.getDate(), query.getProductId(), query.getBrandId());
+    }
+
+    @Benchmark
+    public Optional<Price> findBestPrice(QueryCursor cursor) {
+        PriceQuery query = cursor.next(queries);
+        return adapter.findBestPrice(query.getDate(), query.getProductId(), query.getBrandId());
+    }
+
+    /**
+     * Una consulta multi-clave por cada {@code batchSize} consultas, como las que envía el lote y los micro-lotes.
+     */
+    @Benchmark
+    public Map<PriceQuery, List<Price>> findApplicablePricesBatch(QueryCursor cursor) {
+        List<PriceQuery> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(cursor.next(queries));
+        }
+        return adapter.findApplicablePrices(batch);
+    }
+
+    @Benchmark
+    public List<Price> findApplicablePricesViaEntities(QueryCursor cursor) {
+        PriceQuery query = cursor.next(queries);
+        return transactionTemplate.execute(status -> entityManager.createQuery(
+                        "SELECT p FROM JpaPriceEntity p WHERE :date BETWEEN p.startDate AND p.endDate AND p.productId = :productId AND p.brandId = :brandId",
+                        JpaPriceEntity.class)
+                .setParameter("date", query.getDate())
+                .setParameter("productId", query.getProductId())
+                .setParameter("brandId", query.getBrandId())
+                .getResultStream()
+                .map(entity -> new Price(entity.getId(), entity.getBrandId(), entity.getStartDate(), entity.getEndDate(),
+                        entity.getPriceList(), entity.getProductId(), entity.getPriority(), entity.getPrice(), entity.getCurrency()))
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,162 @@
+package com.practice.priceservice.benchmark;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Prueba de carga HTTP sobre {@code GET /api/prices} que compara el modelo de hilo por petición de Tomcat
+ * con el perfil {@code virtual} (hilos virtuales). Para cada modo arranca la aplicación con el backend JPA,
+ * lanza {@code concurrency} clientes en bucle cerrado y reporta throughput y percentiles de latencia.
+ * <p>
+ * Argumentos {@code clave=valor}: modes (platform,virtual), concurrency (400), warmup (10 s), duration (30 s),
+ * products (10000), tariffsPerProduct (4), overlap (0.5).
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "modes", "platform,virtual",
+                "concurrency", "400",
+                "warmup", "10",
+                "duration", "30",
+                "products", "10000",
+                "tariffsPerProduct", "4",
+                "overlap", "0.5"));
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            options.put(option[0], option[1]);
+        }
+
+        int products = Integer.parseInt(options.get("products"));
+        List<Price> prices = SyntheticPrices.generate(products,
+                Integer.parseInt(options.get("tariffsPerProduct")), Double.parseDouble(options.get("overlap")));
+        PriceQuery[] queries = SyntheticPrices.queries(products, 4096);
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+
+        System.out.printf("%-9s %11s %8s %10s %9s %9s %9s %9s%n",
+                "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (String mode : options.get("modes").split(",")) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("server.port", "0");
+            properties.put("spring.profiles.active", "virtual".equals(mode) ? "virtual" : "default");
+            try (ConfigurableApplicationContext context = BenchmarkApplication.start(prices, properties, WebApplicationType.SERVLET)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/prices";
+                run(baseUrl, queries, concurrency, Duration.ofSeconds(Long.parseLong(options.get("warmup"))));
+                Result result = run(baseUrl, queries, concurrency, Duration.ofSeconds(Long.parseLong(options.get("duration"))));
+                System.out.printf("%-9s %11d %8d %10.0f %9.2f %9.2f %9.2f %9.2f%n", mode,
+                        result.latencies.length, result.errors, result.latencies.length / result.seconds,
+                        result.percentile(0.50), result.percentile(0.99), result.percentile(0.999), result.percentile(1.0));
+            }
+        }
+    }
+
+    /**
+     * Bucle cerrado: cada cliente (un hilo virtual, para que el cliente no sea el cuello de botella)
+     * envía la siguiente petición en cuanto recibe la respuesta anterior.
+     */
+    private static Result run(String baseUrl, PriceQuery[] queries, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clients)
+                     .build()) {
+            List<Future<Worker>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                int offset = i;
+                futures.add(clients.submit(() -> new Worker().run(http, baseUrl, queries, offset, deadline)));
+            }
+            long[] latencies = new long[0];
+            long errors = 0;
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                latencies = concat(latencies, worker.latencies, worker.count);
+                errors += worker.errors;
+            }
+            Arrays.sort(latencies);
+            return new Result(latencies, errors, (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private static long[] concat(long[] left, long[] right, int rightCount) {
+        long[] result = Arrays.copyOf(left, left.length + rightCount);
+        System.arraycopy(right, 0, result, left.length, rightCount);
+        return result;
+    }
+
+    private static final class Worker {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        Worker run(HttpClient http, String baseUrl, PriceQuery[] queries, int offset, long deadline) {
+            for (int i = offset; System.nanoTime() < deadline; i++) {
+                PriceQuery query = queries[i % queries.length];
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl
+                                + "?date=" + query.getDate()
+                                + "&productId=" + query.getProductId()
+                                + "&brandId=" + query.getBrandId()))
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                long sent = System.nanoTime();
+                try {
+                    int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status != 200 && status != 404) {
+                        errors++;
+                        continue;
+                    }
+                } catch (Exception ex) {
+                    errors++;
+                    continue;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - sent;
+            }
+            return this;
+        }
+    }
+
+    private static final class Result {
+
+        private final long[] latencies;
+        private final long errors;
+        private final double seconds;
+
+        Result(long[] latencies, long errors, double seconds) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.seconds = seconds;
+        }
+
+        double percentile(double quantile) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(quantile * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
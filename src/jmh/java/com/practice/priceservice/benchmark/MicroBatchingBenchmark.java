@@ -0,0 +1,74 @@
+package com.practice.priceservice.benchmark;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.infrastructure.batching.MicroBatchingPriceRepository;
+import com.practice.priceservice.infrastructure.persistence.JpaPriceAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compromiso latencia/throughput de {@link MicroBatchingPriceRepository} contra H2 con muchos hilos concurrentes
+ * pidiendo claves distintas. {@code windowMillis=0} es la referencia sin micro-lotes (un {@code findBestPrice} por
+ * consulta). Throughput da consultas/s y SampleTime los percentiles de latencia de cada consulta.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MicroBatchingBenchmark {
+
+    @Param("10000")
+    private int products;
+
+    @Param("4")
+    private int tariffsPerProduct;
+
+    @Param("0.5")
+    private double overlap;
+
+    @Param({"0", "1", "2"})
+    private long windowMillis;
+
+    @Param({"16", "64"})
+    private int maxBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private PriceRepository repository;
+    private PriceQuery[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Price> prices = SyntheticPrices.generate(products, tariffsPerProduct, overlap);
+        queries = SyntheticPrices.queries(products, 4096);
+        context = BenchmarkApplication.start(prices, Map.of());
+        JpaPriceAdapter adapter = context.getBean(JpaPriceAdapter.class);
+        repository = windowMillis == 0
+                ? adapter
+                : new MicroBatchingPriceRepository(adapter, Duration.ofMillis(windowMillis), maxBatchSize,
+                        new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Price> findBestPrice() {
+        PriceQuery query = queries[ThreadLocalRandom.current().nextInt(queries.length)];
+        return repository.findBestPrice(query.getDate(), query.getProductId(), query.getBrandId());
+    }
+}
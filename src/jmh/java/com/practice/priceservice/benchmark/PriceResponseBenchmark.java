@@ -0,0 +1,92 @@
+package com.practice.priceservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.infrastructure.web.dto.PriceBatchResponse;
+import com.practice.priceservice.infrastructure.web.dto.PriceResponse;
+import com.practice.priceservice.infrastructure.web.mapper.PriceMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de la salida del endpoint: mapeo a {@link PriceResponse} y serialización con la configuración de Spring,
+ * en JSON (fechas ISO, como la sirve Spring Boot) o en CBOR (fechas como arrays, como {@code MetricsConfig}).
+ * Al preparar cada trial imprime el tamaño en bytes de una respuesta y de un lote de {@code batchSize}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceResponseBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param("100")
+    private int batchSize;
+
+    private final PriceMapper mapper = Mappers.getMapper(PriceMapper.class);
+
+    private ObjectMapper objectMapper;
+    private Price price;
+    private PriceResponse response;
+    private List<PriceBatchResponse> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.json()
+                    .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .factory(new CBORFactory())
+                    .build();
+            default -> throw new IllegalArgumentException("Formato desconocido: " + format);
+        };
+        List<Price> prices = SyntheticPrices.generate(batchSize, 2, 0);
+        price = prices.get(1);
+        response = mapper.toResponse(price);
+
+        PriceQuery[] queries = SyntheticPrices.queries(batchSize, batchSize);
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            PriceQuery query = queries[i];
+            batch.add(new PriceBatchResponse(query.getDate(), query.getProductId(), query.getBrandId(),
+                    mapper.toResponse(prices.get(2 * (query.getProductId() - 1)))));
+        }
+        System.out.printf("%n%s: PriceResponse = %d bytes, lote de %d = %d bytes%n", format,
+                serialize().length, batchSize, serializeBatch().length);
+    }
+
+    @Benchmark
+    public PriceResponse toResponse() {
+        return mapper.toResponse(price);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapper.toResponse(price));
+    }
+
+    @Benchmark
+    public byte[] serializeBatch() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(batch);
+    }
+}
@@ -0,0 +1,96 @@
+package com.practice.priceservice.benchmark;
+
+import com.practice.priceservice.application.CachingPriceService;
+import com.practice.priceservice.application.PriceService;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.infrastructure.memory.InMemoryPriceRepository;
+import com.practice.priceservice.infrastructure.persistence.JpaPriceAdapter;
+import com.practice.priceservice.infrastructure.snapshot.PriceSnapshotWriter;
+import com.practice.priceservice.infrastructure.snapshot.SnapshotPriceRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PriceService#getBestPrice} de punta a punta sobre cada backend:
+ * jpa (consulta top-1 en H2), memory (índice en memoria), snapshot (fichero mapeado en memoria)
+ * y cache (Caffeine delante de JPA).
+ * La caché se precarga con todas las consultas en el setup, así que cache mide el camino de acierto.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceServiceBenchmark {
+
+    @Param("10000")
+    private int products;
+
+    @Param("4")
+    private int tariffsPerProduct;
+
+    @Param("0.5")
+    private double overlap;
+
+    @Param({"jpa", "memory", "snapshot", "cache"})
+    private String backend;
+
+    private ConfigurableApplicationContext context;
+    private PriceService priceService;
+    private PriceQuery[] queries;
+    private Path snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Price> prices = SyntheticPrices.generate(products, tariffsPerProduct, overlap);
+        queries = SyntheticPrices.queries(products, 4096);
+
+        if ("memory".equals(backend)) {
+            priceService = new PriceService(new InMemoryPriceRepository(prices));
+            return;
+        }
+        if ("snapshot".equals(backend)) {
+            snapshot = Files.createTempFile("prices", ".snapshot");
+            new PriceSnapshotWriter().write(prices, snapshot);
+            priceService = new PriceService(new SnapshotPriceRepository(snapshot));
+            return;
+        }
+        context = BenchmarkApplication.start(prices, Map.of());
+        JpaPriceAdapter adapter = context.getBean(JpaPriceAdapter.class);
+        priceService = "cache".equals(backend)
+                ? new CachingPriceService(adapter, products, Duration.ofHours(1))
+                : new PriceService(adapter);
+        if ("cache".equals(backend)) {
+            for (PriceQuery query : queries) {
+                priceService.getBestPrice(query.getDate(), query.getProductId(), query.getBrandId());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (snapshot != null) {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    @Benchmark
+    public Optional<Price> getBestPrice(QueryCursor cursor) {
+        PriceQuery query = cursor.next(queries);
+        return priceService.getBestPrice(query.getDate(), query.getProductId(), query.getBrandId());
+    }
+}
@@ -0,0 +1,62 @@
+package com.practice.priceservice.benchmark;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceTimeline;
+import com.practice.priceservice.infrastructure.memory.InMemoryPriceRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Huella del índice en memoria: al preparar cada trial imprime el heap que retiene {@link InMemoryPriceRepository}
+ * una vez descartadas las tarifas de entrada, en total y por tarifa. Las {@link PriceTimeline} guardan los ganadores
+ * compactos y construyen el {@link Price} en cada lectura; con {@code -prof gc} se ve lo que asigna cada consulta
+ * ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceTimelineFootprintBenchmark {
+
+    @Param("100000")
+    private int products;
+
+    @Param("4")
+    private int tariffsPerProduct;
+
+    @Param("0.5")
+    private double overlap;
+
+    private InMemoryPriceRepository repository;
+    private PriceQuery[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queries = SyntheticPrices.queries(products, 8192);
+        long before = usedHeap();
+        repository = new InMemoryPriceRepository(SyntheticPrices.generate(products, tariffsPerProduct, overlap));
+        long retained = usedHeap() - before;
+        long tariffs = (long) products * tariffsPerProduct;
+        System.out.printf("%nÍndice en memoria con %d tarifas: %d KB retenidos, %d bytes por tarifa%n",
+                tariffs, retained / 1024, retained / tariffs);
+    }
+
+    @Benchmark
+    public Optional<Price> findBestPrice(QueryCursor cursor) {
+        PriceQuery query = cursor.next(queries);
+        return repository.findBestPrice(query.getDate(), query.getProductId(), query.getBrandId());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,20 @@
+package com.practice.priceservice.benchmark;
+
+import com.practice.priceservice.domain.PriceQuery;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Recorre circularmente las consultas sintéticas; un cursor por hilo para no compartir estado entre hilos.
+ */
+@State(Scope.Thread)
+public class QueryCursor {
+
+    private int next;
+
+    PriceQuery next(PriceQuery[] queries) {
+        PriceQuery query = queries[next];
+        next = (next + 1) % queries.length;
+        return query;
+    }
+}
@@ -0,0 +1,69 @@
+package com.practice.priceservice.benchmark;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generador determinista de tarifas sintéticas para los benchmarks.
+ * Cada producto tiene una tarifa base para toda la temporada (prioridad 0) y {@code tariffsPerProduct - 1} promociones
+ * repartidas en franjas consecutivas. {@code overlap} es la fracción de franja que cada promoción invade de la siguiente:
+ * 0 las deja disjuntas (solo solapan con la base) y 1 hace que cada instante quede cubierto por dos promociones.
+ */
+public final class SyntheticPrices {
+
+    public static final int BRANDS = 5;
+    public static final LocalDateTime SEASON_START = LocalDateTime.of(2020, 1, 1, 0, 0);
+    public static final LocalDateTime SEASON_END = LocalDateTime.of(2020, 12, 31, 23, 59, 59);
+
+    private static final long SEASON_SECONDS = ChronoUnit.SECONDS.between(SEASON_START, SEASON_END);
+
+    private SyntheticPrices() {
+    }
+
+    public static List<Price> generate(int products, int tariffsPerProduct, double overlap) {
+        Random random = new Random(42);
+        List<Price> prices = new ArrayList<>(products * tariffsPerProduct);
+        long id = 1;
+        int promotions = Math.max(tariffsPerProduct - 1, 0);
+        long slot = SEASON_SECONDS / Math.max(promotions, 1);
+
+        for (int productId = 1; productId <= products; productId++) {
+            int brandId = brandOf(productId);
+            prices.add(new Price(id++, brandId, SEASON_START, SEASON_END, 1, productId, 0, amount(random), "EUR"));
+            for (int i = 0; i < promotions; i++) {
+                LocalDateTime start = SEASON_START.plusSeconds(i * slot);
+                LocalDateTime end = start.plusSeconds((long) (slot * (1 + overlap)) - 1);
+                if (end.isAfter(SEASON_END)) {
+                    end = SEASON_END;
+                }
+                prices.add(new Price(id++, brandId, start, end, i + 2, productId, 1 + random.nextInt(3), amount(random), "EUR"));
+            }
+        }
+        return prices;
+    }
+
+    public static PriceQuery[] queries(int products, int count) {
+        Random random = new Random(7);
+        PriceQuery[] queries = new PriceQuery[count];
+        for (int i = 0; i < count; i++) {
+            int productId = 1 + random.nextInt(products);
+            LocalDateTime date = SEASON_START.plusSeconds((long) (random.nextDouble() * SEASON_SECONDS));
+            queries[i] = new PriceQuery(date, productId, brandOf(productId));
+        }
+        return queries;
+    }
+
+    public static int brandOf(int productId) {
+        return 1 + productId % BRANDS;
+    }
+
+    private static double amount(Random random) {
+        return (50_000 + random.nextInt(9500)) / 100.0;
+    }
+}
@@ -0,0 +1,145 @@
+package com.practice.priceservice.application;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.domain.PriceSegment;
+import com.practice.priceservice.domain.PriceTimeline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * {@link PriceService} con caché de lectura por (brandId, productId).
+ * En lugar de cachear por la fecha exacta de la consulta, guarda la {@link PriceTimeline} completa del producto:
+ * cualquier fecha que caiga en el mismo tramo ganador es un acierto, y una línea vacía cachea el 404.
+ * Las métricas de la caché se publican con el nombre {@value #CACHE_NAME}.
+ */
+public class CachingPriceService extends PriceService {
+
+    static final String CACHE_NAME = "price-timelines";
+
+    private final PriceRepository priceRepository;
+    private final LoadingCache<PriceKey, PriceTimeline> timelines;
+    private final Timer timelineResolutionTimer;
+
+    public CachingPriceService(PriceRepository priceRepository, long maximumSize, Duration ttl) {
+        this(priceRepository, maximumSize, ttl, new SimpleMeterRegistry());
+    }
+
+    public CachingPriceService(PriceRepository priceRepository, long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this(priceRepository, maximumSize, ttl, meterRegistry, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    CachingPriceService(PriceRepository priceRepository, long maximumSize, Duration ttl, MeterRegistry meterRegistry,
+                        Ticker ticker, Executor executor) {
+        super(priceRepository, meterRegistry);
+        this.priceRepository = priceRepository;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build(new TimelineLoader());
+        this.timelineResolutionTimer = Timer.builder(RESOLUTION_TIMER)
+                .description("Resolución de la tarifa ganadora")
+                .tag("strategy", "timeline")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, timelines, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<Price> getBestPrice(LocalDateTime date, Integer productId, Integer brandId) {
+        PriceTimeline timeline = timelines.get(new PriceKey(brandId, productId));
+        return timelineResolutionTimer.record(() -> timeline.priceAt(date));
+    }
+
+    @Override
+    public Optional<PriceSegment> getEffectivePrice(LocalDateTime date, Integer productId, Integer brandId) {
+        PriceTimeline timeline = timelines.get(new PriceKey(brandId, productId));
+        return timelineResolutionTimer.record(() -> timeline.segmentAt(date));
+    }
+
+    @Override
+    public List<PriceSegment> getTimeline(Integer productId, Integer brandId, LocalDateTime from, LocalDateTime to) {
+        PriceTimeline timeline = timelines.get(new PriceKey(brandId, productId));
+        return timelineResolutionTimer.record(() -> timeline.segmentsBetween(from, to));
+    }
+
+    /**
+     * Las consultas cuya línea temporal ya está en caché se resuelven sin ir al repositorio; las líneas que faltan
+     * se cargan juntas con una única llamada a {@link PriceRepository#findPrices(Collection)} y quedan en caché.
+     */
+    @Override
+    public List<Optional<Price>> getBestPrices(List<PriceQuery> queries) {
+        Map<PriceKey, PriceTimeline> loaded = timelines.getAll(queries.stream()
+                .map(query -> new PriceKey(query.getBrandId(), query.getProductId()))
+                .toList());
+        return timelineResolutionTimer.record(() -> queries.stream()
+                .map(query -> loaded.get(new PriceKey(query.getBrandId(), query.getProductId())).priceAt(query.getDate()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Descarta las líneas temporales de las claves indicadas; la siguiente consulta las recarga del repositorio.
+     */
+    public void invalidate(Collection<PriceKey> keys) {
+        timelines.invalidateAll(keys);
+    }
+
+    /**
+     * Descarta las líneas temporales de todos los productos de las cadenas indicadas.
+     */
+    public void invalidateBrands(Collection<Integer> brandIds) {
+        timelines.asMap().keySet().removeIf(key -> brandIds.contains(key.getBrandId()));
+    }
+
+    public CacheStats stats() {
+        return timelines.stats();
+    }
+
+    public long size() {
+        return timelines.estimatedSize();
+    }
+
+    /**
+     * Carga una línea temporal o, en lote, todas las que falten; las claves sin tarifas reciben una línea vacía.
+     */
+    private class TimelineLoader implements CacheLoader<PriceKey, PriceTimeline> {
+
+        @Override
+        public PriceTimeline load(PriceKey key) {
+            return PriceTimeline.of(priceRepository.findPrices(key.getProductId(), key.getBrandId()));
+        }
+
+        @Override
+        public Map<PriceKey, PriceTimeline> loadAll(Set<? extends PriceKey> keys) {
+            Map<PriceKey, List<Price>> prices = priceRepository.findPrices(Set.copyOf(keys));
+            Map<PriceKey, PriceTimeline> result = new HashMap<>();
+            for (PriceKey key : keys) {
+                result.put(key, PriceTimeline.of(prices.getOrDefault(key, List.of())));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.practice.priceservice.application;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.domain.PriceSegment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * {@link PriceService} que agrupa las búsquedas idénticas concurrentes (single-flight): la primera consulta de una
+ * clave (fecha, producto, cadena) va al repositorio y las que llegan mientras está en curso esperan y comparten su
+ * resultado, o su excepción. No es una caché: al terminar la consulta la clave se libera y la siguiente vuelve a ir
+ * al repositorio. Se agrupan por separado {@link #getBestPrice} y {@link #getEffectivePrice}, que consultan el
+ * repositorio de forma distinta.
+ * Las métricas {@value #COALESCING_COUNTER} (role=leader|follower) dan la proporción de búsquedas agrupadas.
+ */
+public class CoalescingPriceService extends PriceService {
+
+    static final String COALESCING_COUNTER = "priceservice.coalescing.lookups";
+    static final String IN_FLIGHT_GAUGE = "priceservice.coalescing.in_flight";
+
+    private final ConcurrentMap<PriceQuery, CompletableFuture<Optional<Price>>> bestPrices = new ConcurrentHashMap<>();
+    private final ConcurrentMap<PriceQuery, CompletableFuture<Optional<PriceSegment>>> segments = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public CoalescingPriceService(PriceRepository priceRepository) {
+        this(priceRepository, new SimpleMeterRegistry());
+    }
+
+    public CoalescingPriceService(PriceRepository priceRepository, MeterRegistry meterRegistry) {
+        super(priceRepository, meterRegistry);
+        this.leaders = lookups(meterRegistry, "leader");
+        this.followers = lookups(meterRegistry, "follower");
+        Gauge.builder(IN_FLIGHT_GAUGE, () -> bestPrices.size() + segments.size())
+                .description("Búsquedas distintas en curso contra el repositorio")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Price> getBestPrice(LocalDateTime date, Integer productId, Integer brandId) {
+        return coalesce(bestPrices, new PriceQuery(date, productId, brandId),
+                () -> super.getBestPrice(date, productId, brandId));
+    }
+
+    @Override
+    public Optional<PriceSegment> getEffectivePrice(LocalDateTime date, Integer productId, Integer brandId) {
+        return coalesce(segments, new PriceQuery(date, productId, brandId),
+                () -> super.getEffectivePrice(date, productId, brandId));
+    }
+
+    private <T> T coalesce(ConcurrentMap<PriceQuery, CompletableFuture<T>> inFlight, PriceQuery query,
+                           Supplier<T> lookup) {
+        CompletableFuture<T> call = new CompletableFuture<>();
+        CompletableFuture<T> leader = inFlight.putIfAbsent(query, call);
+        if (leader != null) {
+            followers.increment();
+            return await(leader);
+        }
+
+        leaders.increment();
+        try {
+            T result = lookup.get();
+            call.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(query, call);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String role) {
+        return Counter.builder(COALESCING_COUNTER)
+                .description("Búsquedas que van al repositorio (leader) o esperan a una idéntica en curso (follower)")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
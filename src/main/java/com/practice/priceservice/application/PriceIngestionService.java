@@ -0,0 +1,34 @@
+package com.practice.priceservice.application;
+
+import com.practice.priceservice.domain.PriceChange;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceWriter;
+import com.practice.priceservice.domain.PricesChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Persiste lotes de cambios de tarifas y notifica las claves afectadas con un {@link PricesChangedEvent},
+ * para que índices en memoria y cachés refresquen solo esas entradas.
+ */
+public class PriceIngestionService {
+
+    private final PriceWriter priceWriter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PriceIngestionService(PriceWriter priceWriter, ApplicationEventPublisher eventPublisher) {
+        this.priceWriter = priceWriter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Set<PriceKey> apply(List<PriceChange> changes) {
+        if (changes.isEmpty()) {
+            return Set.of();
+        }
+        Set<PriceKey> keys = priceWriter.apply(changes);
+        eventPublisher.publishEvent(new PricesChangedEvent(keys));
+        return keys;
+    }
+}
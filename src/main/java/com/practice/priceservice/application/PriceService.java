@@ -1,22 +1,89 @@
 package com.practice.priceservice.application;
 
 import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
 import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.domain.PriceSegment;
+import com.practice.priceservice.domain.PriceTimeline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class PriceService {
 
+    static final String RESOLUTION_TIMER = "priceservice.resolution";
+
     private final PriceRepository priceRepository;
+    private final Timer lookupResolutionTimer;
+    private final Timer batchResolutionTimer;
+    private final Timer timelineResolutionTimer;
 
     public PriceService(PriceRepository priceRepository) {
+        this(priceRepository, new SimpleMeterRegistry());
+    }
+
+    public PriceService(PriceRepository priceRepository, MeterRegistry meterRegistry) {
         this.priceRepository = priceRepository;
+        this.lookupResolutionTimer = Timer.builder(RESOLUTION_TIMER)
+                .description("Resolución de la tarifa ganadora")
+                .tag("strategy", "repository")
+                .register(meterRegistry);
+        this.batchResolutionTimer = Timer.builder(RESOLUTION_TIMER)
+                .description("Resolución de la tarifa ganadora")
+                .tag("strategy", "precedence")
+                .register(meterRegistry);
+        this.timelineResolutionTimer = Timer.builder(RESOLUTION_TIMER)
+                .description("Resolución de la tarifa ganadora")
+                .tag("strategy", "timeline")
+                .register(meterRegistry);
     }
 
+    /**
+     * La búsqueda puntual delega la resolución en el repositorio (una consulta con LIMIT 1 o la línea temporal del
+     * índice), así que su tiempo de resolución ({@code strategy=repository}) incluye la consulta.
+     */
     public Optional<Price> getBestPrice(LocalDateTime date, Integer productId, Integer brandId) {
-        return priceRepository.findApplicablePrices(date, productId, brandId).stream()
-                .max(Comparator.comparingInt(Price::getPriority));
+        return lookupResolutionTimer.record(() -> priceRepository.findBestPrice(date, productId, brandId));
+    }
+
+    /**
+     * Tramo vigente en la fecha con su tarifa ganadora, resuelto sobre la línea temporal de las tarifas del producto:
+     * su fin tiene en cuenta las tarifas de más prioridad que empiezan después, no solo el fin de la ganadora.
+     */
+    public Optional<PriceSegment> getEffectivePrice(LocalDateTime date, Integer productId, Integer brandId) {
+        List<Price> prices = priceRepository.findPrices(productId, brandId);
+        return timelineResolutionTimer.record(() -> PriceTimeline.of(prices).segmentAt(date));
+    }
+
+    /**
+     * Tramos con su tarifa ganadora en la ventana [from, to], en una sola consulta al repositorio.
+     */
+    public List<PriceSegment> getTimeline(Integer productId, Integer brandId, LocalDateTime from, LocalDateTime to) {
+        return priceRepository.findTimeline(productId, brandId, from, to);
+    }
+
+    /**
+     * Entrega en streaming el precio vigente en la fecha de cada producto de la cadena, sin pasar por la caché.
+     */
+    public void forEachBestPrice(Integer brandId, LocalDateTime date, Consumer<Price> action) {
+        priceRepository.forEachBestPrice(brandId, date, action);
+    }
+
+    /**
+     * Devuelve el mejor precio de cada consulta, en el mismo orden, con una única llamada al repositorio.
+     */
+    public List<Optional<Price>> getBestPrices(List<PriceQuery> queries) {
+        Map<PriceQuery, List<Price>> applicable = priceRepository.findApplicablePrices(new LinkedHashSet<>(queries));
+        return batchResolutionTimer.record(() -> queries.stream()
+                .map(query -> applicable.getOrDefault(query, List.of()).stream().max(PriceTimeline.PRECEDENCE))
+                .collect(Collectors.toList()));
     }
 }
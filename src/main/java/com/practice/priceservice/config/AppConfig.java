@@ -1,14 +1,76 @@
 package com.practice.priceservice.config;
 
+import com.practice.priceservice.application.CachingPriceService;
+import com.practice.priceservice.application.CoalescingPriceService;
+import com.practice.priceservice.application.PriceIngestionService;
 import com.practice.priceservice.application.PriceService;
 import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.infrastructure.batching.MicroBatchingPriceRepository;
+import com.practice.priceservice.infrastructure.cluster.PriceClusterRouter;
+import com.practice.priceservice.infrastructure.memory.InMemoryPriceRepository;
+import com.practice.priceservice.infrastructure.metrics.MeteredPriceRepository;
+import com.practice.priceservice.infrastructure.persistence.JpaPriceAdapter;
+import com.practice.priceservice.infrastructure.snapshot.SnapshotPriceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+import java.time.Duration;
 
 @Configuration
 public class AppConfig {
     @Bean
-    public PriceService priceService(PriceRepository priceRepository) {
-        return new PriceService(priceRepository);
+    public PriceService priceService(PriceRepository priceRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${priceservice.cache.enabled:false}") boolean cacheEnabled,
+                                     @Value("${priceservice.cache.maximum-size:10000}") long cacheMaximumSize,
+                                     @Value("${priceservice.cache.ttl:10m}") Duration cacheTtl,
+                                     @Value("${priceservice.coalescing.enabled:false}") boolean coalescingEnabled,
+                                     @Value("${priceservice.batching.enabled:false}") boolean batchingEnabled,
+                                     @Value("${priceservice.batching.window:2ms}") Duration batchingWindow,
+                                     @Value("${priceservice.batching.max-size:64}") int batchingMaxSize) {
+        PriceRepository repository = new MeteredPriceRepository(priceRepository, meterRegistry);
+        if (batchingEnabled) {
+            repository = new MicroBatchingPriceRepository(repository, batchingWindow, batchingMaxSize, meterRegistry);
+        }
+        if (cacheEnabled) {
+            return new CachingPriceService(repository, cacheMaximumSize, cacheTtl, meterRegistry);
+        }
+        // La caché ya agrupa las cargas concurrentes de una misma clave; sin ella se agrupan las búsquedas idénticas
+        if (coalescingEnabled) {
+            return new CoalescingPriceService(repository, meterRegistry);
+        }
+        return new PriceService(repository, meterRegistry);
+    }
+
+    @Bean
+    public PriceIngestionService priceIngestionService(JpaPriceAdapter jpaPriceAdapter,
+                                                       ApplicationEventPublisher eventPublisher) {
+        return new PriceIngestionService(jpaPriceAdapter, eventPublisher);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "priceservice.repository.type", havingValue = "memory")
+    public InMemoryPriceRepository inMemoryPriceRepository(JpaPriceAdapter jpaPriceAdapter,
+                                                           ObjectProvider<PriceClusterRouter> clusterRouter) {
+        // En un cluster cada nodo solo carga las claves que le asigna el anillo
+        PriceClusterRouter router = clusterRouter.getIfAvailable();
+        return new InMemoryPriceRepository(router == null
+                ? jpaPriceAdapter.findAll()
+                : jpaPriceAdapter.findAll(price -> router.owns(price.getBrandId(), price.getProductId())));
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "priceservice.repository.type", havingValue = "snapshot")
+    public SnapshotPriceRepository snapshotPriceRepository(@Value("${priceservice.snapshot.path}") Path snapshotPath) {
+        return new SnapshotPriceRepository(snapshotPath);
     }
 }
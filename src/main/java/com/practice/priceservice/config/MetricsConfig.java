@@ -0,0 +1,38 @@
+package com.practice.priceservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.practice.priceservice.infrastructure.metrics.MeteredCborHttpMessageConverter;
+import com.practice.priceservice.infrastructure.metrics.MeteredJacksonHttpMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MeteredJacksonHttpMessageConverter meteredJacksonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                                 MeterRegistry meterRegistry) {
+        return new MeteredJacksonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+
+    /**
+     * Misma configuración de Jackson que el JSON, pero las fechas van como arrays de enteros
+     * ({@code [año, mes, día, hora, minuto, segundo?, nanos?]}) en lugar de texto ISO; ver {@code /schemas/price.cddl}.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MeteredCborHttpMessageConverter meteredCborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                           MeterRegistry meterRegistry) {
+        ObjectMapper cborMapper = builder
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(new CBORFactory())
+                .build();
+        return new MeteredCborHttpMessageConverter(cborMapper, meterRegistry);
+    }
+}
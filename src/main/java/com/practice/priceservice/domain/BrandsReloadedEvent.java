@@ -0,0 +1,14 @@
+package com.practice.priceservice.domain;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Publicado tras cargar en bloque tarifas en BD, con las cadenas que deben refrescarse enteras.
+ */
+@Value
+public class BrandsReloadedEvent {
+
+    Set<Integer> brandIds;
+}
@@ -0,0 +1,114 @@
+package com.practice.priceservice.domain;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Representación compacta de un {@link Price} para estructuras en memoria y cachés: solo campos primitivos.
+ * Las fechas son segundos epoch (sin zona, interpretadas como UTC), el importe es un entero en unidades menores
+ * de la divisa y la divisa está internada en {@link CurrencyCodes}. Un id 0 indica precio sin id.
+ * La conversión no redondea ni trunca: una tarifa que no cabe exacta se rechaza (ver {@link #requireExact(Price)}).
+ */
+@Getter
+public final class CompactPrice {
+
+    private final long id;
+    private final int brandId;
+    private final int productId;
+    private final int priceList;
+    private final int priority;
+    private final long startEpochSecond;
+    private final long endEpochSecond;
+    private final long amountMinor;
+    private final short currencyCode;
+
+    public CompactPrice(long id, int brandId, int productId, int priceList, int priority,
+                        long startEpochSecond, long endEpochSecond, long amountMinor, short currencyCode) {
+        this.id = id;
+        this.brandId = brandId;
+        this.productId = productId;
+        this.priceList = priceList;
+        this.priority = priority;
+        this.startEpochSecond = startEpochSecond;
+        this.endEpochSecond = endEpochSecond;
+        this.amountMinor = amountMinor;
+        this.currencyCode = currencyCode;
+    }
+
+    public static CompactPrice of(Price price) {
+        short currencyCode = CurrencyCodes.codeOf(price.getCurrency());
+        return new CompactPrice(
+                price.getId() != null ? price.getId() : 0L,
+                price.getBrandId(),
+                price.getProductId(),
+                price.getPriceList(),
+                price.getPriority(),
+                toWholeEpochSecond(price.getStartDate()),
+                toWholeEpochSecond(price.getEndDate()),
+                toMinorUnits(price.getPrice(), currencyCode),
+                currencyCode);
+    }
+
+    /**
+     * Comprueba que la tarifa cabe sin pérdida en la representación compacta: importe exacto en unidades menores de
+     * su divisa y fechas sin fracción de segundo. La carga masiva y el change log aplican la misma regla al escribir,
+     * así que la BD y los backends en memoria devuelven los mismos valores para la misma tarifa.
+     *
+     * @throws IllegalArgumentException si el importe o alguna fecha no son exactos
+     */
+    public static void requireExact(Price price) {
+        of(price);
+    }
+
+    public Price toPrice() {
+        return new Price(
+                id != 0 ? id : null,
+                brandId,
+                toLocalDateTime(startEpochSecond),
+                toLocalDateTime(endEpochSecond),
+                priceList,
+                productId,
+                priority,
+                getAmount().doubleValue(),
+                getCurrency());
+    }
+
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(amountMinor, CurrencyCodes.fractionDigitsOf(currencyCode));
+    }
+
+    public String getCurrency() {
+        return CurrencyCodes.currencyOf(currencyCode);
+    }
+
+    private static long toMinorUnits(Double amount, short currencyCode) {
+        try {
+            return BigDecimal.valueOf(amount)
+                    .setScale(CurrencyCodes.fractionDigitsOf(currencyCode), RoundingMode.UNNECESSARY)
+                    .unscaledValue()
+                    .longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("El importe " + amount + " no es exacto en unidades menores de "
+                    + CurrencyCodes.currencyOf(currencyCode), ex);
+        }
+    }
+
+    private static long toWholeEpochSecond(LocalDateTime dateTime) {
+        if (dateTime.getNano() != 0) {
+            throw new IllegalArgumentException("La fecha " + dateTime + " tiene fracción de segundo");
+        }
+        return toEpochSecond(dateTime);
+    }
+
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,63 @@
+package com.practice.priceservice.domain;
+
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro que interna cada código de divisa en un {@code short}, para no repetir el String en cada precio compacto.
+ * Los códigos se asignan por orden de aparición y no se reutilizan mientras vive la JVM.
+ */
+public final class CurrencyCodes {
+
+    private static final Map<String, Short> CODES = new ConcurrentHashMap<>();
+    private static volatile String[] currencies = new String[0];
+    private static volatile int[] fractionDigits = new int[0];
+
+    private CurrencyCodes() {
+    }
+
+    public static short codeOf(String currency) {
+        Short code = CODES.get(currency);
+        return code != null ? code : register(currency);
+    }
+
+    public static String currencyOf(short code) {
+        return currencies[code];
+    }
+
+    /**
+     * Decimales de la unidad menor de la divisa (2 para EUR, 0 para JPY). Si el código no es ISO 4217 se asumen 2.
+     */
+    public static int fractionDigitsOf(short code) {
+        return fractionDigits[code];
+    }
+
+    private static synchronized short register(String currency) {
+        Short existing = CODES.get(currency);
+        if (existing != null) {
+            return existing;
+        }
+        int next = currencies.length;
+        if (next > Short.MAX_VALUE) {
+            throw new IllegalStateException("Demasiadas divisas distintas: " + next);
+        }
+        String[] nextCurrencies = Arrays.copyOf(currencies, next + 1);
+        int[] nextFractionDigits = Arrays.copyOf(fractionDigits, next + 1);
+        nextCurrencies[next] = currency;
+        nextFractionDigits[next] = defaultFractionDigits(currency);
+        fractionDigits = nextFractionDigits;
+        currencies = nextCurrencies;
+        CODES.put(currency, (short) next);
+        return (short) next;
+    }
+
+    private static int defaultFractionDigits(String currency) {
+        try {
+            return Math.max(Currency.getInstance(currency).getDefaultFractionDigits(), 0);
+        } catch (IllegalArgumentException ex) {
+            return 2;
+        }
+    }
+}
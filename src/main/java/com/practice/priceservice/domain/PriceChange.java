@@ -0,0 +1,20 @@
+package com.practice.priceservice.domain;
+
+import lombok.Value;
+
+/**
+ * Alta, modificación o baja de una tarifa. Una tarifa se identifica por (brandId, productId, priceList, startDate);
+ * en las bajas solo se usan esos campos.
+ */
+@Value
+public class PriceChange {
+
+    public enum Type { UPSERT, DELETE }
+
+    Type type;
+    Price price;
+
+    public PriceKey key() {
+        return new PriceKey(price.getBrandId(), price.getProductId());
+    }
+}
@@ -0,0 +1,14 @@
+package com.practice.priceservice.domain;
+
+import lombok.Value;
+
+/**
+ * Identifica la línea temporal de precios de un producto en una cadena.
+ */
+@Value
+public class PriceKey {
+
+    Integer brandId;
+    Integer productId;
+
+}
@@ -0,0 +1,17 @@
+package com.practice.priceservice.domain;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clave de consulta de precio: fecha de aplicación, producto y cadena.
+ */
+@Value
+public class PriceQuery {
+
+    LocalDateTime date;
+    Integer productId;
+    Integer brandId;
+
+}
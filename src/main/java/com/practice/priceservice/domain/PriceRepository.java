@@ -2,8 +2,46 @@ package com.practice.priceservice.domain;
 
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PriceRepository {
     List<Price> findApplicablePrices(LocalDateTime date, Integer productId, Integer brandId);
+
+    /**
+     * Devuelve directamente la tarifa ganadora según {@link PriceTimeline#PRECEDENCE}.
+     */
+    Optional<Price> findBestPrice(LocalDateTime date, Integer productId, Integer brandId);
+
+    /**
+     * Resuelve varias consultas en una sola pasada al almacenamiento.
+     * Las consultas sin precios aplicables pueden no aparecer en el mapa devuelto.
+     */
+    Map<PriceQuery, List<Price>> findApplicablePrices(Collection<PriceQuery> queries);
+
+    /**
+     * Devuelve las tarifas de un producto en una cadena, sin filtrar por fecha, para construir su {@link PriceTimeline}.
+     */
+    List<Price> findPrices(Integer productId, Integer brandId);
+
+    /**
+     * Tarifas de varios productos en una sola pasada al almacenamiento.
+     * Las claves sin tarifas pueden no aparecer en el mapa devuelto.
+     */
+    Map<PriceKey, List<Price>> findPrices(Collection<PriceKey> keys);
+
+    /**
+     * Línea temporal resuelta del producto en la ventana [from, to]: tramos disjuntos con su tarifa ganadora,
+     * recortados a la ventana. Se calcula con una sola lectura de las tarifas que la solapan.
+     */
+    List<PriceSegment> findTimeline(Integer productId, Integer brandId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Entrega la tarifa ganadora en la fecha de cada producto de la cadena, en orden de productId y sin
+     * materializar el resultado completo: pensado para volcados de catálogos enteros.
+     */
+    void forEachBestPrice(Integer brandId, LocalDateTime date, Consumer<Price> action);
 }
@@ -0,0 +1,18 @@
+package com.practice.priceservice.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tramo de una línea temporal de precios. El inicio es inclusivo y el fin exclusivo: [startDate, endDate).
+ */
+@Getter
+@AllArgsConstructor
+public class PriceSegment {
+
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Price price;
+}
@@ -0,0 +1,202 @@
+package com.practice.priceservice.domain;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Línea temporal de precios efectivos de un producto en una cadena.
+ * Aplana las tarifas solapadas en tramos disjuntos, cada uno con su precio ganador ya resuelto,
+ * de forma que consultar el precio de una fecha es una búsqueda binaria sin comparar prioridades.
+ *
+ * <p>Internamente guarda los límites de los tramos en arrays de {@code long} y, por tramo, la tarifa ganadora como
+ * {@link CompactPrice}: los tramos de una misma tarifa comparten la instancia y el índice no retiene fechas,
+ * importes ni divisas como objetos. Cada lectura construye el {@link Price} que devuelve. Cada instante se codifica
+ * como {@code 2 * segundoEpoch}, más 1 si tiene fracción de segundo: así los límites inclusivos de las tarifas (con
+ * resolución de segundo) se respetan también para consultas con fracción.
+ */
+public final class PriceTimeline {
+
+    /**
+     * Orden de precedencia entre tarifas aplicables: gana la de mayor prioridad; a igual prioridad,
+     * la que empezó más tarde; y si también coinciden, la de mayor priceList.
+     */
+    public static final Comparator<Price> PRECEDENCE = Comparator.comparingInt(Price::getPriority)
+            .thenComparing(Price::getStartDate)
+            .thenComparingInt(Price::getPriceList);
+
+    private static final PriceTimeline EMPTY = new PriceTimeline(new long[0], new long[0], new CompactPrice[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final CompactPrice[] winners;
+
+    private PriceTimeline(long[] starts, long[] ends, CompactPrice[] winners) {
+        this.starts = starts;
+        this.ends = ends;
+        this.winners = winners;
+    }
+
+    public static PriceTimeline empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @throws IllegalArgumentException si alguna tarifa ganadora no cabe exacta en un {@link CompactPrice}; las rutas
+     *                                  de escritura ya las rechazan ({@link CompactPrice#requireExact(Price)})
+     */
+    public static PriceTimeline of(Collection<Price> prices) {
+        if (prices.isEmpty()) {
+            return EMPTY;
+        }
+
+        Price[] byStart = prices.stream()
+                .sorted(Comparator.comparing(Price::getStartDate))
+                .toArray(Price[]::new);
+
+        long[] boundaries = new long[byStart.length * 2];
+        for (int i = 0; i < byStart.length; i++) {
+            boundaries[2 * i] = start(byStart[i]);
+            boundaries[2 * i + 1] = exclusiveEnd(byStart[i]);
+        }
+        boundaries = Arrays.stream(boundaries).sorted().distinct().toArray();
+
+        PriorityQueue<Price> active = new PriorityQueue<>(PRECEDENCE.reversed());
+        long[] starts = new long[boundaries.length];
+        long[] ends = new long[boundaries.length];
+        Price[] winners = new Price[boundaries.length];
+        int size = 0;
+
+        int next = 0;
+        for (int b = 0; b < boundaries.length; b++) {
+            long boundary = boundaries[b];
+            if (b > 0 && !active.isEmpty()) {
+                Price winner = active.peek();
+                long from = boundaries[b - 1];
+                if (size > 0 && winners[size - 1] == winner && ends[size - 1] == from) {
+                    ends[size - 1] = boundary;
+                } else {
+                    starts[size] = from;
+                    ends[size] = boundary;
+                    winners[size] = winner;
+                    size++;
+                }
+            }
+            while (next < byStart.length && start(byStart[next]) <= boundary) {
+                active.add(byStart[next++]);
+            }
+            while (!active.isEmpty() && exclusiveEnd(active.peek()) <= boundary) {
+                active.poll();
+            }
+        }
+
+        Map<Price, CompactPrice> compact = new IdentityHashMap<>();
+        CompactPrice[] compactWinners = new CompactPrice[size];
+        for (int i = 0; i < size; i++) {
+            compactWinners[i] = compact.computeIfAbsent(winners[i], CompactPrice::of);
+        }
+
+        return new PriceTimeline(
+                Arrays.copyOf(starts, size),
+                Arrays.copyOf(ends, size),
+                compactWinners);
+    }
+
+    public Optional<Price> priceAt(LocalDateTime date) {
+        int index = indexAt(encode(date));
+        return index < 0 ? Optional.empty() : Optional.of(winners[index].toPrice());
+    }
+
+    /**
+     * Tramo que contiene la fecha: además de la tarifa ganadora indica hasta cuándo sigue ganando.
+     */
+    public Optional<PriceSegment> segmentAt(LocalDateTime date) {
+        int index = indexAt(encode(date));
+        return index < 0 ? Optional.empty() : Optional.of(segment(index));
+    }
+
+    /**
+     * Tramos que solapan la ventana [from, to] (fin inclusivo, como las tarifas), recortados a ella.
+     */
+    public List<PriceSegment> segmentsBetween(LocalDateTime from, LocalDateTime to) {
+        long lower = encode(from);
+        long upper = encode(to) + 1;
+        int index = Arrays.binarySearch(ends, lower);
+        List<PriceSegment> segments = new ArrayList<>();
+        for (int i = index >= 0 ? index + 1 : -index - 1; i < winners.length && starts[i] < upper; i++) {
+            segments.add(new PriceSegment(decode(Math.max(starts[i], lower)), decode(Math.min(ends[i], upper)),
+                    winners[i].toPrice()));
+        }
+        return segments;
+    }
+
+    public List<PriceSegment> segments() {
+        List<PriceSegment> segments = new ArrayList<>(winners.length);
+        for (int i = 0; i < winners.length; i++) {
+            segments.add(segment(i));
+        }
+        return segments;
+    }
+
+    /**
+     * Tarifas que ganan en algún tramo, sin repetir. Las que nunca ganan no afectan a la resolución.
+     */
+    public List<Price> winningPrices() {
+        Set<CompactPrice> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Price> prices = new ArrayList<>();
+        for (CompactPrice winner : winners) {
+            if (seen.add(winner)) {
+                prices.add(winner.toPrice());
+            }
+        }
+        return prices;
+    }
+
+    public boolean isEmpty() {
+        return winners.length == 0;
+    }
+
+    private PriceSegment segment(int index) {
+        return new PriceSegment(decode(starts[index]), decode(ends[index]), winners[index].toPrice());
+    }
+
+    private int indexAt(long instant) {
+        int index = Arrays.binarySearch(starts, instant);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        if (index < 0 || instant >= ends[index]) {
+            return -1;
+        }
+        return index;
+    }
+
+    private static long start(Price price) {
+        return 2 * CompactPrice.toEpochSecond(price.getStartDate());
+    }
+
+    private static long exclusiveEnd(Price price) {
+        return 2 * CompactPrice.toEpochSecond(price.getEndDate()) + 1;
+    }
+
+    private static long encode(LocalDateTime date) {
+        return 2 * CompactPrice.toEpochSecond(date) + (date.getNano() > 0 ? 1 : 0);
+    }
+
+    /**
+     * Un instante impar representa "justo después" de su segundo, que como fecha es el segundo más un nanosegundo.
+     */
+    private static LocalDateTime decode(long instant) {
+        LocalDateTime second = CompactPrice.toLocalDateTime(Math.floorDiv(instant, 2));
+        return Math.floorMod(instant, 2) == 0 ? second : second.plusNanos(1);
+    }
+}
@@ -0,0 +1,17 @@
+package com.practice.priceservice.domain;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Puerto de escritura de tarifas.
+ */
+public interface PriceWriter {
+
+    /**
+     * Aplica los cambios en orden y de forma atómica.
+     *
+     * @return las claves (brandId, productId) afectadas
+     */
+    Set<PriceKey> apply(List<PriceChange> changes);
+}
@@ -0,0 +1,14 @@
+package com.practice.priceservice.domain;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Publicado tras persistir cambios de tarifas, con las claves (brandId, productId) que deben refrescarse.
+ */
+@Value
+public class PricesChangedEvent {
+
+    Set<PriceKey> keys;
+}
@@ -0,0 +1,224 @@
+package com.practice.priceservice.infrastructure.batching;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.domain.PriceSegment;
+import com.practice.priceservice.domain.PriceTimeline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Decorador de {@link PriceRepository} que agrupa los {@code findBestPrice} y {@code findPrices} de una clave
+ * concurrentes en lotes y los resuelve con una sola llamada a {@link PriceRepository#findApplicablePrices(Collection)}
+ * y otra a {@link PriceRepository#findPrices(Collection)}.
+ * <p>
+ * No usa hilos propios: la primera consulta que encuentra el lote cerrado abre uno y lo lidera. Espera hasta
+ * {@code window} o hasta que el lote llega a {@code maxBatchSize} claves, lo cierra, lanza la consulta en su propio
+ * hilo y reparte los resultados. Las consultas que llegan mientras tanto se apuntan al lote abierto y esperan;
+ * las claves repetidas dentro de un lote comparten resultado. Varios lotes cerrados pueden estar consultando a la vez.
+ * <p>
+ * El resto de métodos se delegan sin cambios.
+ */
+public class MicroBatchingPriceRepository implements PriceRepository {
+
+    static final String BATCH_SIZE_SUMMARY = "priceservice.batching.size";
+    static final String BATCHES_COUNTER = "priceservice.batching.batches";
+
+    private final PriceRepository delegate;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSize;
+    private final Counter closedByWindow;
+    private final Counter closedBySize;
+
+    private final Object lock = new Object();
+    private Batch open;
+
+    public MicroBatchingPriceRepository(PriceRepository delegate, Duration window, int maxBatchSize,
+                                        MeterRegistry meterRegistry) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize debe ser al menos 1");
+        }
+        this.delegate = delegate;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = DistributionSummary.builder(BATCH_SIZE_SUMMARY)
+                .description("Claves distintas por lote enviado al repositorio")
+                .baseUnit("queries")
+                .register(meterRegistry);
+        this.closedByWindow = batches(meterRegistry, "window");
+        this.closedBySize = batches(meterRegistry, "size");
+    }
+
+    @Override
+    public Optional<Price> findBestPrice(LocalDateTime date, Integer productId, Integer brandId) {
+        PriceQuery query = new PriceQuery(date, productId, brandId);
+        return enqueue(batch -> batch.add(query));
+    }
+
+    @Override
+    public List<Price> findApplicablePrices(LocalDateTime date, Integer productId, Integer brandId) {
+        return delegate.findApplicablePrices(date, productId, brandId);
+    }
+
+    @Override
+    public Map<PriceQuery, List<Price>> findApplicablePrices(Collection<PriceQuery> queries) {
+        return delegate.findApplicablePrices(queries);
+    }
+
+    @Override
+    public List<Price> findPrices(Integer productId, Integer brandId) {
+        PriceKey key = new PriceKey(brandId, productId);
+        return enqueue(batch -> batch.add(key));
+    }
+
+    @Override
+    public Map<PriceKey, List<Price>> findPrices(Collection<PriceKey> keys) {
+        return delegate.findPrices(keys);
+    }
+
+    @Override
+    public List<PriceSegment> findTimeline(Integer productId, Integer brandId, LocalDateTime from, LocalDateTime to) {
+        return delegate.findTimeline(productId, brandId, from, to);
+    }
+
+    @Override
+    public void forEachBestPrice(Integer brandId, LocalDateTime date, Consumer<Price> action) {
+        delegate.forEachBestPrice(brandId, date, action);
+    }
+
+    /**
+     * Apunta la consulta al lote abierto, o abre uno y lo lidera, y espera su resultado.
+     */
+    private <T> T enqueue(Function<Batch, CompletableFuture<T>> add) {
+        Batch batch;
+        CompletableFuture<T> result;
+        boolean leader;
+        synchronized (lock) {
+            leader = open == null;
+            if (leader) {
+                open = new Batch();
+            }
+            batch = open;
+            result = add.apply(batch);
+            if (batch.size() >= maxBatchSize) {
+                open = null;
+                batch.full.complete(null);
+            }
+        }
+
+        if (leader) {
+            awaitWindow(batch);
+            execute(batch);
+        }
+        return await(result);
+    }
+
+    /**
+     * Espera a que se llene el lote o venza la ventana y lo cierra para que las siguientes consultas abran otro.
+     */
+    private void awaitWindow(Batch batch) {
+        boolean interrupted = false;
+        try {
+            batch.full.get(window.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Ventana vencida: se envía lo que haya
+        } catch (InterruptedException ex) {
+            interrupted = true;
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex);
+        }
+        synchronized (lock) {
+            if (open == batch) {
+                open = null;
+            }
+        }
+        (batch.full.isDone() ? closedBySize : closedByWindow).increment();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void execute(Batch batch) {
+        batchSize.record(batch.size());
+        if (!batch.bestPrices.isEmpty()) {
+            try {
+                Map<PriceQuery, List<Price>> applicable = delegate.findApplicablePrices(batch.bestPrices.keySet());
+                batch.bestPrices.forEach((query, result) -> result.complete(
+                        applicable.getOrDefault(query, List.of()).stream().max(PriceTimeline.PRECEDENCE)));
+            } catch (Throwable ex) {
+                batch.bestPrices.values().forEach(result -> result.completeExceptionally(ex));
+            }
+        }
+        if (!batch.prices.isEmpty()) {
+            try {
+                Map<PriceKey, List<Price>> prices = delegate.findPrices(batch.prices.keySet());
+                batch.prices.forEach((key, result) -> result.complete(prices.getOrDefault(key, List.of())));
+            } catch (Throwable ex) {
+                batch.prices.values().forEach(result -> result.completeExceptionally(ex));
+            }
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private static Counter batches(MeterRegistry meterRegistry, String trigger) {
+        return Counter.builder(BATCHES_COUNTER)
+                .description("Lotes enviados al repositorio, por motivo de cierre (ventana o tamaño máximo)")
+                .tag("trigger", trigger)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claves del lote, en orden de llegada, con el resultado que esperan sus consultas. Solo se modifica bajo el lock
+     * mientras está abierto; una vez cerrado solo lo lee su líder.
+     */
+    private static final class Batch {
+
+        private final Map<PriceQuery, CompletableFuture<Optional<Price>>> bestPrices = new LinkedHashMap<>();
+        private final Map<PriceKey, CompletableFuture<List<Price>>> prices = new LinkedHashMap<>();
+        private final CompletableFuture<Void> full = new CompletableFuture<>();
+
+        CompletableFuture<Optional<Price>> add(PriceQuery query) {
+            return bestPrices.computeIfAbsent(query, key -> new CompletableFuture<>());
+        }
+
+        CompletableFuture<List<Price>> add(PriceKey key) {
+            return prices.computeIfAbsent(key, k -> new CompletableFuture<>());
+        }
+
+        int size() {
+            return bestPrices.size() + prices.size();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.practice.priceservice.infrastructure.bulkload;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Resultado de una carga masiva: filas insertadas, líneas descartadas por inválidas, duración y cadenas con filas
+ * insertadas.
+ */
+@Value
+public class BulkLoadReport {
+
+    long inserted;
+    long rejected;
+    Duration elapsed;
+    Set<Integer> brandIds;
+
+    public double rowsPerSecond() {
+        return elapsed.isZero() ? inserted : inserted * 1_000_000_000.0 / elapsed.toNanos();
+    }
+}
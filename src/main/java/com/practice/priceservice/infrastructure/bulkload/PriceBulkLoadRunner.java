@@ -0,0 +1,42 @@
+package com.practice.priceservice.infrastructure.bulkload;
+
+import com.practice.priceservice.domain.BrandsReloadedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Job de carga masiva: al arrancar con {@code priceservice.bulk-load.path} inserta el CSV con {@link PriceBulkLoader},
+ * que publica un {@link BrandsReloadedEvent} con las cadenas cargadas para que el índice en memoria y la caché las vean.
+ * Corre antes que cualquier otro {@link ApplicationRunner}, así el calentamiento ya consulta los precios cargados.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "priceservice.bulk-load.path")
+public class PriceBulkLoadRunner implements ApplicationRunner {
+
+    private final PriceBulkLoader priceBulkLoader;
+    private final Path csv;
+
+    public PriceBulkLoadRunner(PriceBulkLoader priceBulkLoader,
+                               @Value("${priceservice.bulk-load.path}") Path csv) {
+        this.priceBulkLoader = priceBulkLoader;
+        this.csv = csv;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        BulkLoadReport report = priceBulkLoader.load(csv);
+        log.info("Carga masiva de {} terminada: {} filas insertadas, {} descartadas en {} ms ({} filas/s)",
+                csv, report.getInserted(), report.getRejected(), report.getElapsed().toMillis(),
+                (long) report.rowsPerSecond());
+    }
+}
@@ -0,0 +1,234 @@
+package com.practice.priceservice.infrastructure.bulkload;
+
+import com.practice.priceservice.domain.BrandsReloadedEvent;
+import com.practice.priceservice.domain.CompactPrice;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.infrastructure.persistence.JpaPriceEntity;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Carga masiva de un CSV de tarifas con columnas
+ * {@code brandId,startDate,endDate,priceList,productId,priority,price,currency} (cabecera opcional,
+ * fechas ISO con {@code T} o espacio, sin fracción de segundo, e importes exactos en la unidad menor de la divisa).
+ * <p>
+ * El fichero se lee en streaming y cada fila se reparte por cadena entre {@code partitions} hilos de escritura;
+ * cada hilo inserta bloques de {@code chunkSize} filas en su propia transacción (persist + flush + clear, que
+ * Hibernate agrupa en lotes JDBC de {@code hibernate.jdbc.batch_size}). Las colas entre el lector y los hilos
+ * están acotadas, así que la memoria no depende del tamaño del fichero. Las líneas inválidas se registran
+ * y se descartan; cualquier fallo de un hilo (error de BD, {@link Error}) detiene la carga, pero los bloques ya
+ * confirmados se quedan en la tabla. Al terminar, también si falla, publica un {@link BrandsReloadedEvent} con las
+ * cadenas de los bloques confirmados, para que el índice en memoria y la caché no se desvíen de la BD.
+ */
+@Slf4j
+@Component
+public class PriceBulkLoader {
+
+    private static final List<Price> END = List.of();
+    private static final int COLUMNS = 8;
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int partitions;
+    private final Duration progressInterval;
+
+    public PriceBulkLoader(EntityManager entityManager,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${priceservice.bulk-load.chunk-size:5000}") int chunkSize,
+                           @Value("${priceservice.bulk-load.partitions:4}") int partitions,
+                           @Value("${priceservice.bulk-load.progress-interval:5s}") Duration progressInterval) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.partitions = partitions;
+        this.progressInterval = progressInterval;
+    }
+
+    public BulkLoadReport load(Path csv) throws IOException, InterruptedException {
+        Progress progress = new Progress();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<BlockingQueue<List<Price>>> queues = new ArrayList<>(partitions);
+        List<List<Price>> buffers = new ArrayList<>(partitions);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService writers = Executors.newFixedThreadPool(partitions,
+                runnable -> new Thread(runnable, "price-bulk-load-" + threads.incrementAndGet()));
+        for (int partition = 0; partition < partitions; partition++) {
+            BlockingQueue<List<Price>> queue = new ArrayBlockingQueue<>(2);
+            queues.add(queue);
+            buffers.add(new ArrayList<>(chunkSize));
+            writers.execute(() -> write(queue, progress, failure));
+        }
+
+        long rejected = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csv)) {
+            long lineNumber = 0;
+            for (String line = reader.readLine(); line != null && failure.get() == null; line = reader.readLine()) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && line.regionMatches(true, 0, "brand", 0, 5))) {
+                    continue;
+                }
+                Price price = parse(line, lineNumber, csv);
+                if (price == null) {
+                    rejected++;
+                    continue;
+                }
+                int partition = Math.floorMod(price.getBrandId(), partitions);
+                List<Price> buffer = buffers.get(partition);
+                buffer.add(price);
+                if (buffer.size() == chunkSize) {
+                    send(queues.get(partition), buffer, failure);
+                    buffers.set(partition, new ArrayList<>(chunkSize));
+                }
+            }
+        } finally {
+            try {
+                for (int partition = 0; partition < partitions; partition++) {
+                    if (!buffers.get(partition).isEmpty()) {
+                        send(queues.get(partition), buffers.get(partition), failure);
+                    }
+                    send(queues.get(partition), END, failure);
+                }
+                // Tras un fallo puede que algún END no haya llegado: se interrumpe a los hilos que sigan esperando
+                if (failure.get() != null) {
+                    writers.shutdownNow();
+                } else {
+                    writers.shutdown();
+                }
+                writers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } finally {
+                if (!progress.brandIds.isEmpty()) {
+                    eventPublisher.publishEvent(new BrandsReloadedEvent(Set.copyOf(progress.brandIds)));
+                }
+            }
+        }
+
+        if (failure.get() != null) {
+            throw new IllegalStateException("La carga masiva de " + csv + " se ha detenido tras "
+                    + progress.inserted.get() + " filas", failure.get());
+        }
+        return new BulkLoadReport(progress.inserted.get(), rejected, Duration.ofNanos(System.nanoTime() - progress.start),
+                Set.copyOf(progress.brandIds));
+    }
+
+    /**
+     * Entrega un bloque a su hilo de escritura. Si hay un fallo y la cola sigue llena se descarta: la carga ya va a
+     * fallar, y el hilo de esa cola podría no estar vaciándola.
+     */
+    private static void send(BlockingQueue<List<Price>> queue, List<Price> chunk, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        while (!queue.offer(chunk, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (failure.get() != null) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Bucle de un hilo de escritura. Tras un fallo, también un {@link Error}, sigue vaciando su cola sin insertar
+     * para no bloquear al lector; si lo interrumpen lo registra como fallo para que el lector deje de esperarle.
+     */
+    private void write(BlockingQueue<List<Price>> queue, Progress progress, AtomicReference<Throwable> failure) {
+        try {
+            for (List<Price> chunk = queue.take(); chunk != END; chunk = queue.take()) {
+                if (failure.get() != null) {
+                    continue;
+                }
+                try {
+                    insert(chunk);
+                    progress.record(chunk);
+                } catch (Throwable ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            }
+        } catch (InterruptedException ex) {
+            failure.compareAndSet(null, ex);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void insert(List<Price> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Price price : chunk) {
+                entityManager.persist(new JpaPriceEntity().copyFrom(price));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private Price parse(String line, long lineNumber, Path csv) {
+        String[] columns = line.split(",", -1);
+        try {
+            if (columns.length != COLUMNS) {
+                throw new IllegalArgumentException("se esperaban " + COLUMNS + " columnas y hay " + columns.length);
+            }
+            Price price = new Price(null,
+                    Integer.valueOf(columns[0].trim()),
+                    parseDate(columns[1]),
+                    parseDate(columns[2]),
+                    Integer.valueOf(columns[3].trim()),
+                    Integer.valueOf(columns[4].trim()),
+                    Integer.valueOf(columns[5].trim()),
+                    Double.valueOf(columns[6].trim()),
+                    columns[7].trim());
+            CompactPrice.requireExact(price);
+            return price;
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            log.warn("Línea {} de {} inválida, se descarta: {}", lineNumber, csv, ex.getMessage());
+            return null;
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        return LocalDateTime.parse(value.trim().replace(' ', 'T'));
+    }
+
+    private class Progress {
+
+        private final long start = System.nanoTime();
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong nextReport = new AtomicLong(start + progressInterval.toNanos());
+        private final Set<Integer> brandIds = ConcurrentHashMap.newKeySet();
+
+        void record(List<Price> chunk) {
+            chunk.forEach(price -> brandIds.add(price.getBrandId()));
+            long total = inserted.addAndGet(chunk.size());
+            long now = System.nanoTime();
+            long next = nextReport.get();
+            if (now >= next && nextReport.compareAndSet(next, now + progressInterval.toNanos())) {
+                log.info("Carga masiva: {} filas insertadas ({} filas/s)",
+                        total, total * 1_000_000_000L / Math.max(1, now - start));
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.practice.priceservice.infrastructure.cluster;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Anillo de hash consistente que reparte las claves (cadena, producto) entre nodos.
+ * Cada nodo ocupa {@code virtualNodes} posiciones pseudoaleatorias del anillo y una clave pertenece al primer nodo
+ * que encuentra en sentido horario. Al añadir un nodo solo cambian de dueño las claves que caen en sus posiciones,
+ * alrededor de 1/n del total, y todas pasan al nodo nuevo.
+ * <p>
+ * El reparto depende solo de la lista de nodos, así que todos los nodos configurados igual calculan el mismo dueño.
+ */
+public final class ConsistentHashRing {
+
+    private final Set<String> nodes;
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("El anillo necesita al menos un nodo");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes debe ser al menos 1");
+        }
+        this.nodes = Collections.unmodifiableSet(new LinkedHashSet<>(nodes));
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(position(node + "#" + i), node);
+            }
+        }
+    }
+
+    public String ownerOf(Integer brandId, Integer productId) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(brandId, productId));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * Finalizador de MurmurHash3 sobre (cadena, producto): barato por consulta y con buen reparto incluso para
+     * productos consecutivos.
+     */
+    static long hash(Integer brandId, Integer productId) {
+        long h = ((long) brandId << 32) | (productId & 0xFFFFFFFFL);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Posición de un nodo virtual: los primeros 8 bytes del MD5 de su nombre, como en ketama.
+     */
+    private static long position(String virtualNode) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(virtualNode.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.practice.priceservice.infrastructure.cluster;
+
+import com.practice.priceservice.infrastructure.web.dto.PriceBatchRequest;
+import com.practice.priceservice.infrastructure.web.dto.PriceBatchResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Reparto de las claves (cadena, producto) entre varias instancias con {@link ConsistentHashRing}.
+ * Las consultas de una sola clave que no son de este nodo se redirigen (307) a su dueño marcadas con
+ * {@link #REDIRECTED_PARAM}; los lotes se parten por dueño y cada parte ajena se reenvía a su nodo marcada con
+ * {@link #FORWARDED_HEADER}, para que el receptor la resuelva en local aunque la configuración de los nodos no coincida.
+ * Los volcados de una cadena, que recorren claves de todos los nodos, se piden a cada uno con la misma marca
+ * ({@link #forEachRemotePart}); los accesos que no se pueden redirigir (gRPC) se rechazan con {@link #foreignOwner}.
+ */
+@Component
+@ConditionalOnProperty("priceservice.cluster.nodes")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PriceClusterRouter {
+
+    public static final String FORWARDED_HEADER = "X-Priceservice-Forwarded";
+    public static final String REDIRECTED_PARAM = "redirectedBy";
+    static final String ROUTING_COUNTER = "priceservice.cluster.routing";
+
+    private static final ParameterizedTypeReference<List<PriceBatchResponse>> BATCH_RESPONSE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final ConsistentHashRing ring;
+    private final String self;
+    private final RestClient restClient;
+    private final Counter redirected;
+    private final Counter forwarded;
+    private final Counter rejected;
+
+    public PriceClusterRouter(@Value("${priceservice.cluster.nodes}") String[] nodes,
+                              @Value("${priceservice.cluster.self}") String self,
+                              @Value("${priceservice.cluster.virtual-nodes:128}") int virtualNodes,
+                              RestClient.Builder restClientBuilder,
+                              MeterRegistry meterRegistry) {
+        this.ring = new ConsistentHashRing(Arrays.asList(nodes), virtualNodes);
+        if (!ring.nodes().contains(self)) {
+            throw new IllegalArgumentException("priceservice.cluster.self (" + self + ") no está en priceservice.cluster.nodes");
+        }
+        this.self = self;
+        this.restClient = restClientBuilder.build();
+        this.redirected = routed(meterRegistry, "redirect");
+        this.forwarded = routed(meterRegistry, "forward");
+        this.rejected = routed(meterRegistry, "reject");
+    }
+
+    public boolean owns(Integer brandId, Integer productId) {
+        return self.equals(ring.ownerOf(brandId, productId));
+    }
+
+    /**
+     * Dueño de la clave si no es este nodo, para los accesos que no se pueden redirigir ni reenviar: el llamante
+     * los rechaza indicando el dueño y cuentan como {@code action=reject}.
+     */
+    public Optional<String> foreignOwner(Integer brandId, Integer productId) {
+        String owner = ring.ownerOf(brandId, productId);
+        if (self.equals(owner)) {
+            return Optional.empty();
+        }
+        rejected.increment();
+        return Optional.of(owner);
+    }
+
+    /**
+     * URL de la misma petición en el nodo dueño de la clave, o vacío si la clave es de este nodo.
+     * Una petición que ya llega redirigida no se vuelve a redirigir: si los nodos no coinciden en el anillo
+     * falla con 508 en lugar de rebotar entre ellos.
+     */
+    public Optional<URI> ownerLocation(Integer brandId, Integer productId, HttpServletRequest request) {
+        String owner = ring.ownerOf(brandId, productId);
+        if (self.equals(owner)) {
+            return Optional.empty();
+        }
+        String redirectedBy = request.getParameter(REDIRECTED_PARAM);
+        if (redirectedBy != null) {
+            throw new ResponseStatusException(HttpStatus.LOOP_DETECTED,
+                    "Redirigida por " + redirectedBy + " a " + self + ", que no es el dueño de la clave");
+        }
+        redirected.increment();
+        String query = request.getQueryString();
+        String marker = REDIRECTED_PARAM + "=" + URLEncoder.encode(self, StandardCharsets.UTF_8);
+        return Optional.of(URI.create(owner + request.getRequestURI() + "?" + (query == null ? "" : query + "&") + marker));
+    }
+
+    /**
+     * Resuelve en local la parte del lote de este nodo y reenvía el resto a sus dueños; las respuestas
+     * vuelven en el orden de las consultas.
+     */
+    public List<PriceBatchResponse> resolve(List<PriceBatchRequest> requests,
+                                            Function<List<PriceBatchRequest>, List<PriceBatchResponse>> local) {
+        Map<String, List<Integer>> positionsByOwner = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            PriceBatchRequest request = requests.get(i);
+            positionsByOwner.computeIfAbsent(ring.ownerOf(request.getBrandId(), request.getProductId()),
+                    owner -> new ArrayList<>()).add(i);
+        }
+
+        PriceBatchResponse[] responses = new PriceBatchResponse[requests.size()];
+        positionsByOwner.forEach((owner, positions) -> {
+            List<PriceBatchRequest> part = positions.stream().map(requests::get).toList();
+            List<PriceBatchResponse> resolved = self.equals(owner) ? local.apply(part) : forward(owner, part);
+            for (int i = 0; i < positions.size(); i++) {
+                responses[positions.get(i)] = resolved.get(i);
+            }
+        });
+        return Arrays.asList(responses);
+    }
+
+    /**
+     * Repite la petición en cada uno de los demás nodos, marcada con {@link #FORWARDED_HEADER} para que solo responda
+     * con sus claves, y entrega el cuerpo de cada respuesta según llega, sin guardarlo en memoria.
+     */
+    public void forEachRemotePart(HttpServletRequest request, RemotePart part) {
+        String query = request.getQueryString();
+        for (String node : ring.nodes()) {
+            if (self.equals(node)) {
+                continue;
+            }
+            forwarded.increment();
+            try {
+                restClient.get()
+                        .uri(URI.create(node + request.getRequestURI() + (query == null ? "" : "?" + query)))
+                        .header(FORWARDED_HEADER, self)
+                        .exchange((clientRequest, response) -> {
+                            if (!response.getStatusCode().is2xxSuccessful()) {
+                                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                                        "El nodo " + node + " respondió " + response.getStatusCode());
+                            }
+                            part.accept(response.getBody());
+                            return null;
+                        });
+            } catch (RestClientException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Nodo " + node + " no disponible", ex);
+            }
+        }
+    }
+
+    private List<PriceBatchResponse> forward(String owner, List<PriceBatchRequest> requests) {
+        forwarded.increment(requests.size());
+        try {
+            List<PriceBatchResponse> responses = restClient.post()
+                    .uri(owner + "/api/prices/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .header(FORWARDED_HEADER, self)
+                    .body(requests)
+                    .retrieve()
+                    .body(BATCH_RESPONSE);
+            if (responses == null || responses.size() != requests.size()) {
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Respuesta incompleta del nodo " + owner);
+            }
+            return responses;
+        } catch (RestClientException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Nodo " + owner + " no disponible", ex);
+        }
+    }
+
+    /**
+     * Cuerpo de la respuesta de otro nodo a un volcado reenviado.
+     */
+    @FunctionalInterface
+    public interface RemotePart {
+
+        void accept(InputStream body) throws IOException;
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String action) {
+        return Counter.builder(ROUTING_COUNTER)
+                .description("Consultas de claves de otro nodo, redirigidas (307), reenviadas o rechazadas")
+                .tag("action", action)
+                .register(meterRegistry);
+    }
+}
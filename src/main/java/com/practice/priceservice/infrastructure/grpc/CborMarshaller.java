@@ -0,0 +1,55 @@
+package com.practice.priceservice.infrastructure.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Codifica los mensajes gRPC en CBOR con Jackson, con el mismo criterio que la API REST en {@code application/cbor}.
+ * Un mensaje que no se puede decodificar se devuelve como {@code malformed} si se indica. En el servidor gRPC
+ * convierte cualquier excepción de {@code parse} en {@code UNKNOWN}, así que es el servicio quien ve ese valor y
+ * termina la llamada con {@code INVALID_ARGUMENT}.
+ */
+class CborMarshaller<T> implements MethodDescriptor.Marshaller<T> {
+
+    private final ObjectMapper cborMapper;
+    private final Class<T> type;
+    private final T malformed;
+
+    CborMarshaller(ObjectMapper cborMapper, Class<T> type) {
+        this(cborMapper, type, null);
+    }
+
+    CborMarshaller(ObjectMapper cborMapper, Class<T> type, T malformed) {
+        this.cborMapper = cborMapper;
+        this.type = type;
+        this.malformed = malformed;
+    }
+
+    @Override
+    public InputStream stream(T value) {
+        try {
+            return new ByteArrayInputStream(cborMapper.writeValueAsBytes(value));
+        } catch (IOException ex) {
+            throw Status.INTERNAL.withDescription("No se pudo codificar " + type.getSimpleName())
+                    .withCause(ex).asRuntimeException();
+        }
+    }
+
+    @Override
+    public T parse(InputStream stream) {
+        try (stream) {
+            return cborMapper.readValue(stream, type);
+        } catch (IOException ex) {
+            if (malformed != null) {
+                return malformed;
+            }
+            throw Status.INVALID_ARGUMENT.withDescription("Mensaje " + type.getSimpleName() + " inválido")
+                    .withCause(ex).asRuntimeException();
+        }
+    }
+}
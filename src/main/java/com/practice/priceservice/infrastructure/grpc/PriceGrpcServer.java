@@ -0,0 +1,72 @@
+package com.practice.priceservice.infrastructure.grpc;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servidor gRPC (HTTP/2 sobre Netty) en el mismo proceso que la API REST, activo si se define
+ * {@code priceservice.grpc.port} (0 elige un puerto libre). Se para antes que el contexto dejando terminar
+ * las llamadas en curso durante {@code priceservice.grpc.shutdown-grace-period}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "priceservice.grpc.port")
+public class PriceGrpcServer implements SmartLifecycle {
+
+    private final Server server;
+    private final Duration shutdownGracePeriod;
+    private volatile boolean running;
+
+    public PriceGrpcServer(PriceGrpcService priceGrpcService,
+                           @Value("${priceservice.grpc.port}") int port,
+                           @Value("${priceservice.grpc.shutdown-grace-period:10s}") Duration shutdownGracePeriod) {
+        this.server = NettyServerBuilder.forPort(port)
+                .addService(priceGrpcService)
+                .build();
+        this.shutdownGracePeriod = shutdownGracePeriod;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server.start();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo arrancar el servidor gRPC", ex);
+        }
+        running = true;
+        log.info("Servidor gRPC escuchando en el puerto {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownGracePeriod.toMillis(), TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,148 @@
+package com.practice.priceservice.infrastructure.grpc;
+
+import com.practice.priceservice.application.PriceService;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.infrastructure.cluster.PriceClusterRouter;
+import com.practice.priceservice.infrastructure.metrics.PriceMetrics;
+import io.grpc.BindableService;
+import io.grpc.Metadata;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Implementación de {@link PriceLookupGrpc} sobre {@link PriceService}: misma resolución y mismas métricas de búsqueda
+ * que {@code GET /api/prices}. Lo publica {@link PriceGrpcServer}. En un cluster no redirige ni reenvía: una clave
+ * de otro nodo se rechaza con {@code FAILED_PRECONDITION} indicando su dueño.
+ */
+@Component
+public class PriceGrpcService implements BindableService {
+
+    private final PriceService priceService;
+    private final PriceMetrics priceMetrics;
+    private final ObjectProvider<PriceClusterRouter> clusterRouter;
+
+    public PriceGrpcService(PriceService priceService, PriceMetrics priceMetrics,
+                            ObjectProvider<PriceClusterRouter> clusterRouter) {
+        this.priceService = priceService;
+        this.priceMetrics = priceMetrics;
+        this.clusterRouter = clusterRouter;
+    }
+
+    @Override
+    public ServerServiceDefinition bindService() {
+        return ServerServiceDefinition.builder(PriceLookupGrpc.SERVICE_NAME)
+                .addMethod(PriceLookupGrpc.forServer(PriceLookupGrpc.GET_PRICE), ServerCalls.asyncUnaryCall(this::getPrice))
+                .addMethod(PriceLookupGrpc.forServer(PriceLookupGrpc.LOOKUP_PRICES),
+                        ServerCalls.asyncBidiStreamingCall(this::lookupPrices))
+                .build();
+    }
+
+    void getPrice(PriceLookupRequest request, StreamObserver<PriceLookupReply> responseObserver) {
+        if (!isValid(request)) {
+            responseObserver.onError(invalidArgument(request));
+            return;
+        }
+        Optional<String> owner = foreignOwner(request);
+        if (owner.isPresent()) {
+            responseObserver.onError(notOwned(owner.get()));
+            return;
+        }
+        PriceLookupReply reply = lookup(request);
+        if (!reply.isFound()) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription("No hay precio aplicable").asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(reply);
+        responseObserver.onCompleted();
+    }
+
+    StreamObserver<PriceLookupRequest> lookupPrices(StreamObserver<PriceLookupReply> responseObserver) {
+        return new StreamObserver<>() {
+
+            // Tras un INVALID_ARGUMENT o FAILED_PRECONDITION la llamada está cerrada; las consultas que sigan llegando se descartan
+            private boolean closed;
+
+            @Override
+            public void onNext(PriceLookupRequest request) {
+                if (closed) {
+                    return;
+                }
+                if (!isValid(request)) {
+                    closed = true;
+                    responseObserver.onError(invalidArgument(request));
+                    return;
+                }
+                Optional<String> owner = foreignOwner(request);
+                if (owner.isPresent()) {
+                    closed = true;
+                    responseObserver.onError(notOwned(owner.get()));
+                    return;
+                }
+                responseObserver.onNext(lookup(request));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                closed = true;
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!closed) {
+                    closed = true;
+                    responseObserver.onCompleted();
+                }
+            }
+        };
+    }
+
+    private PriceLookupReply lookup(PriceLookupRequest request) {
+        Optional<Price> price = priceService.getBestPrice(request.getDate(), request.getProductId(), request.getBrandId());
+        priceMetrics.recordLookup(price.isPresent());
+        return price.map(p -> new PriceLookupReply(request.getDate(), p.getProductId(), p.getBrandId(), p.getPriceList(),
+                        p.getStartDate(), p.getEndDate(), p.getPrice(), p.getCurrency()))
+                .orElseGet(() -> new PriceLookupReply(request.getDate(), request.getProductId(), request.getBrandId(),
+                        null, null, null, null, null));
+    }
+
+    private boolean isValid(PriceLookupRequest request) {
+        if (PriceLookupGrpc.isMalformed(request)) {
+            priceMetrics.recordValidationFailure("malformed_message");
+            return false;
+        }
+        boolean valid = request.getDate() != null
+                && request.getProductId() != null && request.getProductId() > 0
+                && request.getBrandId() != null && request.getBrandId() > 0;
+        if (!valid) {
+            priceMetrics.recordValidationFailure("constraint_violation");
+        }
+        return valid;
+    }
+
+    private Optional<String> foreignOwner(PriceLookupRequest request) {
+        PriceClusterRouter router = clusterRouter.getIfAvailable();
+        return router == null ? Optional.empty() : router.foreignOwner(request.getBrandId(), request.getProductId());
+    }
+
+    private static RuntimeException notOwned(String owner) {
+        Metadata trailers = new Metadata();
+        trailers.put(PriceLookupGrpc.OWNER_TRAILER, owner);
+        return Status.FAILED_PRECONDITION
+                .withDescription("La clave es del nodo " + owner)
+                .asRuntimeException(trailers);
+    }
+
+    private static RuntimeException invalidArgument(PriceLookupRequest request) {
+        return Status.INVALID_ARGUMENT
+                .withDescription(PriceLookupGrpc.isMalformed(request)
+                        ? "El mensaje no es una consulta CBOR válida"
+                        : "date es obligatorio y productId y brandId deben ser positivos")
+                .asRuntimeException();
+    }
+}
@@ -0,0 +1,97 @@
+package com.practice.priceservice.infrastructure.grpc;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contrato del servicio gRPC {@value #SERVICE_NAME}, compartido por servidor y clientes. Los mensajes viajan en CBOR
+ * (fechas como arrays, ver {@code /schemas/price.cddl}) en lugar de Protocol Buffers, así que no hay código generado:
+ * un cliente Java usa estos descriptores con {@code ClientCalls} sobre cualquier {@code Channel}.
+ * <ul>
+ *   <li>{@code GetPrice} (unario): una consulta y su respuesta; sin precio aplicable termina con {@code NOT_FOUND}.</li>
+ *   <li>{@code LookupPrices} (bidireccional): una respuesta por consulta, en el mismo orden, sobre un único stream;
+ *   sin precio la respuesta va sin tarifa y el stream sigue abierto.</li>
+ * </ul>
+ * Una consulta que no se puede decodificar, incompleta o con ids no positivos termina la llamada con
+ * {@code INVALID_ARGUMENT}. En un cluster, una consulta de una clave de otro nodo termina la llamada con
+ * {@code FAILED_PRECONDITION} y la URL del dueño en el trailer {@link #OWNER_TRAILER}: el cliente debe enviar
+ * cada clave a su dueño.
+ */
+public final class PriceLookupGrpc {
+
+    public static final String SERVICE_NAME = "priceservice.PriceLookup";
+
+    public static final Metadata.Key<String> OWNER_TRAILER =
+            Metadata.Key.of("priceservice-owner", Metadata.ASCII_STRING_MARSHALLER);
+
+    // Campos desconocidos ignorados: un cliente o servidor con más campos sigue siendo compatible
+    private static final ObjectMapper CBOR = CBORMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private static final PriceLookupRequest MALFORMED_REQUEST = new MalformedRequest();
+
+    public static final MethodDescriptor<PriceLookupRequest, PriceLookupReply> GET_PRICE =
+            method(MethodDescriptor.MethodType.UNARY, "GetPrice");
+
+    public static final MethodDescriptor<PriceLookupRequest, PriceLookupReply> LOOKUP_PRICES =
+            method(MethodDescriptor.MethodType.BIDI_STREAMING, "LookupPrices");
+
+    private PriceLookupGrpc() {
+    }
+
+    /**
+     * El mismo método para el servidor: una consulta que no se puede decodificar llega como una marca
+     * ({@link #isMalformed}) en lugar de fallar dentro de gRPC, para que el servicio la rechace con
+     * {@code INVALID_ARGUMENT}.
+     */
+    static MethodDescriptor<PriceLookupRequest, PriceLookupReply> forServer(
+            MethodDescriptor<PriceLookupRequest, PriceLookupReply> method) {
+        return method.toBuilder(new CborMarshaller<>(CBOR, PriceLookupRequest.class, MALFORMED_REQUEST),
+                method.getResponseMarshaller()).build();
+    }
+
+    static boolean isMalformed(PriceLookupRequest request) {
+        return request instanceof MalformedRequest;
+    }
+
+    private static MethodDescriptor<PriceLookupRequest, PriceLookupReply> method(MethodDescriptor.MethodType type,
+                                                                                 String name) {
+        return MethodDescriptor.<PriceLookupRequest, PriceLookupReply>newBuilder()
+                .setType(type)
+                .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, name))
+                .setRequestMarshaller(new CborMarshaller<>(CBOR, PriceLookupRequest.class))
+                .setResponseMarshaller(new CborMarshaller<>(CBOR, PriceLookupReply.class))
+                .setSafe(true)
+                .setIdempotent(true)
+                .build();
+    }
+
+    /**
+     * Marca de consulta no decodificable: una única instancia compartida, así que no admite cambios.
+     */
+    private static final class MalformedRequest extends PriceLookupRequest {
+
+        @Override
+        public void setDate(LocalDateTime date) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setProductId(Integer productId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setBrandId(Integer brandId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.practice.priceservice.infrastructure.grpc;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta a una {@link PriceLookupRequest}: repite la consulta y, si hay precio aplicable, la tarifa ganadora.
+ * Sin precio los campos de la tarifa son null y no se serializan.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PriceLookupReply {
+    private LocalDateTime date;
+    private Integer productId;
+    private Integer brandId;
+    private Integer priceList;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Double price;
+    private String currency;
+
+    @JsonIgnore
+    public boolean isFound() {
+        return priceList != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.practice.priceservice.infrastructure.grpc;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Consulta de precio de los métodos gRPC: fecha, producto y cadena, como en el endpoint REST.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PriceLookupRequest {
+    private LocalDateTime date;
+    private Integer productId;
+    private Integer brandId;
+}
@@ -0,0 +1,78 @@
+package com.practice.priceservice.infrastructure.ingestion;
+
+import com.practice.priceservice.application.CachingPriceService;
+import com.practice.priceservice.application.PriceService;
+import com.practice.priceservice.domain.BrandsReloadedEvent;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PricesChangedEvent;
+import com.practice.priceservice.infrastructure.cluster.PriceClusterRouter;
+import com.practice.priceservice.infrastructure.memory.InMemoryPriceRepository;
+import com.practice.priceservice.infrastructure.persistence.JpaPriceAdapter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Propaga un {@link PricesChangedEvent} a las estructuras derivadas de la BD: primero recarga en el índice en memoria
+ * las claves afectadas, con una sola consulta multi-clave, y después las invalida en la caché, para que la recarga
+ * de la caché ya vea el índice nuevo.
+ * Un {@link BrandsReloadedEvent} hace lo mismo con cadenas enteras.
+ */
+@Component
+public class PriceChangeListener {
+
+    private final JpaPriceAdapter jpaPriceAdapter;
+    private final ObjectProvider<InMemoryPriceRepository> inMemoryPriceRepository;
+    private final ObjectProvider<PriceClusterRouter> clusterRouter;
+    private final PriceService priceService;
+
+    public PriceChangeListener(JpaPriceAdapter jpaPriceAdapter,
+                               ObjectProvider<InMemoryPriceRepository> inMemoryPriceRepository,
+                               ObjectProvider<PriceClusterRouter> clusterRouter,
+                               PriceService priceService) {
+        this.jpaPriceAdapter = jpaPriceAdapter;
+        this.inMemoryPriceRepository = inMemoryPriceRepository;
+        this.clusterRouter = clusterRouter;
+        this.priceService = priceService;
+    }
+
+    @EventListener
+    public void onPricesChanged(PricesChangedEvent event) {
+        PriceClusterRouter router = clusterRouter.getIfAvailable();
+        inMemoryPriceRepository.ifAvailable(repository -> {
+            // En un cluster el índice solo guarda las claves de este nodo
+            List<PriceKey> owned = event.getKeys().stream()
+                    .filter(key -> router == null || router.owns(key.getBrandId(), key.getProductId()))
+                    .toList();
+            Map<PriceKey, List<Price>> found = jpaPriceAdapter.findPrices(owned);
+            Map<PriceKey, List<Price>> prices = new HashMap<>();
+            for (PriceKey key : owned) {
+                // Una clave sin tarifas se refresca con una lista vacía, que la elimina del índice
+                prices.put(key, found.getOrDefault(key, List.of()));
+            }
+            repository.refresh(prices);
+        });
+        if (priceService instanceof CachingPriceService cachingPriceService) {
+            cachingPriceService.invalidate(event.getKeys());
+        }
+    }
+
+    @EventListener
+    public void onBrandsReloaded(BrandsReloadedEvent event) {
+        PriceClusterRouter router = clusterRouter.getIfAvailable();
+        inMemoryPriceRepository.ifAvailable(repository -> {
+            for (Integer brandId : event.getBrandIds()) {
+                repository.reloadBrand(brandId, jpaPriceAdapter.findByBrand(brandId,
+                        price -> router == null || router.owns(price.getBrandId(), price.getProductId())));
+            }
+        });
+        if (priceService instanceof CachingPriceService cachingPriceService) {
+            cachingPriceService.invalidateBrands(event.getBrandIds());
+        }
+    }
+}
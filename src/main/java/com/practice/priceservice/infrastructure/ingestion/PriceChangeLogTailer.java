@@ -0,0 +1,162 @@
+package com.practice.priceservice.infrastructure.ingestion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.priceservice.application.PriceIngestionService;
+import com.practice.priceservice.domain.PriceChange;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sigue un change log JSONL de solo anexado (ver {@link PriceChangeRecord}) y aplica las líneas nuevas en lotes
+ * con {@link PriceIngestionService}. La posición ya aplicada se guarda en {@code <log>.offset}, así que un reinicio
+ * continúa donde se quedó; una línea sin salto final se deja para la siguiente pasada y una línea inválida
+ * se registra y se salta. Si el fichero encoge (rotado o truncado) se vuelve a leer desde el principio.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "priceservice.ingestion.change-log")
+public class PriceChangeLogTailer {
+
+    private final PriceIngestionService ingestionService;
+    private final ObjectMapper objectMapper;
+    private final Path changeLog;
+    private final Path offsetFile;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "price-change-log-tailer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long offset;
+
+    public PriceChangeLogTailer(PriceIngestionService ingestionService,
+                                ObjectMapper objectMapper,
+                                @Value("${priceservice.ingestion.change-log}") Path changeLog,
+                                @Value("${priceservice.ingestion.poll-interval:1s}") Duration pollInterval,
+                                @Value("${priceservice.ingestion.batch-size:1000}") int batchSize) throws IOException {
+        this.ingestionService = ingestionService;
+        this.objectMapper = objectMapper;
+        this.changeLog = changeLog;
+        this.offsetFile = changeLog.resolveSibling(changeLog.getFileName() + ".offset");
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.offset = Files.exists(offsetFile) ? Long.parseLong(Files.readString(offsetFile).trim()) : 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::pollSafely, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Aplica todas las líneas completas nuevas y devuelve cuántos cambios se aplicaron.
+     */
+    public synchronized int poll() throws IOException {
+        if (!Files.exists(changeLog)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(changeLog, StandardOpenOption.READ)) {
+            if (channel.size() < offset) {
+                log.warn("El change log {} ha encogido; se relee desde el principio", changeLog);
+                commit(0);
+            }
+            if (channel.size() == offset) {
+                return 0;
+            }
+
+            long start = System.nanoTime();
+            int applied = 0;
+            List<PriceChange> batch = new ArrayList<>(batchSize);
+            long position = offset;
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(offset)), 1 << 16);
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            for (int b = in.read(); b != -1; b = in.read()) {
+                position++;
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                PriceChange change = parse(line.toString(StandardCharsets.UTF_8), position);
+                line.reset();
+                if (change != null) {
+                    batch.add(change);
+                }
+                if (batch.size() == batchSize) {
+                    applied += applyAndCommit(batch, position);
+                }
+            }
+            applied += applyAndCommit(batch, position - line.size());
+            if (applied > 0) {
+                log.info("Aplicados {} cambios de precio desde {} en {} ms",
+                        applied, changeLog, (System.nanoTime() - start) / 1_000_000);
+            }
+            return applied;
+        }
+    }
+
+    private PriceChange parse(String line, long position) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, PriceChangeRecord.class).toPriceChange();
+        } catch (IOException | IllegalArgumentException ex) {
+            log.warn("Línea inválida en {} (byte {}), se ignora: {}", changeLog, position, ex.getMessage());
+            return null;
+        }
+    }
+
+    private int applyAndCommit(List<PriceChange> batch, long position) throws IOException {
+        int size = batch.size();
+        if (size > 0) {
+            ingestionService.apply(List.copyOf(batch));
+        }
+        batch.clear();
+        commit(position);
+        return size;
+    }
+
+    private void commit(long position) throws IOException {
+        if (position != offset) {
+            offset = position;
+            Files.writeString(offsetFile, Long.toString(position));
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception ex) {
+            log.error("Error aplicando el change log {}", changeLog, ex);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.practice.priceservice.infrastructure.ingestion;
+
+import com.practice.priceservice.domain.CompactPrice;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceChange;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Una línea del change log JSONL. Ejemplos:
+ * <pre>
+ * {"op":"UPSERT","brandId":1,"productId":35455,"priceList":5,"startDate":"2020-07-01T00:00:00",
+ *  "endDate":"2020-07-31T23:59:59","priority":2,"price":19.99,"currency":"EUR"}
+ * {"op":"DELETE","brandId":1,"productId":35455,"priceList":5,"startDate":"2020-07-01T00:00:00"}
+ * </pre>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PriceChangeRecord {
+
+    private PriceChange.Type op;
+    private Integer brandId;
+    private Integer productId;
+    private Integer priceList;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Integer priority;
+    private Double price;
+    private String currency;
+
+    public PriceChange toPriceChange() {
+        if (op == null || Stream.of(brandId, productId, priceList, startDate).anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Faltan op o la clave de la tarifa (brandId, productId, priceList, startDate)");
+        }
+        if (op == PriceChange.Type.UPSERT && Stream.of(endDate, priority, price, currency).anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Un UPSERT requiere endDate, priority, price y currency");
+        }
+        Price tariff = new Price(null, brandId, startDate, endDate, priceList, productId, priority, price, currency);
+        if (op == PriceChange.Type.UPSERT) {
+            CompactPrice.requireExact(tariff);
+        }
+        return new PriceChange(op, tariff);
+    }
+}
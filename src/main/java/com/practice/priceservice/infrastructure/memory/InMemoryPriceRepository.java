@@ -0,0 +1,148 @@
+package com.practice.priceservice.infrastructure.memory;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.domain.PriceSegment;
+import com.practice.priceservice.domain.PriceTimeline;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación en memoria de {@link PriceRepository}.
+ * Agrupa los precios por (brandId, productId) en una {@link PriceTimeline} ya resuelta,
+ * de modo que cada consulta es un acceso a un mapa más una búsqueda binaria.
+ * Devuelve como mucho un precio: el ganador para la fecha consultada.
+ * <p>
+ * El índice está repartido en un {@link PriceShard} por cadena, cada uno con su propia copia inmutable: recargar o
+ * refrescar una cadena ({@link #reloadBrand}, {@link #refresh}) solo copia y bloquea esa cadena, y las lecturas
+ * de cualquier cadena nunca esperan. {@link #reload} sustituye las cadenas una a una, no todas a la vez.
+ */
+public class InMemoryPriceRepository implements PriceRepository {
+
+    private final ConcurrentMap<Integer, PriceShard> shards = new ConcurrentHashMap<>();
+
+    public InMemoryPriceRepository(Collection<Price> prices) {
+        reload(prices);
+    }
+
+    /**
+     * Sustituye todo el índice; las cadenas que no aparecen se quedan vacías.
+     */
+    public void reload(Collection<Price> prices) {
+        Map<Integer, List<Price>> pricesByBrand = prices.stream().collect(Collectors.groupingBy(Price::getBrandId));
+        pricesByBrand.forEach((brandId, brandPrices) -> shard(brandId).replace(timelinesByProduct(brandPrices)));
+        shards.forEach((brandId, shard) -> {
+            if (!pricesByBrand.containsKey(brandId)) {
+                shard.replace(Map.of());
+            }
+        });
+    }
+
+    /**
+     * Sustituye las tarifas de una sola cadena sin tocar el resto.
+     */
+    public void reloadBrand(Integer brandId, Collection<Price> prices) {
+        if (prices.stream().anyMatch(price -> !brandId.equals(price.getBrandId()))) {
+            throw new IllegalArgumentException("Todas las tarifas deben ser de la cadena " + brandId);
+        }
+        shard(brandId).replace(timelinesByProduct(prices));
+    }
+
+    /**
+     * Sustituye las tarifas de cada clave por las indicadas; una colección vacía elimina la clave.
+     * Cada cadena afectada se copia una sola vez.
+     */
+    public void refresh(Map<PriceKey, ? extends Collection<Price>> pricesByKey) {
+        Map<Integer, Map<Integer, Collection<Price>>> pricesByBrand = new HashMap<>();
+        pricesByKey.forEach((key, prices) -> pricesByBrand
+                .computeIfAbsent(key.getBrandId(), brandId -> new HashMap<>())
+                .put(key.getProductId(), prices));
+        pricesByBrand.forEach((brandId, pricesByProduct) -> shard(brandId).refresh(pricesByProduct));
+    }
+
+    @Override
+    public List<Price> findApplicablePrices(LocalDateTime date, Integer productId, Integer brandId) {
+        return findBestPrice(date, productId, brandId)
+                .map(List::of)
+                .orElse(List.of());
+    }
+
+    @Override
+    public Optional<Price> findBestPrice(LocalDateTime date, Integer productId, Integer brandId) {
+        return timeline(brandId, productId).priceAt(date);
+    }
+
+    @Override
+    public Map<PriceQuery, List<Price>> findApplicablePrices(Collection<PriceQuery> queries) {
+        Map<PriceQuery, List<Price>> result = new HashMap<>();
+        for (PriceQuery query : queries) {
+            List<Price> applicable = findApplicablePrices(query.getDate(), query.getProductId(), query.getBrandId());
+            if (!applicable.isEmpty()) {
+                result.put(query, applicable);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Solo conserva las tarifas que ganan en algún tramo; las que nunca aplican no afectan a la resolución.
+     */
+    @Override
+    public List<Price> findPrices(Integer productId, Integer brandId) {
+        return timeline(brandId, productId).winningPrices();
+    }
+
+    @Override
+    public Map<PriceKey, List<Price>> findPrices(Collection<PriceKey> keys) {
+        Map<PriceKey, List<Price>> result = new HashMap<>();
+        for (PriceKey key : keys) {
+            List<Price> prices = findPrices(key.getProductId(), key.getBrandId());
+            if (!prices.isEmpty()) {
+                result.put(key, prices);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<PriceSegment> findTimeline(Integer productId, Integer brandId, LocalDateTime from, LocalDateTime to) {
+        return timeline(brandId, productId).segmentsBetween(from, to);
+    }
+
+    @Override
+    public void forEachBestPrice(Integer brandId, LocalDateTime date, Consumer<Price> action) {
+        PriceShard shard = shards.get(brandId);
+        if (shard == null) {
+            return;
+        }
+        Map<Integer, PriceTimeline> timelines = shard.snapshot();
+        timelines.keySet().stream()
+                .sorted()
+                .forEach(productId -> timelines.get(productId).priceAt(date).ifPresent(action));
+    }
+
+    private PriceTimeline timeline(Integer brandId, Integer productId) {
+        PriceShard shard = shards.get(brandId);
+        return shard == null ? PriceTimeline.empty() : shard.timeline(productId);
+    }
+
+    private PriceShard shard(Integer brandId) {
+        return shards.computeIfAbsent(brandId, id -> new PriceShard());
+    }
+
+    private static Map<Integer, PriceTimeline> timelinesByProduct(Collection<Price> prices) {
+        return prices.stream().collect(Collectors.groupingBy(Price::getProductId,
+                Collectors.collectingAndThen(Collectors.toList(), PriceTimeline::of)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.practice.priceservice.infrastructure.memory;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceTimeline;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Líneas temporales de una cadena, indexadas por producto.
+ * El mapa publicado no se modifica nunca: las lecturas solo hacen una lectura volátil y un {@code get}, sin locks. Las
+ * escrituras de la cadena se serializan, construyen una única copia con los cambios y la publican de golpe envuelta en
+ * una vista no modificable (copy-on-write), así que una recarga grande solo genera basura y bloquea escritores en su
+ * propia cadena.
+ */
+final class PriceShard {
+
+    private volatile Map<Integer, PriceTimeline> timelines = Map.of();
+
+    PriceTimeline timeline(Integer productId) {
+        return timelines.getOrDefault(productId, PriceTimeline.empty());
+    }
+
+    /**
+     * Versión publicada en el momento de la llamada; no cambia aunque después se refresque la cadena.
+     */
+    Map<Integer, PriceTimeline> snapshot() {
+        return timelines;
+    }
+
+    /**
+     * Publica el mapa indicado sin copiarlo: pasa a ser del shard y quien lo construyó no debe volver a modificarlo.
+     */
+    synchronized void replace(Map<Integer, PriceTimeline> timelines) {
+        this.timelines = Collections.unmodifiableMap(timelines);
+    }
+
+    /**
+     * Sustituye las tarifas de cada producto por las indicadas; una colección vacía elimina el producto.
+     */
+    synchronized void refresh(Map<Integer, ? extends Collection<Price>> pricesByProduct) {
+        Map<Integer, PriceTimeline> copy = new HashMap<>(timelines);
+        pricesByProduct.forEach((productId, prices) -> {
+            if (prices.isEmpty()) {
+                copy.remove(productId);
+            } else {
+                copy.put(productId, PriceTimeline.of(prices));
+            }
+        });
+        this.timelines = Collections.unmodifiableMap(copy);
+    }
+}
@@ -0,0 +1,41 @@
+package com.practice.priceservice.infrastructure.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import static com.practice.priceservice.infrastructure.metrics.MeteredJacksonHttpMessageConverter.SERIALIZATION_TIMER;
+
+/**
+ * Conversor CBOR ({@code application/cbor}) que mide la serialización en el mismo timer que el JSON,
+ * con la etiqueta {@code format=cbor}. Sustituye al conversor CBOR por defecto de Spring MVC.
+ */
+public class MeteredCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    private final Timer serialization;
+
+    public MeteredCborHttpMessageConverter(ObjectMapper cborMapper, MeterRegistry meterRegistry) {
+        super(cborMapper);
+        this.serialization = Timer.builder(SERIALIZATION_TIMER)
+                .description("Serialización de las respuestas")
+                .tag("format", "cbor")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(serialization);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.practice.priceservice.infrastructure.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON de Spring MVC que mide la serialización de cada respuesta ({@value #SERIALIZATION_TIMER}).
+ * Sustituye al conversor Jackson por defecto usando el mismo ObjectMapper.
+ */
+public class MeteredJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    static final String SERIALIZATION_TIMER = "priceservice.serialization";
+
+    private final Timer serialization;
+
+    public MeteredJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.serialization = Timer.builder(SERIALIZATION_TIMER)
+                .description("Serialización de las respuestas")
+                .tag("format", "json")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(serialization);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.practice.priceservice.infrastructure.metrics;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.domain.PriceSegment;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.util.ClassUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link PriceRepository} que mide cada consulta ({@value #QUERY_TIMER}, por método y backend)
+ * y el número de tarifas devueltas por consulta ({@value #RESULTS_SUMMARY}, por método y backend). En
+ * {@code findApplicablePrices} son todas las candidatas; {@code findBestPrice} resuelve la ganadora dentro del
+ * backend y solo devuelve 0 o 1, así que su media es la proporción de búsquedas con precio; en {@code findPrices},
+ * la lectura de la búsqueda puntual REST, son todas las tarifas del producto con las que se construye su línea temporal.
+ */
+public class MeteredPriceRepository implements PriceRepository {
+
+    static final String QUERY_TIMER = "priceservice.repository.query";
+    static final String RESULTS_SUMMARY = "priceservice.repository.results";
+
+    private final PriceRepository delegate;
+    private final Timer findApplicablePricesTimer;
+    private final Timer findBestPriceTimer;
+    private final Timer findApplicablePricesBatchTimer;
+    private final Timer findPricesTimer;
+    private final Timer findPricesBatchTimer;
+    private final Timer findTimelineTimer;
+    private final Timer forEachBestPriceTimer;
+    private final DistributionSummary findApplicablePricesResults;
+    private final DistributionSummary findBestPriceResults;
+    private final DistributionSummary findApplicablePricesBatchResults;
+    private final DistributionSummary findPricesResults;
+
+    public MeteredPriceRepository(PriceRepository delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        String backend = ClassUtils.getUserClass(delegate).getSimpleName();
+        this.findApplicablePricesTimer = queryTimer(meterRegistry, backend, "findApplicablePrices");
+        this.findBestPriceTimer = queryTimer(meterRegistry, backend, "findBestPrice");
+        this.findApplicablePricesBatchTimer = queryTimer(meterRegistry, backend, "findApplicablePricesBatch");
+        this.findPricesTimer = queryTimer(meterRegistry, backend, "findPrices");
+        this.findPricesBatchTimer = queryTimer(meterRegistry, backend, "findPricesBatch");
+        this.findTimelineTimer = queryTimer(meterRegistry, backend, "findTimeline");
+        this.forEachBestPriceTimer = queryTimer(meterRegistry, backend, "forEachBestPrice");
+        this.findApplicablePricesResults = resultsSummary(meterRegistry, backend, "findApplicablePrices");
+        this.findBestPriceResults = resultsSummary(meterRegistry, backend, "findBestPrice");
+        this.findApplicablePricesBatchResults = resultsSummary(meterRegistry, backend, "findApplicablePricesBatch");
+        this.findPricesResults = resultsSummary(meterRegistry, backend, "findPrices");
+    }
+
+    @Override
+    public List<Price> findApplicablePrices(LocalDateTime date, Integer productId, Integer brandId) {
+        List<Price> prices = findApplicablePricesTimer.record(() -> delegate.findApplicablePrices(date, productId, brandId));
+        findApplicablePricesResults.record(prices.size());
+        return prices;
+    }
+
+    @Override
+    public Optional<Price> findBestPrice(LocalDateTime date, Integer productId, Integer brandId) {
+        Optional<Price> price = findBestPriceTimer.record(() -> delegate.findBestPrice(date, productId, brandId));
+        findBestPriceResults.record(price.isPresent() ? 1 : 0);
+        return price;
+    }
+
+    @Override
+    public Map<PriceQuery, List<Price>> findApplicablePrices(Collection<PriceQuery> queries) {
+        Map<PriceQuery, List<Price>> prices = findApplicablePricesBatchTimer.record(() -> delegate.findApplicablePrices(queries));
+        for (PriceQuery query : queries) {
+            findApplicablePricesBatchResults.record(prices.getOrDefault(query, List.of()).size());
+        }
+        return prices;
+    }
+
+    @Override
+    public List<Price> findPrices(Integer productId, Integer brandId) {
+        List<Price> prices = findPricesTimer.record(() -> delegate.findPrices(productId, brandId));
+        findPricesResults.record(prices.size());
+        return prices;
+    }
+
+    @Override
+    public Map<PriceKey, List<Price>> findPrices(Collection<PriceKey> keys) {
+        return findPricesBatchTimer.record(() -> delegate.findPrices(keys));
+    }
+
+    @Override
+    public List<PriceSegment> findTimeline(Integer productId, Integer brandId, LocalDateTime from, LocalDateTime to) {
+        return findTimelineTimer.record(() -> delegate.findTimeline(productId, brandId, from, to));
+    }
+
+    @Override
+    public void forEachBestPrice(Integer brandId, LocalDateTime date, Consumer<Price> action) {
+        forEachBestPriceTimer.record(() -> delegate.forEachBestPrice(brandId, date, action));
+    }
+
+    private static Timer queryTimer(MeterRegistry meterRegistry, String backend, String method) {
+        return Timer.builder(QUERY_TIMER)
+                .description("Consultas al repositorio de precios")
+                .tag("backend", backend)
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary resultsSummary(MeterRegistry meterRegistry, String backend, String method) {
+        return DistributionSummary.builder(RESULTS_SUMMARY)
+                .description("Tarifas devueltas por consulta")
+                .baseUnit("prices")
+                .tag("backend", backend)
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+}
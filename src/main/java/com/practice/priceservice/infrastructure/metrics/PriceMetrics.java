@@ -0,0 +1,57 @@
+package com.practice.priceservice.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Métricas de la capa web: resultado de cada búsqueda (acierto o 404), fallos de validación por motivo
+ * y tiempo de mapeo de dominio a DTO.
+ */
+@Component
+public class PriceMetrics {
+
+    static final String LOOKUPS_COUNTER = "priceservice.lookups";
+    static final String VALIDATION_FAILURES_COUNTER = "priceservice.validation.failures";
+    static final String MAPPING_TIMER = "priceservice.mapping";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter hits;
+    private final Counter notFound;
+    private final Timer mapping;
+
+    public PriceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.hits = lookups(meterRegistry, "hit");
+        this.notFound = lookups(meterRegistry, "not_found");
+        this.mapping = Timer.builder(MAPPING_TIMER)
+                .description("Mapeo de Price a PriceResponse")
+                .register(meterRegistry);
+    }
+
+    public void recordLookup(boolean found) {
+        (found ? hits : notFound).increment();
+    }
+
+    public void recordValidationFailure(String reason) {
+        Counter.builder(VALIDATION_FAILURES_COUNTER)
+                .description("Peticiones rechazadas con 400 por validación")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public <T> T timeMapping(Supplier<T> mapper) {
+        return mapping.record(mapper);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(LOOKUPS_COUNTER)
+                .description("Búsquedas de precio por resultado")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.practice.priceservice.infrastructure.persistence;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fragmento de {@link JpaPriceRepository} con las consultas multi-clave que JPQL no puede expresar.
+ */
+public interface BatchPriceQueries {
+
+    /**
+     * Tarifas aplicables de cada consulta en una sola sentencia; las consultas sin tarifas no aparecen en el mapa.
+     */
+    Map<PriceQuery, List<Price>> findApplicablePrices(Collection<PriceQuery> queries);
+
+    /**
+     * Todas las tarifas de cada producto en una sola sentencia; las claves sin tarifas no aparecen en el mapa.
+     */
+    Map<PriceKey, List<Price>> findPrices(Collection<PriceKey> keys);
+
+    /**
+     * Entidades gestionadas de todas las tarifas de cada producto en una sola sentencia, para modificarlas en bloque.
+     */
+    List<JpaPriceEntity> findEntities(Collection<PriceKey> keys);
+}
@@ -0,0 +1,114 @@
+package com.practice.priceservice.infrastructure.persistence;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Une las consultas, como tabla {@code VALUES}, con {@code price}: cada fila se resuelve con un acceso por
+ * {@code idx_price_lookup} (cadena, producto y fecha), en vez de cruzar los IN de cadenas y productos y descartar
+ * en memoria los candidatos que nadie ha pedido.
+ */
+class BatchPriceQueriesImpl implements BatchPriceQueries {
+
+    static final String RESULT_MAPPING = "BatchPriceQueries.applicablePrice";
+
+    private static final String SELECT = "SELECT k.query_index, p.id, p.brand_id, p.start_date, p.end_date, " +
+            "p.price_list, p.product_id, p.priority, p.price, p.currency FROM (VALUES ";
+    private static final String APPLICABLE_JOIN = ") AS k(query_index, brand_id, product_id, query_date) " +
+            "JOIN price p ON p.brand_id = k.brand_id AND p.product_id = k.product_id " +
+            "AND p.start_date <= k.query_date AND p.end_date >= k.query_date";
+    private static final String SELECT_ENTITIES = "SELECT p.* FROM (VALUES ";
+    private static final String KEY_JOIN = ") AS k(query_index, brand_id, product_id) " +
+            "JOIN price p ON p.brand_id = k.brand_id AND p.product_id = k.product_id";
+
+    private final EntityManager entityManager;
+
+    BatchPriceQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Map<PriceQuery, List<Price>> findApplicablePrices(Collection<PriceQuery> queries) {
+        if (queries.isEmpty()) {
+            return Map.of();
+        }
+
+        List<PriceQuery> keys = List.copyOf(queries);
+        StringJoiner rows = new StringJoiner(", ", SELECT, APPLICABLE_JOIN);
+        for (int i = 0; i < keys.size(); i++) {
+            int param = 3 * i + 1;
+            rows.add("(" + i + ", CAST(?" + param + " AS INTEGER), CAST(?" + (param + 1) + " AS INTEGER), " +
+                    "CAST(?" + (param + 2) + " AS TIMESTAMP))");
+        }
+        Query query = entityManager.createNativeQuery(rows.toString(), RESULT_MAPPING);
+        for (int i = 0; i < keys.size(); i++) {
+            PriceQuery key = keys.get(i);
+            query.setParameter(3 * i + 1, key.getBrandId());
+            query.setParameter(3 * i + 2, key.getProductId());
+            query.setParameter(3 * i + 3, key.getDate());
+        }
+        return groupByKey(query, keys);
+    }
+
+    @Override
+    public Map<PriceKey, List<Price>> findPrices(Collection<PriceKey> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+
+        List<PriceKey> distinct = List.copyOf(new LinkedHashSet<>(keys));
+        Query query = entityManager.createNativeQuery(keyJoin(SELECT, distinct.size()), RESULT_MAPPING);
+        bindKeys(query, distinct);
+        return groupByKey(query, distinct);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JpaPriceEntity> findEntities(Collection<PriceKey> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        List<PriceKey> distinct = List.copyOf(new LinkedHashSet<>(keys));
+        Query query = entityManager.createNativeQuery(keyJoin(SELECT_ENTITIES, distinct.size()), JpaPriceEntity.class);
+        bindKeys(query, distinct);
+        return query.getResultList();
+    }
+
+    private static String keyJoin(String select, int keys) {
+        StringJoiner rows = new StringJoiner(", ", select, KEY_JOIN);
+        for (int i = 0; i < keys; i++) {
+            int param = 2 * i + 1;
+            rows.add("(" + i + ", CAST(?" + param + " AS INTEGER), CAST(?" + (param + 1) + " AS INTEGER))");
+        }
+        return rows.toString();
+    }
+
+    private static void bindKeys(Query query, List<PriceKey> keys) {
+        for (int i = 0; i < keys.size(); i++) {
+            PriceKey key = keys.get(i);
+            query.setParameter(2 * i + 1, key.getBrandId());
+            query.setParameter(2 * i + 2, key.getProductId());
+        }
+    }
+
+    private static <K> Map<K, List<Price>> groupByKey(Query query, List<K> keys) {
+        Map<K, List<Price>> result = new HashMap<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            result.computeIfAbsent(keys.get((Integer) columns[1]), key -> new ArrayList<>()).add((Price) columns[0]);
+        }
+        return result;
+    }
+}
@@ -1,16 +1,33 @@
 package com.practice.priceservice.infrastructure.persistence;
 
 import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceChange;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
 import com.practice.priceservice.domain.PriceRepository;
-import lombok.AllArgsConstructor;
+import com.practice.priceservice.domain.PriceSegment;
+import com.practice.priceservice.domain.PriceTimeline;
+import com.practice.priceservice.domain.PriceWriter;
+import lombok.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Repository
-public class JpaPriceAdapter implements PriceRepository {
+@Transactional(readOnly = true)
+public class JpaPriceAdapter implements PriceRepository, PriceWriter {
 
     private final JpaPriceRepository jpaRepository;
 
@@ -20,18 +37,137 @@ public class JpaPriceAdapter implements PriceRepository {
 
     @Override
     public List<Price> findApplicablePrices(LocalDateTime date, Integer productId, Integer brandId) {
-        return jpaRepository.findApplicablePrices(date, productId, brandId).stream()
-                .map(entity -> new Price(
-                        entity.getId(),
-                        entity.getBrandId(),
-                        entity.getStartDate(),
-                        entity.getEndDate(),
-                        entity.getPriceList(),
-                        entity.getProductId(),
-                        entity.getPriority(),
-                        entity.getPrice(),
-                        entity.getCurrency()
-                ))
-                .collect(Collectors.toList());
+        return jpaRepository.findApplicablePrices(date, productId, brandId);
+    }
+
+    @Override
+    public Optional<Price> findBestPrice(LocalDateTime date, Integer productId, Integer brandId) {
+        return jpaRepository.findTopApplicablePrice(date, productId, brandId);
+    }
+
+    @Override
+    public Map<PriceQuery, List<Price>> findApplicablePrices(Collection<PriceQuery> queries) {
+        return queries.isEmpty() ? Map.of() : jpaRepository.findApplicablePrices(queries);
+    }
+
+    @Override
+    public List<Price> findPrices(Integer productId, Integer brandId) {
+        return jpaRepository.findPrices(productId, brandId);
+    }
+
+    @Override
+    public Map<PriceKey, List<Price>> findPrices(Collection<PriceKey> keys) {
+        return keys.isEmpty() ? Map.of() : jpaRepository.findPrices(keys);
+    }
+
+    /**
+     * Solo las tarifas que solapan la ventana pueden ganar en ella; el resto no hace falta leerlo.
+     */
+    @Override
+    public List<PriceSegment> findTimeline(Integer productId, Integer brandId, LocalDateTime from, LocalDateTime to) {
+        return PriceTimeline.of(jpaRepository.findPricesBetween(productId, brandId, from, to)).segmentsBetween(from, to);
+    }
+
+    /**
+     * Recorre el cursor ordenado por producto y emite el ganador de cada uno al cambiar de producto: en memoria
+     * solo está el mejor candidato del producto en curso.
+     */
+    @Override
+    public void forEachBestPrice(Integer brandId, LocalDateTime date, Consumer<Price> action) {
+        try (Stream<Price> prices = jpaRepository.streamApplicablePrices(brandId, date)) {
+            Price best = null;
+            for (Price price : (Iterable<Price>) prices::iterator) {
+                if (best != null && !best.getProductId().equals(price.getProductId())) {
+                    action.accept(best);
+                    best = null;
+                }
+                if (best == null || PriceTimeline.PRECEDENCE.compare(price, best) > 0) {
+                    best = price;
+                }
+            }
+            if (best != null) {
+                action.accept(best);
+            }
+        }
+    }
+
+    public List<Price> findAll() {
+        return jpaRepository.findAllPrices();
+    }
+
+    /**
+     * Solo las tarifas que cumplen el filtro; las demás se descartan según se leen, sin cargar el catálogo entero.
+     */
+    public List<Price> findAll(Predicate<Price> filter) {
+        try (Stream<Price> prices = jpaRepository.streamAllPrices()) {
+            return prices.filter(filter).toList();
+        }
+    }
+
+    /**
+     * Recorre todas las tarifas ordenadas por (brandId, productId, startDate) con un cursor: en memoria solo está
+     * el bloque leído de la BD, así que sirve para volcar la tabla entera.
+     */
+    public void forEachPrice(Consumer<Price> action) {
+        try (Stream<Price> prices = jpaRepository.streamAllPricesOrdered()) {
+            prices.forEach(action);
+        }
+    }
+
+    /**
+     * Las tarifas de una cadena que cumplen el filtro, leídas con un cursor como {@link #findAll(Predicate)}.
+     */
+    public List<Price> findByBrand(Integer brandId, Predicate<Price> filter) {
+        try (Stream<Price> prices = jpaRepository.streamPrices(brandId)) {
+            return prices.filter(filter).toList();
+        }
+    }
+
+    /**
+     * Upsert por (brandId, productId, priceList, startDate): actualiza la fila existente o inserta una nueva.
+     * Las bajas de tarifas inexistentes se ignoran, así que reaplicar un mismo lote es idempotente.
+     * Las tarifas de todos los productos afectados se leen con una sola consulta multi-clave y los cambios se aplican
+     * en orden sobre ellas; las altas, modificaciones y bajas salen en lotes JDBC al confirmar.
+     */
+    @Override
+    @Transactional
+    public Set<PriceKey> apply(List<PriceChange> changes) {
+        Set<PriceKey> keys = new LinkedHashSet<>();
+        changes.forEach(change -> keys.add(change.key()));
+        Map<TariffId, JpaPriceEntity> tariffs = new HashMap<>();
+        for (JpaPriceEntity entity : jpaRepository.findEntities(keys)) {
+            tariffs.put(new TariffId(entity.getBrandId(), entity.getProductId(), entity.getPriceList(), entity.getStartDate()), entity);
+        }
+
+        Set<JpaPriceEntity> upserts = new LinkedHashSet<>();
+        List<JpaPriceEntity> deletes = new ArrayList<>();
+        for (PriceChange change : changes) {
+            Price price = change.getPrice();
+            TariffId id = new TariffId(price.getBrandId(), price.getProductId(), price.getPriceList(), price.getStartDate());
+            if (change.getType() == PriceChange.Type.DELETE) {
+                JpaPriceEntity removed = tariffs.remove(id);
+                if (removed != null) {
+                    upserts.remove(removed);
+                    // Una tarifa dada de alta en este mismo lote todavía no está en BD: basta con no insertarla
+                    if (removed.getId() != null) {
+                        deletes.add(removed);
+                    }
+                }
+            } else {
+                upserts.add(tariffs.computeIfAbsent(id, key -> new JpaPriceEntity()).copyFrom(price));
+            }
+        }
+        jpaRepository.deleteAll(deletes);
+        jpaRepository.saveAll(upserts);
+        return keys;
+    }
+
+    @Value
+    private static class TariffId {
+
+        Integer brandId;
+        Integer productId;
+        Integer priceList;
+        LocalDateTime startDate;
     }
 }
@@ -1,5 +1,6 @@
 package com.practice.priceservice.infrastructure.persistence;
 
+import com.practice.priceservice.domain.Price;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -7,12 +8,30 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "price")
+@Table(name = "price", indexes = @Index(name = "idx_price_lookup",
+        columnList = "brand_id, product_id, start_date, end_date, priority"))
+@SqlResultSetMapping(name = BatchPriceQueriesImpl.RESULT_MAPPING,
+        columns = @ColumnResult(name = "query_index", type = Integer.class),
+        classes = @ConstructorResult(targetClass = Price.class, columns = {
+                @ColumnResult(name = "id", type = Long.class),
+                @ColumnResult(name = "brand_id", type = Integer.class),
+                @ColumnResult(name = "start_date", type = LocalDateTime.class),
+                @ColumnResult(name = "end_date", type = LocalDateTime.class),
+                @ColumnResult(name = "price_list", type = Integer.class),
+                @ColumnResult(name = "product_id", type = Integer.class),
+                @ColumnResult(name = "priority", type = Integer.class),
+                @ColumnResult(name = "price", type = Double.class),
+                @ColumnResult(name = "currency", type = String.class)}))
 @Getter
 @Setter
 public class JpaPriceEntity {
+    /**
+     * Secuencia con reserva de bloques: Hibernate conoce el id sin ejecutar el INSERT, así que puede agrupar
+     * las inserciones en lotes JDBC (con IDENTITY cada fila se inserta sola para leer la clave generada).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "price_seq")
+    @SequenceGenerator(name = "price_seq", sequenceName = "price_seq", allocationSize = 50)
     private Long id;
 
     private Integer brandId;
@@ -23,4 +42,19 @@ public class JpaPriceEntity {
     private Integer priority;
     private Double price;
     private String currency;
+
+    /**
+     * Copia todos los campos de la tarifa salvo el id.
+     */
+    public JpaPriceEntity copyFrom(Price price) {
+        this.brandId = price.getBrandId();
+        this.startDate = price.getStartDate();
+        this.endDate = price.getEndDate();
+        this.priceList = price.getPriceList();
+        this.productId = price.getProductId();
+        this.priority = price.getPriority();
+        this.price = price.getPrice();
+        this.currency = price.getCurrency();
+        return this;
+    }
 }
@@ -1,17 +1,84 @@
 package com.practice.priceservice.infrastructure.persistence;
 
-import com.practice.priceservice.infrastructure.persistence.JpaPriceEntity;
+import com.practice.priceservice.domain.Price;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface JpaPriceRepository extends JpaRepository<JpaPriceEntity, Long> {
+/**
+ * Las consultas de lectura proyectan directamente sobre {@link Price} con una expresión de constructor:
+ * no se hidratan entidades gestionadas, así que no hay copias para dirty-checking ni doble reserva de objetos.
+ */
+public interface JpaPriceRepository extends JpaRepository<JpaPriceEntity, Long>, BatchPriceQueries {
 
-    @Query("SELECT p FROM JpaPriceEntity p WHERE :date BETWEEN p.startDate AND p.endDate AND p.productId = :productId AND p.brandId = :brandId")
-    List<JpaPriceEntity> findApplicablePrices(@Param("date") LocalDateTime date,
-                                              @Param("productId") Integer productId,
-                                              @Param("brandId") Integer brandId);
+    int STREAM_FETCH_SIZE = 1000;
+
+    String PRICE_PROJECTION = "SELECT new com.practice.priceservice.domain.Price(" +
+            "p.id, p.brandId, p.startDate, p.endDate, p.priceList, p.productId, p.priority, p.price, p.currency) " +
+            "FROM JpaPriceEntity p ";
+
+    @Query(PRICE_PROJECTION + "WHERE :date BETWEEN p.startDate AND p.endDate AND p.productId = :productId AND p.brandId = :brandId")
+    List<Price> findApplicablePrices(@Param("date") LocalDateTime date,
+                                     @Param("productId") Integer productId,
+                                     @Param("brandId") Integer brandId);
+
+    @Query(PRICE_PROJECTION + "WHERE p.brandId = :brandId AND p.productId = :productId AND p.startDate <= :date AND p.endDate >= :date " +
+            "ORDER BY p.priority DESC, p.startDate DESC, p.priceList DESC LIMIT 1")
+    Optional<Price> findTopApplicablePrice(@Param("date") LocalDateTime date,
+                                           @Param("productId") Integer productId,
+                                           @Param("brandId") Integer brandId);
+
+    @Query(PRICE_PROJECTION + "WHERE p.brandId = :brandId AND p.productId = :productId")
+    List<Price> findPrices(@Param("productId") Integer productId,
+                           @Param("brandId") Integer brandId);
+
+    @Query(PRICE_PROJECTION + "WHERE p.brandId = :brandId AND p.productId = :productId AND p.startDate <= :to AND p.endDate >= :from")
+    List<Price> findPricesBetween(@Param("productId") Integer productId,
+                                  @Param("brandId") Integer brandId,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    @Query(PRICE_PROJECTION)
+    List<Price> findAllPrices();
+
+    /**
+     * Cursor sobre todas las tarifas, leídas de {@value #STREAM_FETCH_SIZE} en {@value #STREAM_FETCH_SIZE}.
+     * Hay que consumirlo y cerrarlo dentro de una transacción.
+     */
+    @Query(PRICE_PROJECTION)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    Stream<Price> streamAllPrices();
+
+    /**
+     * Cursor sobre todas las tarifas ordenadas por (brandId, productId, startDate), leídas de {@value #STREAM_FETCH_SIZE}
+     * en {@value #STREAM_FETCH_SIZE}. Hay que consumirlo y cerrarlo dentro de una transacción.
+     */
+    @Query(PRICE_PROJECTION + "ORDER BY p.brandId, p.productId, p.startDate")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    Stream<Price> streamAllPricesOrdered();
+
+    /**
+     * Cursor sobre todas las tarifas de una cadena, leídas de {@value #STREAM_FETCH_SIZE} en {@value #STREAM_FETCH_SIZE}.
+     * Hay que consumirlo y cerrarlo dentro de una transacción.
+     */
+    @Query(PRICE_PROJECTION + "WHERE p.brandId = :brandId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    Stream<Price> streamPrices(@Param("brandId") Integer brandId);
+
+    /**
+     * Cursor sobre las tarifas aplicables de toda una cadena, ordenadas por producto y leídas de
+     * {@value #STREAM_FETCH_SIZE} en {@value #STREAM_FETCH_SIZE}. Hay que consumirlo y cerrarlo dentro de una transacción.
+     */
+    @Query(PRICE_PROJECTION + "WHERE p.brandId = :brandId AND p.startDate <= :date AND p.endDate >= :date ORDER BY p.productId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    Stream<Price> streamApplicablePrices(@Param("brandId") Integer brandId,
+                                         @Param("date") LocalDateTime date);
 }
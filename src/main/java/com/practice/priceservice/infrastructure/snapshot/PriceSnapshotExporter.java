@@ -0,0 +1,39 @@
+package com.practice.priceservice.infrastructure.snapshot;
+
+import com.practice.priceservice.infrastructure.persistence.JpaPriceAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Job de exportación: al arrancar con {@code priceservice.snapshot.export-path} vuelca la tabla de precios
+ * al snapshot binario que después carga {@link SnapshotPriceRepository}. Las tarifas se leen con un cursor ordenado
+ * y se escriben según llegan, así que el heap no depende del tamaño de la tabla.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "priceservice.snapshot.export-path")
+public class PriceSnapshotExporter implements ApplicationRunner {
+
+    private final JpaPriceAdapter jpaPriceAdapter;
+    private final Path exportPath;
+
+    public PriceSnapshotExporter(JpaPriceAdapter jpaPriceAdapter,
+                                 @Value("${priceservice.snapshot.export-path}") Path exportPath) {
+        this.jpaPriceAdapter = jpaPriceAdapter;
+        this.exportPath = exportPath;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.nanoTime();
+        int rows = new PriceSnapshotWriter().write(jpaPriceAdapter::forEachPrice, exportPath);
+        log.info("Snapshot de {} precios exportado a {} en {} ms",
+                rows, exportPath, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,24 @@
+package com.practice.priceservice.infrastructure.snapshot;
+
+/**
+ * Formato binario del snapshot de precios (big-endian), ordenado por (brandId, productId, startDate):
+ * <pre>
+ * cabecera: magic int, versión int, filas int, divisas int
+ * divisas:  por cada una, longitud byte + código ASCII
+ * columnas: brandId int[n], productId int[n], inicio long[n], fin long[n], priceList int[n],
+ *           priority int[n], importe long[n] (unidades menores), divisa short[n], id long[n]
+ * </pre>
+ * Las fechas son segundos epoch UTC, como en {@link com.practice.priceservice.domain.CompactPrice}.
+ * Cada columna se mapea por separado y un mapeo no puede pasar de 2 GB, así que la columna más ancha (8 bytes por
+ * fila) limita el snapshot a {@link #MAX_ROWS} filas; el writer rechaza los volcados que lo superan.
+ */
+final class PriceSnapshotFormat {
+
+    static final int MAGIC = 0x50534E50;
+    static final int VERSION = 1;
+    static final int ROW_BYTES = 4 + 4 + 8 + 8 + 4 + 4 + 8 + 2 + 8;
+    static final int MAX_ROWS = Integer.MAX_VALUE / Long.BYTES;
+
+    private PriceSnapshotFormat() {
+    }
+}
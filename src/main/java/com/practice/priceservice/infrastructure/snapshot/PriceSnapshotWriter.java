@@ -0,0 +1,174 @@
+package com.practice.priceservice.infrastructure.snapshot;
+
+import com.practice.priceservice.domain.CompactPrice;
+import com.practice.priceservice.domain.Price;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Escribe un snapshot columnar de precios con el formato de {@link PriceSnapshotFormat}.
+ * Las filas se escriben según llegan, cada columna en su propio fichero temporal, y al final se concatenan tras la
+ * cabecera: la memoria no depende del número de filas. El resultado se escribe primero en un fichero temporal y
+ * se mueve al destino, para que nunca se mapee un snapshot a medias.
+ */
+public class PriceSnapshotWriter {
+
+    private static final Comparator<CompactPrice> ORDER = Comparator.comparingInt(CompactPrice::getBrandId)
+            .thenComparingInt(CompactPrice::getProductId)
+            .thenComparingLong(CompactPrice::getStartEpochSecond);
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Ordena las tarifas en memoria y las escribe. Para volcar una tabla entera, mejor {@link #write(Consumer, Path)}.
+     */
+    public void write(Collection<Price> prices, Path target) throws IOException {
+        List<Price> sorted = new ArrayList<>(prices);
+        sorted.sort(Comparator.comparing(Price::getBrandId)
+                .thenComparing(Price::getProductId)
+                .thenComparing(Price::getStartDate));
+        write(sorted::forEach, target);
+    }
+
+    /**
+     * Escribe las tarifas que {@code source} entrega a su consumidor, que deben llegar ya ordenadas por
+     * (brandId, productId, inicio); una fila fuera de orden o por encima de {@link PriceSnapshotFormat#MAX_ROWS}
+     * aborta la escritura sin tocar el destino.
+     *
+     * @return número de filas escritas
+     */
+    public int write(Consumer<Consumer<Price>> source, Path target) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        int rows;
+        try (Columns columns = new Columns(temp)) {
+            try {
+                source.accept(columns::append);
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            rows = columns.rows;
+            columns.writeTo(temp);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows;
+    }
+
+    /**
+     * Columnas del snapshot en curso, una por fichero temporal junto al destino, en el orden del formato.
+     */
+    private static final class Columns implements Closeable {
+
+        private static final int BRAND = 0;
+        private static final int PRODUCT = 1;
+        private static final int START = 2;
+        private static final int END = 3;
+        private static final int PRICE_LIST = 4;
+        private static final int PRIORITY = 5;
+        private static final int AMOUNT = 6;
+        private static final int CURRENCY = 7;
+        private static final int ID = 8;
+        private static final int COUNT = 9;
+
+        private final Path[] files = new Path[COUNT];
+        private final DataOutputStream[] out = new DataOutputStream[COUNT];
+        private final Map<String, Short> currencies = new LinkedHashMap<>();
+        private CompactPrice previous;
+        private int rows;
+
+        Columns(Path temp) throws IOException {
+            try {
+                for (int column = 0; column < COUNT; column++) {
+                    files[column] = temp.resolveSibling(temp.getFileName() + "." + column);
+                    out[column] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(files[column]), BUFFER_BYTES));
+                }
+            } catch (IOException ex) {
+                close();
+                throw ex;
+            }
+        }
+
+        void append(Price price) {
+            CompactPrice row = CompactPrice.of(price);
+            if (previous != null && ORDER.compare(previous, row) > 0) {
+                throw new IllegalArgumentException("Las tarifas del snapshot deben llegar ordenadas por "
+                        + "(brandId, productId, inicio): " + row.getId() + " llega después de " + previous.getId());
+            }
+            if (rows == PriceSnapshotFormat.MAX_ROWS) {
+                throw new IllegalStateException("Un snapshot admite como mucho " + PriceSnapshotFormat.MAX_ROWS + " filas");
+            }
+            short currency = currencies.computeIfAbsent(row.getCurrency(), code -> (short) currencies.size());
+            try {
+                out[BRAND].writeInt(row.getBrandId());
+                out[PRODUCT].writeInt(row.getProductId());
+                out[START].writeLong(row.getStartEpochSecond());
+                out[END].writeLong(row.getEndEpochSecond());
+                out[PRICE_LIST].writeInt(row.getPriceList());
+                out[PRIORITY].writeInt(row.getPriority());
+                out[AMOUNT].writeLong(row.getAmountMinor());
+                out[CURRENCY].writeShort(currency);
+                out[ID].writeLong(row.getId());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            previous = row;
+            rows++;
+        }
+
+        /**
+         * Escribe la cabecera y el diccionario de divisas, que solo se conocen al final, seguidos de cada columna.
+         */
+        void writeTo(Path target) throws IOException {
+            for (DataOutputStream column : out) {
+                column.flush();
+            }
+            try (OutputStream file = Files.newOutputStream(target);
+                 DataOutputStream snapshot = new DataOutputStream(new BufferedOutputStream(file, BUFFER_BYTES))) {
+                snapshot.writeInt(PriceSnapshotFormat.MAGIC);
+                snapshot.writeInt(PriceSnapshotFormat.VERSION);
+                snapshot.writeInt(rows);
+                snapshot.writeInt(currencies.size());
+                for (String currency : currencies.keySet()) {
+                    byte[] code = currency.getBytes(StandardCharsets.US_ASCII);
+                    snapshot.writeByte(code.length);
+                    snapshot.write(code);
+                }
+                for (Path column : files) {
+                    Files.copy(column, snapshot);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (int column = 0; column < COUNT; column++) {
+                if (out[column] != null) {
+                    out[column].close();
+                }
+                if (files[column] != null) {
+                    Files.deleteIfExists(files[column]);
+                }
+            }
+        }
+    }
+}
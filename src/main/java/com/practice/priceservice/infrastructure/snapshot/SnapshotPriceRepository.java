@@ -0,0 +1,284 @@
+package com.practice.priceservice.infrastructure.snapshot;
+
+import com.practice.priceservice.domain.CompactPrice;
+import com.practice.priceservice.domain.CurrencyCodes;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.domain.PriceSegment;
+import com.practice.priceservice.domain.PriceTimeline;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Implementación de {@link PriceRepository} sobre un snapshot mapeado en memoria (ver {@link PriceSnapshotFormat}).
+ * Los datos no se copian al heap: cada consulta localiza por búsqueda binaria las filas de (brandId, productId)
+ * y solo materializa los {@link Price} que devuelve. El fichero se comparte vía page cache entre procesos.
+ */
+public class SnapshotPriceRepository implements PriceRepository {
+
+    private static final int HEADER_BYTES = 16;
+    private static final int MAX_CURRENCY_BYTES = 0xFF;
+
+    private final int rows;
+    private final short[] currencies;
+    private final IntBuffer brands;
+    private final IntBuffer products;
+    private final LongBuffer starts;
+    private final LongBuffer ends;
+    private final IntBuffer priceLists;
+    private final IntBuffer priorities;
+    private final LongBuffer amounts;
+    private final ShortBuffer currencyIndexes;
+    private final LongBuffer ids;
+
+    /**
+     * Mapea cada columna por separado: así el fichero entero puede pasar de 2 GB, y solo cada columna está limitada
+     * por el tamaño máximo de un mapeo ({@link PriceSnapshotFormat#MAX_ROWS} filas).
+     */
+    public SnapshotPriceRepository(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, HEADER_BYTES));
+            if (header.capacity() < HEADER_BYTES
+                    || header.getInt(0) != PriceSnapshotFormat.MAGIC || header.getInt(4) != PriceSnapshotFormat.VERSION) {
+                throw new IllegalArgumentException("Fichero no reconocido como snapshot de precios: " + path);
+            }
+            this.rows = header.getInt(8);
+            this.currencies = new short[header.getInt(12)];
+            if (rows < 0 || rows > PriceSnapshotFormat.MAX_ROWS || currencies.length > Short.MAX_VALUE + 1) {
+                throw new IllegalArgumentException("Snapshot truncado o corrupto: " + path);
+            }
+
+            ByteBuffer dictionary = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES,
+                    Math.min(size - HEADER_BYTES, (long) currencies.length * (1 + MAX_CURRENCY_BYTES)));
+            int offset = 0;
+            for (int i = 0; i < currencies.length; i++) {
+                byte[] code = new byte[dictionary.get(offset)];
+                dictionary.get(offset + 1, code);
+                currencies[i] = CurrencyCodes.codeOf(new String(code, StandardCharsets.US_ASCII));
+                offset += 1 + code.length;
+            }
+            long brandColumn = HEADER_BYTES + offset;
+            if (brandColumn + (long) rows * PriceSnapshotFormat.ROW_BYTES != size) {
+                throw new IllegalArgumentException("Snapshot truncado o corrupto: " + path);
+            }
+            long productColumn = brandColumn + (long) rows * Integer.BYTES;
+            long startColumn = productColumn + (long) rows * Integer.BYTES;
+            long endColumn = startColumn + (long) rows * Long.BYTES;
+            long priceListColumn = endColumn + (long) rows * Long.BYTES;
+            long priorityColumn = priceListColumn + (long) rows * Integer.BYTES;
+            long amountColumn = priorityColumn + (long) rows * Integer.BYTES;
+            long currencyColumn = amountColumn + (long) rows * Long.BYTES;
+            long idColumn = currencyColumn + (long) rows * Short.BYTES;
+
+            this.brands = map(channel, brandColumn, Integer.BYTES).asIntBuffer();
+            this.products = map(channel, productColumn, Integer.BYTES).asIntBuffer();
+            this.starts = map(channel, startColumn, Long.BYTES).asLongBuffer();
+            this.ends = map(channel, endColumn, Long.BYTES).asLongBuffer();
+            this.priceLists = map(channel, priceListColumn, Integer.BYTES).asIntBuffer();
+            this.priorities = map(channel, priorityColumn, Integer.BYTES).asIntBuffer();
+            this.amounts = map(channel, amountColumn, Long.BYTES).asLongBuffer();
+            this.currencyIndexes = map(channel, currencyColumn, Short.BYTES).asShortBuffer();
+            this.ids = map(channel, idColumn, Long.BYTES).asLongBuffer();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo mapear el snapshot " + path, ex);
+        }
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    @Override
+    public List<Price> findApplicablePrices(LocalDateTime date, Integer productId, Integer brandId) {
+        long instant = encode(date);
+        List<Price> result = new ArrayList<>();
+        for (int row = firstRow(brandId, productId); row < rows && matches(row, brandId, productId); row++) {
+            if (appliesAt(row, instant)) {
+                result.add(priceAt(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Price> findBestPrice(LocalDateTime date, Integer productId, Integer brandId) {
+        long instant = encode(date);
+        int best = -1;
+        for (int row = firstRow(brandId, productId); row < rows && matches(row, brandId, productId); row++) {
+            if (appliesAt(row, instant) && (best < 0 || precedes(row, best))) {
+                best = row;
+            }
+        }
+        return best < 0 ? Optional.empty() : Optional.of(priceAt(best));
+    }
+
+    @Override
+    public Map<PriceQuery, List<Price>> findApplicablePrices(Collection<PriceQuery> queries) {
+        Map<PriceQuery, List<Price>> result = new HashMap<>();
+        for (PriceQuery query : queries) {
+            List<Price> applicable = findApplicablePrices(query.getDate(), query.getProductId(), query.getBrandId());
+            if (!applicable.isEmpty()) {
+                result.put(query, applicable);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Price> findPrices(Integer productId, Integer brandId) {
+        List<Price> result = new ArrayList<>();
+        for (int row = firstRow(brandId, productId); row < rows && matches(row, brandId, productId); row++) {
+            result.add(priceAt(row));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<PriceKey, List<Price>> findPrices(Collection<PriceKey> keys) {
+        Map<PriceKey, List<Price>> result = new HashMap<>();
+        for (PriceKey key : keys) {
+            List<Price> prices = findPrices(key.getProductId(), key.getBrandId());
+            if (!prices.isEmpty()) {
+                result.put(key, prices);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<PriceSegment> findTimeline(Integer productId, Integer brandId, LocalDateTime from, LocalDateTime to) {
+        long lower = encode(from);
+        long upper = encode(to);
+        List<Price> overlapping = new ArrayList<>();
+        for (int row = firstRow(brandId, productId); row < rows && matches(row, brandId, productId); row++) {
+            if (2 * start(row) <= upper && lower <= 2 * ends.get(row)) {
+                overlapping.add(priceAt(row));
+            }
+        }
+        return PriceTimeline.of(overlapping).segmentsBetween(from, to);
+    }
+
+    /**
+     * Las filas de una cadena son contiguas y están ordenadas por producto, así que basta un recorrido secuencial.
+     */
+    @Override
+    public void forEachBestPrice(Integer brandId, LocalDateTime date, Consumer<Price> action) {
+        long instant = encode(date);
+        int best = -1;
+        int row = firstRow(brandId, Integer.MIN_VALUE);
+        for (; row < rows && brands.get(row) == brandId; row++) {
+            if (best >= 0 && !matches(row, brandId, products.get(best))) {
+                action.accept(priceAt(best));
+                best = -1;
+            }
+            if (appliesAt(row, instant) && (best < 0 || precedes(row, best))) {
+                best = row;
+            }
+        }
+        if (best >= 0) {
+            action.accept(priceAt(best));
+        }
+    }
+
+    /**
+     * Primera fila con clave mayor o igual que (brandId, productId).
+     */
+    private int firstRow(int brandId, int productId) {
+        int low = 0;
+        int high = rows;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int brand = brands.get(mid);
+            int product = products.get(mid);
+            if (brand < brandId || (brand == brandId && product < productId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean matches(int row, int brandId, int productId) {
+        return brands.get(row) == brandId
+                && products.get(row) == productId;
+    }
+
+    /**
+     * Las fechas del snapshot son segundos enteros: se comparan en el doble del segundo epoch, sumando uno si
+     * la fecha consultada tiene fracción, para respetar el BETWEEN inclusivo de la consulta JPA.
+     */
+    private boolean appliesAt(int row, long instant) {
+        return 2 * start(row) <= instant && instant <= 2 * ends.get(row);
+    }
+
+    /**
+     * Misma precedencia que {@link com.practice.priceservice.domain.PriceTimeline#PRECEDENCE}.
+     */
+    private boolean precedes(int row, int other) {
+        int byPriority = Integer.compare(priority(row), priority(other));
+        if (byPriority != 0) {
+            return byPriority > 0;
+        }
+        int byStart = Long.compare(start(row), start(other));
+        if (byStart != 0) {
+            return byStart > 0;
+        }
+        return priceList(row) > priceList(other);
+    }
+
+    private long start(int row) {
+        return starts.get(row);
+    }
+
+    private int priority(int row) {
+        return priorities.get(row);
+    }
+
+    private int priceList(int row) {
+        return priceLists.get(row);
+    }
+
+    private Price priceAt(int row) {
+        return new CompactPrice(
+                ids.get(row),
+                brands.get(row),
+                products.get(row),
+                priceList(row),
+                priority(row),
+                start(row),
+                ends.get(row),
+                amounts.get(row),
+                currencies[currencyIndexes.get(row)])
+                .toPrice();
+    }
+
+    private MappedByteBuffer map(FileChannel channel, long position, int width) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, (long) rows * width);
+    }
+
+    private static long encode(LocalDateTime date) {
+        return 2 * CompactPrice.toEpochSecond(date) + (date.getNano() > 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.practice.priceservice.infrastructure.warmup;
+
+import com.practice.priceservice.domain.PriceKey;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lee las claves (cadena, producto) más frecuentes de un fichero de texto. Cada línea puede ser
+ * {@code brandId,productId} o una línea de access log con los parámetros {@code productId=} y {@code brandId=}
+ * (por ejemplo el de Tomcat de la ejecución anterior). Las líneas vacías, los comentarios ({@code #}) y las que no
+ * tienen clave se ignoran.
+ */
+final class HotKeys {
+
+    private static final Pattern CSV_LINE = Pattern.compile("\\s*(\\d+)\\s*,\\s*(\\d+)\\s*");
+    private static final Pattern BRAND_PARAM = Pattern.compile("[?&]brandId=(\\d+)");
+    private static final Pattern PRODUCT_PARAM = Pattern.compile("[?&]productId=(\\d+)");
+
+    private HotKeys() {
+    }
+
+    /**
+     * Las {@code maxKeys} claves con más apariciones, de más a menos frecuente.
+     */
+    static List<PriceKey> read(Path file, int maxKeys) throws IOException {
+        return read(file, maxKeys, key -> true);
+    }
+
+    /**
+     * Las {@code maxKeys} claves más frecuentes entre las que cumplen el filtro; las demás no cuentan para el límite.
+     */
+    static List<PriceKey> read(Path file, int maxKeys, Predicate<PriceKey> filter) throws IOException {
+        Map<PriceKey, Integer> occurrences = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                parse(line).filter(filter).ifPresent(key -> occurrences.merge(key, 1, Integer::sum));
+            }
+        }
+        return occurrences.entrySet().stream()
+                .sorted(Map.Entry.<PriceKey, Integer>comparingByValue().reversed())
+                .limit(maxKeys)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    static Optional<PriceKey> parse(String line) {
+        if (line.isBlank() || line.startsWith("#")) {
+            return Optional.empty();
+        }
+        try {
+            Matcher csv = CSV_LINE.matcher(line);
+            if (csv.matches()) {
+                return Optional.of(new PriceKey(Integer.valueOf(csv.group(1)), Integer.valueOf(csv.group(2))));
+            }
+            Matcher brand = BRAND_PARAM.matcher(line);
+            Matcher product = PRODUCT_PARAM.matcher(line);
+            if (brand.find() && product.find()) {
+                return Optional.of(new PriceKey(Integer.valueOf(brand.group(1)), Integer.valueOf(product.group(1))));
+            }
+        } catch (NumberFormatException ex) {
+            // Identificador fuera del rango de int: no puede ser una clave válida
+        }
+        return Optional.empty();
+    }
+}
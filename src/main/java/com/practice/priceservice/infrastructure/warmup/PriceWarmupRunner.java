@@ -0,0 +1,124 @@
+package com.practice.priceservice.infrastructure.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.priceservice.application.PriceService;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceSegment;
+import com.practice.priceservice.infrastructure.cluster.PriceClusterRouter;
+import com.practice.priceservice.infrastructure.web.mapper.PriceMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Calentamiento al arrancar con {@code priceservice.warmup.keys-path}: consulta {@code iterations} veces las claves
+ * más frecuentes del fichero ({@link HotKeys}) por {@link PriceService}, como búsqueda puntual y en lotes, y mapea y
+ * serializa cada resultado igual que el endpoint. Así la caché queda cargada y Hibernate, el mapper y Jackson llegan
+ * compilados por el JIT al primer usuario. En un cluster solo se calientan las claves de este nodo: las demás
+ * se redirigen a su dueño y nunca llegan a esta caché.
+ * <p>
+ * Spring Boot publica {@code ReadinessState.ACCEPTING_TRAFFIC} después de los {@link ApplicationRunner}, así que
+ * {@code /actuator/health/readiness} responde OUT_OF_SERVICE hasta que termina. Se corta al superar
+ * {@code timeout}, y un fallo solo se registra: el calentamiento nunca impide arrancar.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "priceservice.warmup.keys-path")
+public class PriceWarmupRunner implements ApplicationRunner {
+
+    static final int BATCH_SIZE = 100;
+
+    private final PriceService priceService;
+    private final PriceMapper priceMapper;
+    private final ObjectMapper objectMapper;
+    private final Path keysPath;
+    private final int maxKeys;
+    private final int iterations;
+    private final Duration timeout;
+    private final ObjectProvider<PriceClusterRouter> clusterRouter;
+
+    public PriceWarmupRunner(PriceService priceService,
+                             PriceMapper priceMapper,
+                             ObjectMapper objectMapper,
+                             ObjectProvider<PriceClusterRouter> clusterRouter,
+                             @Value("${priceservice.warmup.keys-path}") Path keysPath,
+                             @Value("${priceservice.warmup.max-keys:1000}") int maxKeys,
+                             @Value("${priceservice.warmup.iterations:20}") int iterations,
+                             @Value("${priceservice.warmup.timeout:60s}") Duration timeout) {
+        this.priceService = priceService;
+        this.priceMapper = priceMapper;
+        this.objectMapper = objectMapper;
+        this.keysPath = keysPath;
+        this.maxKeys = maxKeys;
+        this.iterations = iterations;
+        this.timeout = timeout;
+        this.clusterRouter = clusterRouter;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        PriceClusterRouter router = clusterRouter.getIfAvailable();
+        List<PriceKey> keys;
+        try {
+            keys = HotKeys.read(keysPath, maxKeys,
+                    key -> router == null || router.owns(key.getBrandId(), key.getProductId()));
+        } catch (IOException ex) {
+            log.warn("No se pudo leer el fichero de claves calientes {}: se arranca sin calentar", keysPath, ex);
+            return;
+        }
+
+        int completed = 0;
+        int found = 0;
+        try {
+            while (completed < iterations && System.nanoTime() < deadline) {
+                found = warmUp(keys, LocalDateTime.now());
+                completed++;
+            }
+        } catch (RuntimeException | JsonProcessingException ex) {
+            log.warn("Calentamiento interrumpido tras {} iteraciones", completed, ex);
+        }
+        log.info("Calentamiento terminado: {} claves de {}, {} con precio vigente, {} de {} iteraciones en {} ms",
+                keys.size(), keysPath, found, completed, iterations, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * Una pasada por todas las claves; devuelve cuántas tienen precio en {@code date}.
+     */
+    int warmUp(List<PriceKey> keys, LocalDateTime date) throws JsonProcessingException {
+        int found = 0;
+        for (PriceKey key : keys) {
+            Optional<PriceSegment> segment = priceService.getEffectivePrice(date, key.getProductId(), key.getBrandId());
+            if (segment.isPresent()) {
+                objectMapper.writeValueAsBytes(priceMapper.toResponse(segment.get().getPrice()));
+                found++;
+            }
+        }
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            List<PriceQuery> queries = keys.subList(from, Math.min(from + BATCH_SIZE, keys.size())).stream()
+                    .map(key -> new PriceQuery(date, key.getProductId(), key.getBrandId()))
+                    .toList();
+            for (Optional<Price> price : priceService.getBestPrices(queries)) {
+                if (price.isPresent()) {
+                    objectMapper.writeValueAsBytes(priceMapper.toResponse(price.get()));
+                }
+            }
+        }
+        return found;
+    }
+}
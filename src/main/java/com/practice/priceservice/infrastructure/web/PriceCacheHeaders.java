@@ -0,0 +1,60 @@
+package com.practice.priceservice.infrastructure.web;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceSegment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Validador y Cache-Control de la respuesta de precio, calculados a partir del tramo ganador sin pasar por el mapper.
+ * <ul>
+ *   <li>ETag fuerte: id de la tarifa ganadora más un hash de todos los campos que se serializan, así que cambia
+ *   si la fila se modifica (por ejemplo con la ingesta incremental). No hay Last-Modified: la tabla no guarda cuándo
+ *   se modificó cada fila, y el inicio del tramo no cambia cuando la ingesta reescribe la tarifa. Termina con el
+ *   subtipo de la representación negociada ({@code json}, {@code cbor}): un validador fuerte tiene que distinguir
+ *   representaciones con bytes distintos.</li>
+ *   <li>max-age: tiempo que queda hasta el fin del tramo, acotado por {@code priceservice.http.max-age-limit};
+ *   los tramos ya cerrados no cambian con el tiempo y usan directamente ese límite.</li>
+ * </ul>
+ * Las fechas de las tarifas son locales y se interpretan en la zona horaria del servidor.
+ */
+@Component
+public class PriceCacheHeaders {
+
+    private final Duration maxAgeLimit;
+    private final Clock clock;
+
+    @Autowired
+    public PriceCacheHeaders(@Value("${priceservice.http.max-age-limit:1h}") Duration maxAgeLimit) {
+        this(maxAgeLimit, Clock.systemDefaultZone());
+    }
+
+    PriceCacheHeaders(Duration maxAgeLimit, Clock clock) {
+        this.maxAgeLimit = maxAgeLimit;
+        this.clock = clock;
+    }
+
+    public String eTag(Price price, MediaType representation) {
+        int version = Objects.hash(price.getBrandId(), price.getProductId(), price.getPriceList(),
+                price.getStartDate(), price.getEndDate(), price.getPrice(), price.getCurrency());
+        return "\"" + price.getId() + "-" + Integer.toHexString(version) + "-" + representation.getSubtype() + "\"";
+    }
+
+    public CacheControl cacheControl(PriceSegment segment) {
+        Duration remaining = Duration.ofMillis(toEpochMilli(segment.getEndDate()) - clock.millis());
+        Duration maxAge = remaining.isNegative() || remaining.compareTo(maxAgeLimit) > 0 ? maxAgeLimit : remaining;
+        return CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    private long toEpochMilli(LocalDateTime date) {
+        return date.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
@@ -1,40 +1,193 @@
 package com.practice.priceservice.infrastructure.web;
 
 import com.practice.priceservice.application.PriceService;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceSegment;
+import com.practice.priceservice.infrastructure.cluster.PriceClusterRouter;
+import com.practice.priceservice.infrastructure.metrics.PriceMetrics;
+import com.practice.priceservice.infrastructure.web.dto.PriceBatchRequest;
+import com.practice.priceservice.infrastructure.web.dto.PriceBatchResponse;
 import com.practice.priceservice.infrastructure.web.dto.PriceResponse;
+import com.practice.priceservice.infrastructure.web.dto.PriceSegmentResponse;
+import com.practice.priceservice.infrastructure.web.dto.PriceTimelineResponse;
 import com.practice.priceservice.infrastructure.web.mapper.PriceMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import org.springframework.validation.annotation.Validated;
 
 @RestController
 @RequestMapping("/api/prices")
 @Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PriceController {
 
+    static final int MAX_BATCH_SIZE = 500;
+
+    // Representaciones de PriceResponse, en el orden de los conversores: con Accept */* gana JSON
+    private static final List<MediaType> REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+
     private final PriceService priceService;
     private final PriceMapper priceMapper;
+    private final PriceMetrics priceMetrics;
+    private final PriceCacheHeaders priceCacheHeaders;
+    private final ObjectProvider<PriceClusterRouter> clusterRouter;
+    private final ContentNegotiationManager contentNegotiationManager;
 
-    public PriceController(PriceService priceService, PriceMapper priceMapper) {
+    public PriceController(PriceService priceService, PriceMapper priceMapper, PriceMetrics priceMetrics,
+                           PriceCacheHeaders priceCacheHeaders, ObjectProvider<PriceClusterRouter> clusterRouter,
+                           ContentNegotiationManager contentNegotiationManager) {
         this.priceService = priceService;
         this.priceMapper = priceMapper;
+        this.priceMetrics = priceMetrics;
+        this.priceCacheHeaders = priceCacheHeaders;
+        this.clusterRouter = clusterRouter;
+        this.contentNegotiationManager = contentNegotiationManager;
     }
 
+    /**
+     * GET condicional: con un If-None-Match vigente responde 304 sin mapear ni serializar.
+     * La respuesta puede ser JSON o CBOR según Accept, así que lleva {@code Vary: Accept} para que las cachés
+     * guarden cada representación por separado, y un ETag distinto por representación. En un cluster, las claves de
+     * otro nodo se redirigen a su dueño.
+     */
     @GetMapping
     public ResponseEntity<PriceResponse> getPrice(
             @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date,
             @RequestParam @NotNull @Positive Integer productId,
-            @RequestParam @NotNull @Positive Integer brandId) {
+            @RequestParam @NotNull @Positive Integer brandId,
+            NativeWebRequest webRequest,
+            HttpServletRequest request) throws HttpMediaTypeNotAcceptableException {
+
+        Optional<URI> owner = ownerLocation(brandId, productId, request);
+        if (owner.isPresent()) {
+            return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).location(owner.get()).build();
+        }
+        Optional<PriceSegment> segment = priceService.getEffectivePrice(date, productId, brandId);
+        priceMetrics.recordLookup(segment.isPresent());
+        if (segment.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Price price = segment.get().getPrice();
+        String eTag = priceCacheHeaders.eTag(price, representation(webRequest));
+        CacheControl cacheControl = priceCacheHeaders.cacheControl(segment.get());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(toResponse(price));
+    }
+
+    /**
+     * Línea temporal resuelta del producto entre from y to (ambos inclusivos), en una consulta y un barrido,
+     * para quien necesita el precio de todo un día o semana sin muestrear el endpoint puntual.
+     */
+    @GetMapping("/timeline")
+    public ResponseEntity<PriceTimelineResponse> getTimeline(
+            @RequestParam @NotNull @Positive Integer productId,
+            @RequestParam @NotNull @Positive Integer brandId,
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletRequest request) {
+
+        Optional<URI> owner = ownerLocation(brandId, productId, request);
+        if (owner.isPresent()) {
+            return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).location(owner.get()).build();
+        }
+        if (from.isAfter(to)) {
+            priceMetrics.recordValidationFailure("invalid_window");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from no puede ser posterior a to");
+        }
+        List<PriceSegmentResponse> segments = priceService.getTimeline(productId, brandId, from, to).stream()
+                .map(segment -> priceMetrics.timeMapping(() -> priceMapper.toSegmentResponse(segment)))
+                .toList();
+        return ResponseEntity.ok(new PriceTimelineResponse(productId, brandId, from, to, segments));
+    }
+
+    /**
+     * En un cluster, las consultas de otros nodos se reenvían a su dueño salvo que el lote ya venga reenviado.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<PriceBatchResponse>> getPrices(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull @Valid PriceBatchRequest> requests,
+            @RequestHeader(name = PriceClusterRouter.FORWARDED_HEADER, required = false) String forwardedBy) {
+
+        PriceClusterRouter router = forwardedBy == null ? clusterRouter.getIfAvailable() : null;
+        return ResponseEntity.ok(router == null ? resolve(requests) : router.resolve(requests, this::resolve));
+    }
+
+    private List<PriceBatchResponse> resolve(List<PriceBatchRequest> requests) {
+        List<PriceQuery> queries = requests.stream()
+                .map(request -> new PriceQuery(request.getDate(), request.getProductId(), request.getBrandId()))
+                .toList();
+        List<Optional<Price>> prices = priceService.getBestPrices(queries);
+
+        List<PriceBatchResponse> responses = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            PriceQuery query = queries.get(i);
+            priceMetrics.recordLookup(prices.get(i).isPresent());
+            responses.add(new PriceBatchResponse(
+                    query.getDate(),
+                    query.getProductId(),
+                    query.getBrandId(),
+                    prices.get(i).map(this::toResponse).orElse(null)));
+        }
+        return responses;
+    }
+
+    /**
+     * Representación que elegirá la negociación de contenido al escribir la respuesta, con sus mismas reglas: la
+     * aceptable más específica y de más calidad. Se necesita antes, para el ETag y el 304. Si ninguna es aceptable
+     * se devuelve JSON y la negociación responde 406 después.
+     */
+    private MediaType representation(NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+            for (MediaType representation : REPRESENTATIONS) {
+                if (accepted.isCompatibleWith(representation)) {
+                    compatible.add(representation.copyQualityValue(accepted));
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        return compatible.isEmpty() ? MediaType.APPLICATION_JSON : compatible.get(0).removeQualityValue();
+    }
+
+    private Optional<URI> ownerLocation(Integer brandId, Integer productId, HttpServletRequest request) {
+        PriceClusterRouter router = clusterRouter.getIfAvailable();
+        return router == null ? Optional.empty() : router.ownerLocation(brandId, productId, request);
+    }
 
-        return priceService.getBestPrice(date, productId, brandId)
-                .map(priceMapper::toResponse)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    private PriceResponse toResponse(Price price) {
+        return priceMetrics.timeMapping(() -> priceMapper.toResponse(price));
     }
 }
@@ -0,0 +1,139 @@
+package com.practice.priceservice.infrastructure.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.practice.priceservice.application.PriceService;
+import com.practice.priceservice.infrastructure.cluster.PriceClusterRouter;
+import com.practice.priceservice.infrastructure.web.dto.PriceResponse;
+import com.practice.priceservice.infrastructure.web.mapper.PriceMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Volcado de los precios vigentes en una fecha de todos los productos de una cadena, en NDJSON (una
+ * {@link PriceResponse} por línea) o CSV. Se escribe directamente en la respuesta a medida que el repositorio
+ * resuelve cada producto, así que la memoria no depende del tamaño del catálogo.
+ * <p>
+ * En un cluster cada nodo vuelca solo los productos de los que es dueño y añade detrás la parte de cada uno de los
+ * demás nodos ({@link PriceClusterRouter#forEachRemotePart}): el volcado está completo, ordenado por producto dentro
+ * de la parte de cada nodo.
+ */
+@RestController
+@RequestMapping("/api/prices")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PriceExportController {
+
+    static final String CSV_HEADER = "productId,brandId,priceList,startDate,endDate,price,currency";
+
+    // El mismo formato que Jackson en NDJSON: siempre con segundos, también cuando son :00
+    private static final DateTimeFormatter CSV_DATE = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+    }
+
+    private final PriceService priceService;
+    private final PriceMapper priceMapper;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectProvider<PriceClusterRouter> clusterRouter;
+
+    public PriceExportController(PriceService priceService, PriceMapper priceMapper, ObjectMapper objectMapper,
+                                 ObjectProvider<PriceClusterRouter> clusterRouter) {
+        this.priceService = priceService;
+        this.priceMapper = priceMapper;
+        this.clusterRouter = clusterRouter;
+        // Sin cerrar ni vaciar la respuesta en cada línea: el búfer se vacía al terminar o al llenarse
+        this.ndjsonWriter = objectMapper.writerFor(PriceResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    @GetMapping("/export")
+    public void export(
+            @RequestParam @NotNull @Positive Integer brandId,
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date,
+            @RequestParam(defaultValue = "NDJSON") Format format,
+            @RequestHeader(name = PriceClusterRouter.FORWARDED_HEADER, required = false) String forwardedBy,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        PriceClusterRouter router = clusterRouter.getIfAvailable();
+        response.setContentType(format.contentType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), 1 << 16)) {
+            if (format == Format.CSV) {
+                out.write(CSV_HEADER);
+                out.write('\n');
+            }
+            priceService.forEachBestPrice(brandId, date, price -> {
+                if (router != null && !router.owns(price.getBrandId(), price.getProductId())) {
+                    return;
+                }
+                try {
+                    PriceResponse row = priceMapper.toResponse(price);
+                    if (format == Format.CSV) {
+                        writeCsv(row, out);
+                    } else {
+                        ndjsonWriter.writeValue(out, row);
+                    }
+                    out.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            if (router != null && forwardedBy == null) {
+                router.forEachRemotePart(request, body -> appendRemotePart(body, format, out));
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Copia la parte de otro nodo, que ya viene en el mismo formato, sin repetir la cabecera CSV.
+     */
+    private static void appendRemotePart(InputStream body, Format format, Writer out) throws IOException {
+        BufferedReader part = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            part.readLine();
+        }
+        part.transferTo(out);
+    }
+
+    private static void writeCsv(PriceResponse row, Writer out) throws IOException {
+        out.write(row.getProductId() + "," + row.getBrandId() + "," + row.getPriceList() + ","
+                + CSV_DATE.format(row.getStartDate()) + "," + CSV_DATE.format(row.getEndDate()) + "," + row.getPrice() + "," + row.getCurrency());
+    }
+}
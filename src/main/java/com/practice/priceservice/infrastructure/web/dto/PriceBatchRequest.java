@@ -0,0 +1,27 @@
+package com.practice.priceservice.infrastructure.web.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PriceBatchRequest {
+
+    @NotNull
+    private LocalDateTime date;
+    @NotNull
+    @Positive
+    private Integer productId;
+    @NotNull
+    @Positive
+    private Integer brandId;
+
+}
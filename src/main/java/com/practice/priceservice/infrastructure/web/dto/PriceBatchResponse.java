@@ -0,0 +1,20 @@
+package com.practice.priceservice.infrastructure.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de una consulta del lote. {@code price} es null cuando no hay precio aplicable.
+ */
+@AllArgsConstructor
+@Getter
+public class PriceBatchResponse {
+
+    private LocalDateTime date;
+    private Integer productId;
+    private Integer brandId;
+    private PriceResponse price;
+
+}
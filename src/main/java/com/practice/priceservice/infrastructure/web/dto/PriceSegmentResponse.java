@@ -0,0 +1,23 @@
+package com.practice.priceservice.infrastructure.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tramo de la línea temporal con su tarifa ganadora: inicio y fin inclusivos, [startDate, endDate], igual que las
+ * tarifas. Un tramo que sigue al fin de una tarifa empieza un nanosegundo después de ese fin, y el que acaba justo
+ * antes del inicio de otra tarifa termina un nanosegundo antes de ese inicio.
+ */
+@AllArgsConstructor
+@Getter
+public class PriceSegmentResponse {
+
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Integer priceList;
+    private Double price;
+    private String currency;
+
+}
@@ -0,0 +1,22 @@
+package com.practice.priceservice.infrastructure.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Línea temporal de un producto en la ventana [from, to]. Los huecos sin tarifa no aparecen en {@code segments}.
+ */
+@AllArgsConstructor
+@Getter
+public class PriceTimelineResponse {
+
+    private Integer productId;
+    private Integer brandId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<PriceSegmentResponse> segments;
+
+}
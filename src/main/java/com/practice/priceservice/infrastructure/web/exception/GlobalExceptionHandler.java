@@ -1,23 +1,45 @@
 package com.practice.priceservice.infrastructure.web.exception;
 
+import com.practice.priceservice.infrastructure.metrics.PriceMetrics;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.MissingRequestValueException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final PriceMetrics priceMetrics;
+
+    public GlobalExceptionHandler(PriceMetrics priceMetrics) {
+        this.priceMetrics = priceMetrics;
+    }
+
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<String> handleMissingParam(MissingServletRequestParameterException ex) {
+        priceMetrics.recordValidationFailure("missing_parameter");
         String name = ex.getParameterName();
         return ResponseEntity.badRequest().body("Falta el parámetro obligatorio: " + name);
     }
 
+    @ExceptionHandler(MissingRequestValueException.class)
+    public ResponseEntity<String> handleMissingValue(MissingRequestValueException ex) {
+        priceMetrics.recordValidationFailure("missing_parameter");
+        return ResponseEntity.badRequest().body("Falta el parámetro obligatorio: " + ex.getName());
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<String> handleConstraintViolation(ConstraintViolationException ex) {
+        priceMetrics.recordValidationFailure("constraint_violation");
         return ResponseEntity.badRequest().body("Error de validación: " + ex.getMessage());
     }
-}
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<String> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        priceMetrics.recordValidationFailure("type_mismatch");
+        return ResponseEntity.badRequest().body("Valor inválido para el parámetro: " + ex.getName());
+    }
+}
@@ -1,10 +1,22 @@
 package com.practice.priceservice.infrastructure.web.mapper;
 
 import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceSegment;
 import com.practice.priceservice.infrastructure.web.dto.PriceResponse;
+import com.practice.priceservice.infrastructure.web.dto.PriceSegmentResponse;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface PriceMapper {
     PriceResponse toResponse(Price price);
+
+    /**
+     * Los tramos internos son [startDate, endDate); la API devuelve el fin inclusivo, como el endDate de las tarifas.
+     */
+    @Mapping(target = "endDate", expression = "java(segment.getEndDate().minusNanos(1))")
+    @Mapping(target = "priceList", source = "price.priceList")
+    @Mapping(target = "price", source = "price.price")
+    @Mapping(target = "currency", source = "price.currency")
+    PriceSegmentResponse toSegmentResponse(PriceSegment segment);
 }
@@ -0,0 +1,101 @@
+package com.practice.priceservice.infrastructure.web;
+
+import com.practice.priceservice.application.ReactivePriceService;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.infrastructure.metrics.PriceMetrics;
+import com.practice.priceservice.infrastructure.web.dto.PriceResponse;
+import com.practice.priceservice.infrastructure.web.mapper.PriceMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ReactivePriceController usando @WebFluxTest.
+ * Solo se prueba la capa de controller, mockeando las dependencias.
+ */
+@WebFluxTest(ReactivePriceController.class)
+@Import({PriceMetrics.class, SimpleMeterRegistry.class})
+@DisplayName("Unit Tests - ReactivePriceController")
+class ReactivePriceControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactivePriceService priceService;
+
+    @MockitoBean
+    private PriceMapper priceMapper;
+
+    @Test
+    @DisplayName("Cuando se encuentra precio aplicable, debe retornar 200 OK con los datos del precio")
+    void givenPriceExists_whenGetPrice_thenReturnsOkWithPriceData() {
+        // Given
+        LocalDateTime testDate = LocalDateTime.of(2024, 6, 14, 10, 0, 0);
+        Price price = new Price(1L, 1, LocalDateTime.of(2024, 6, 14, 0, 0, 0), LocalDateTime.of(2024, 12, 31, 23, 59, 59),
+                1, 35455, 0, 35.50, "EUR");
+        PriceResponse priceResponse = new PriceResponse(35455, 1, 1, LocalDateTime.of(2024, 6, 14, 0, 0, 0),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59), 35.50, "EUR");
+        when(priceService.getBestPrice(testDate, 35455, 1)).thenReturn(Mono.just(price));
+        when(priceMapper.toResponse(price)).thenReturn(priceResponse);
+
+        // When / Then
+        webTestClient.get()
+                .uri("/api/prices?date=2024-06-14T10:00:00&productId=35455&brandId=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.productId").isEqualTo(35455)
+                .jsonPath("$.priceList").isEqualTo(1)
+                .jsonPath("$.price").isEqualTo(35.50)
+                .jsonPath("$.currency").isEqualTo("EUR");
+    }
+
+    @Test
+    @DisplayName("Cuando no se encuentra precio aplicable, debe retornar 404 Not Found sin llamar al mapper")
+    void givenPriceNotFound_whenGetPrice_thenReturnsNotFound() {
+        // Given
+        when(priceService.getBestPrice(any(), any(), any())).thenReturn(Mono.empty());
+
+        // When / Then
+        webTestClient.get()
+                .uri("/api/prices?date=2024-06-14T10:00:00&productId=35455&brandId=1")
+                .exchange()
+                .expectStatus().isNotFound();
+        verifyNoInteractions(priceMapper);
+    }
+
+    @Test
+    @DisplayName("Cuando falta un parámetro obligatorio, debe retornar 400 Bad Request")
+    void givenMissingParameter_whenGetPrice_thenReturnsBadRequest() {
+        webTestClient.get()
+                .uri("/api/prices?date=2024-06-14T10:00:00&productId=35455")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Falta el parámetro obligatorio: brandId");
+        verifyNoInteractions(priceService);
+    }
+
+    @Test
+    @DisplayName("Cuando productId no es un número positivo, debe retornar 400 Bad Request")
+    void givenInvalidProductId_whenGetPrice_thenReturnsBadRequest() {
+        webTestClient.get()
+                .uri("/api/prices?date=2024-06-14T10:00:00&productId=-1&brandId=1")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(priceService);
+    }
+}
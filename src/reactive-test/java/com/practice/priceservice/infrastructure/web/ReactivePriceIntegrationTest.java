@@ -0,0 +1,57 @@
+package com.practice.priceservice.infrastructure.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Tests de integración de la pila reactiva (perfil reactive): WebFlux sobre Netty -> R2DBC -> BD H2,
+ * sin mocks, con los datos de import.sql. Usa su propia BD para no compartirla con el contexto servlet.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive"
+})
+@ActiveProfiles("reactive")
+@DisplayName("Integration Tests - Reactive Price API Scenarios")
+class ReactivePriceIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @ParameterizedTest(name = "{0} -> tarifa {1}, precio {2}")
+    @CsvSource({
+            "2020-06-14T10:00:00, 1, 35.50",
+            "2020-06-14T16:00:00, 2, 25.45",
+            "2020-06-14T21:00:00, 1, 35.50",
+            "2020-06-15T10:00:00, 3, 30.50",
+            "2020-06-16T21:00:00, 4, 38.95"
+    })
+    @DisplayName("Los 5 escenarios del enunciado devuelven la misma tarifa que la pila servlet")
+    void givenScenarioDate_whenGetPrice_thenReturnsExpectedPriceList(String date, int priceList, double price) {
+        webTestClient.get()
+                .uri("/api/prices?date={date}&productId=35455&brandId=1", date)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.productId").isEqualTo(35455)
+                .jsonPath("$.brandId").isEqualTo(1)
+                .jsonPath("$.priceList").isEqualTo(priceList)
+                .jsonPath("$.price").isEqualTo(price)
+                .jsonPath("$.currency").isEqualTo("EUR");
+    }
+
+    @Test
+    @DisplayName("Fuera de cualquier tarifa debe devolver 404 Not Found")
+    void givenDateOutsideAnyPrice_whenGetPrice_thenReturnsNotFound() {
+        webTestClient.get()
+                .uri("/api/prices?date=2019-01-01T10:00:00&productId=35455&brandId=1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,20 @@
+package com.practice.priceservice.application;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.ReactivePriceRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public class ReactivePriceService {
+
+    private final ReactivePriceRepository priceRepository;
+
+    public ReactivePriceService(ReactivePriceRepository priceRepository) {
+        this.priceRepository = priceRepository;
+    }
+
+    public Mono<Price> getBestPrice(LocalDateTime date, Integer productId, Integer brandId) {
+        return priceRepository.findBestPrice(date, productId, brandId);
+    }
+}
@@ -0,0 +1,47 @@
+package com.practice.priceservice.config;
+
+import com.practice.priceservice.application.ReactivePriceService;
+import com.practice.priceservice.domain.ReactivePriceRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * Beans de la pila reactiva, que solo se compila con el perfil Maven {@code reactive}.
+ * <p>
+ * Con R2DBC en el classpath Spring Boot cede ante el ConnectionFactory reactivo: deja de autoconfigurar el DataSource
+ * JDBC y, como el gestor de transacciones de R2DBC también es un {@code TransactionManager}, el de JPA. Los dos se
+ * declaran aquí con las mismas propiedades; el de JPA es el principal porque solo JPA usa {@code @Transactional}.
+ */
+@Configuration
+public class ReactiveConfig {
+
+    @Bean
+    public ReactivePriceService reactivePriceService(ReactivePriceRepository reactivePriceRepository) {
+        return new ReactivePriceService(reactivePriceRepository);
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
@@ -0,0 +1,16 @@
+package com.practice.priceservice.domain;
+
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Variante no bloqueante de {@link PriceRepository} para la pila reactiva.
+ */
+public interface ReactivePriceRepository {
+
+    /**
+     * Tarifa ganadora según {@link PriceTimeline#PRECEDENCE}; vacío si no hay ninguna aplicable.
+     */
+    Mono<Price> findBestPrice(LocalDateTime date, Integer productId, Integer brandId);
+}
@@ -0,0 +1,54 @@
+package com.practice.priceservice.infrastructure.r2dbc;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.ReactivePriceRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Adaptador R2DBC de {@link ReactivePriceRepository}: la misma consulta top-1 que
+ * {@code JpaPriceRepository#findTopApplicablePrice}, en SQL sobre el índice idx_price_lookup.
+ */
+@Repository
+public class R2dbcPriceAdapter implements ReactivePriceRepository {
+
+    private static final String FIND_TOP_APPLICABLE_PRICE = """
+            SELECT id, brand_id, start_date, end_date, price_list, product_id, priority, price, currency
+            FROM price
+            WHERE brand_id = :brandId AND product_id = :productId AND :date BETWEEN start_date AND end_date
+            ORDER BY priority DESC, start_date DESC, price_list DESC
+            LIMIT 1""";
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcPriceAdapter(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Price> findBestPrice(LocalDateTime date, Integer productId, Integer brandId) {
+        return databaseClient.sql(FIND_TOP_APPLICABLE_PRICE)
+                .bind("brandId", brandId)
+                .bind("productId", productId)
+                .bind("date", date)
+                .map(R2dbcPriceAdapter::toPrice)
+                .one();
+    }
+
+    private static Price toPrice(Readable row) {
+        return new Price(
+                row.get("id", Long.class),
+                row.get("brand_id", Integer.class),
+                row.get("start_date", LocalDateTime.class),
+                row.get("end_date", LocalDateTime.class),
+                row.get("price_list", Integer.class),
+                row.get("product_id", Integer.class),
+                row.get("priority", Integer.class),
+                row.get("price", Double.class),
+                row.get("currency", String.class));
+    }
+}
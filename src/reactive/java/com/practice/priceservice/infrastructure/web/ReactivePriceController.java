@@ -0,0 +1,54 @@
+package com.practice.priceservice.infrastructure.web;
+
+import com.practice.priceservice.application.ReactivePriceService;
+import com.practice.priceservice.infrastructure.metrics.PriceMetrics;
+import com.practice.priceservice.infrastructure.web.dto.PriceResponse;
+import com.practice.priceservice.infrastructure.web.mapper.PriceMapper;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@code GET /api/prices} sobre WebFlux y R2DBC. Solo se compila con el perfil Maven reactive y solo se registra
+ * cuando la aplicación arranca como aplicación reactiva (perfil reactive); en ese modo sustituye a
+ * {@link PriceController}.
+ */
+@RestController
+@RequestMapping("/api/prices")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePriceController {
+
+    private final ReactivePriceService priceService;
+    private final PriceMapper priceMapper;
+    private final PriceMetrics priceMetrics;
+
+    public ReactivePriceController(ReactivePriceService priceService, PriceMapper priceMapper, PriceMetrics priceMetrics) {
+        this.priceService = priceService;
+        this.priceMapper = priceMapper;
+        this.priceMetrics = priceMetrics;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<PriceResponse>> getPrice(
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date,
+            @RequestParam @NotNull @Positive Integer productId,
+            @RequestParam @NotNull @Positive Integer brandId) {
+
+        return priceService.getBestPrice(date, productId, brandId)
+                .doOnSuccess(price -> priceMetrics.recordLookup(price != null))
+                .map(price -> priceMetrics.timeMapping(() -> priceMapper.toResponse(price)))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -1,13 +1,22 @@
 package com.practice.priceservice;
 
+import com.practice.priceservice.application.PriceService;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 class PriceserviceApplicationTests {
 
+	@Autowired
+	private PriceService priceService;
+
 	@Test
 	void contextLoads() {
+		// Sin configurar nada, ni caché ni agrupación de búsquedas: los decoradores opcionales se activan a propósito
+		assertThat(priceService.getClass()).isEqualTo(PriceService.class);
 	}
 
 }
@@ -0,0 +1,269 @@
+package com.practice.priceservice.application;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.domain.PriceSegment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para CachingPriceService.
+ * Usa un reloj manual y un executor síncrono para controlar la expiración y el desalojo.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests - CachingPriceService")
+class CachingPriceServiceTest {
+
+    private static final Integer PRODUCT_ID = 35455;
+    private static final Integer BRAND_ID = 1;
+
+    private static final Price BASE = new Price(1L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, PRODUCT_ID, 0, 35.50, "EUR");
+    private static final Price PROMO = new Price(2L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 15, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30), 2, PRODUCT_ID, 1, 25.45, "EUR");
+
+    @Mock
+    private PriceRepository priceRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CachingPriceService priceService;
+
+    @BeforeEach
+    void setUp() {
+        priceService = new CachingPriceService(priceRepository, 2, Duration.ofMinutes(10), meterRegistry,
+                nanos::get, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Consultas a distintas horas del mismo producto deben cargar su línea temporal una sola vez")
+    void givenRepeatedLookupsForSameProduct_whenGetBestPrice_thenLoadsTimelineOnce() {
+        // Given
+        when(priceRepository.findPrices(PRODUCT_ID, BRAND_ID)).thenReturn(List.of(BASE, PROMO));
+
+        // When
+        Optional<Price> morning = priceService.getBestPrice(LocalDateTime.of(2020, 6, 14, 10, 0), PRODUCT_ID, BRAND_ID);
+        Optional<Price> afternoon = priceService.getBestPrice(LocalDateTime.of(2020, 6, 14, 16, 0), PRODUCT_ID, BRAND_ID);
+        Optional<Price> afternoonAgain = priceService.getBestPrice(LocalDateTime.of(2020, 6, 14, 16, 5, 30), PRODUCT_ID, BRAND_ID);
+
+        // Then
+        assertThat(morning).map(Price::getPriceList).contains(1);
+        assertThat(afternoon).map(Price::getPriceList).contains(2);
+        assertThat(afternoonAgain).map(Price::getPriceList).contains(2);
+
+        verify(priceRepository, times(1)).findPrices(PRODUCT_ID, BRAND_ID);
+        CacheStats stats = priceService.stats();
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("El tramo vigente debe salir de la línea temporal cacheada y acabar donde gana otra tarifa")
+    void givenCachedTimeline_whenGetEffectivePrice_thenReturnsExactSegment() {
+        // Given
+        when(priceRepository.findPrices(PRODUCT_ID, BRAND_ID)).thenReturn(List.of(BASE, PROMO));
+
+        // When
+        Optional<PriceSegment> morning = priceService.getEffectivePrice(LocalDateTime.of(2020, 6, 14, 10, 0), PRODUCT_ID, BRAND_ID);
+        Optional<PriceSegment> afternoon = priceService.getEffectivePrice(LocalDateTime.of(2020, 6, 14, 16, 0), PRODUCT_ID, BRAND_ID);
+
+        // Then
+        assertThat(morning).map(PriceSegment::getEndDate).contains(LocalDateTime.of(2020, 6, 14, 15, 0));
+        assertThat(afternoon).map(segment -> segment.getPrice().getPriceList()).contains(2);
+        verify(priceRepository, times(1)).findPrices(PRODUCT_ID, BRAND_ID);
+        verifyNoMoreInteractions(priceRepository);
+    }
+
+    @Test
+    @DisplayName("La línea temporal de una ventana debe salir de la caché sin volver al repositorio")
+    void givenCachedTimeline_whenGetTimeline_thenDoesNotQueryRepositoryAgain() {
+        // Given
+        when(priceRepository.findPrices(PRODUCT_ID, BRAND_ID)).thenReturn(List.of(BASE, PROMO));
+        priceService.getBestPrice(LocalDateTime.of(2020, 6, 14, 10, 0), PRODUCT_ID, BRAND_ID);
+
+        // When
+        List<PriceSegment> day = priceService.getTimeline(PRODUCT_ID, BRAND_ID,
+                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 14, 23, 59, 59));
+
+        // Then
+        assertThat(day).extracting(segment -> segment.getPrice().getPriceList()).containsExactly(1, 2, 1);
+        verify(priceRepository, times(1)).findPrices(PRODUCT_ID, BRAND_ID);
+        verifyNoMoreInteractions(priceRepository);
+    }
+
+    @Test
+    @DisplayName("Un producto sin tarifas debe cachear el resultado negativo")
+    void givenProductWithoutPrices_whenGetBestPriceTwice_thenNegativeResultIsCached() {
+        // Given
+        when(priceRepository.findPrices(99999, BRAND_ID)).thenReturn(List.of());
+
+        // When
+        Optional<Price> first = priceService.getBestPrice(LocalDateTime.of(2020, 6, 14, 10, 0), 99999, BRAND_ID);
+        Optional<Price> second = priceService.getBestPrice(LocalDateTime.of(2020, 6, 15, 10, 0), 99999, BRAND_ID);
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(priceRepository, times(1)).findPrices(99999, BRAND_ID);
+    }
+
+    @Test
+    @DisplayName("Pasado el TTL debe recargar la línea temporal desde el repositorio")
+    void givenExpiredEntry_whenGetBestPrice_thenReloadsFromRepository() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        when(priceRepository.findPrices(PRODUCT_ID, BRAND_ID))
+                .thenReturn(List.of(BASE, PROMO))
+                .thenReturn(List.of(BASE));
+
+        // When
+        Optional<Price> beforeExpiry = priceService.getBestPrice(date, PRODUCT_ID, BRAND_ID);
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        Optional<Price> afterExpiry = priceService.getBestPrice(date, PRODUCT_ID, BRAND_ID);
+
+        // Then
+        assertThat(beforeExpiry).map(Price::getPriceList).contains(2);
+        assertThat(afterExpiry).map(Price::getPriceList).contains(1);
+        verify(priceRepository, times(2)).findPrices(PRODUCT_ID, BRAND_ID);
+    }
+
+    @Test
+    @DisplayName("Al superar el tamaño máximo debe desalojar entradas y contabilizarlas")
+    void givenMoreProductsThanMaximumSize_whenGetBestPrice_thenEvictsEntries() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 10, 0);
+        when(priceRepository.findPrices(anyInt(), eq(BRAND_ID))).thenReturn(List.of());
+
+        // When
+        for (int productId = 1; productId <= 5; productId++) {
+            priceService.getBestPrice(date, productId, BRAND_ID);
+        }
+
+        // Then
+        assertThat(priceService.size()).isLessThanOrEqualTo(2);
+        assertThat(priceService.stats().evictionCount()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("En un lote debe resolver los aciertos de caché y cargar los fallos juntos en la caché")
+    void givenPartiallyCachedBatch_whenGetBestPrices_thenLoadsMissesInOneCallAndCachesThem() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        when(priceRepository.findPrices(PRODUCT_ID, BRAND_ID)).thenReturn(List.of(BASE, PROMO));
+        priceService.getBestPrice(date, PRODUCT_ID, BRAND_ID);
+
+        PriceQuery cached = new PriceQuery(date, PRODUCT_ID, BRAND_ID);
+        PriceQuery miss = new PriceQuery(date, 12345, 2);
+        Price other = new Price(3L, 2, date.minusDays(1), date.plusDays(1), 7, 12345, 0, 12.00, "EUR");
+        when(priceRepository.findPrices(anyCollection())).thenReturn(Map.of(new PriceKey(2, 12345), List.of(other)));
+
+        // When
+        List<Optional<Price>> first = priceService.getBestPrices(List.of(miss, cached));
+        List<Optional<Price>> second = priceService.getBestPrices(List.of(miss, cached));
+
+        // Then
+        assertThat(first.get(0)).map(Price::getId).contains(3L);
+        assertThat(first.get(1)).map(Price::getId).contains(2L);
+        assertThat(second.get(0)).map(Price::getId).contains(3L);
+        verify(priceRepository).findPrices(Set.of(new PriceKey(2, 12345)));
+        verify(priceRepository, never()).findApplicablePrices(anyCollection());
+    }
+
+    @Test
+    @DisplayName("En un lote las claves sin tarifas deben cachearse como línea vacía")
+    void givenBatchWithUnknownProduct_whenGetBestPricesTwice_thenNegativeResultIsCached() {
+        // Given
+        PriceQuery unknown = new PriceQuery(LocalDateTime.of(2020, 6, 14, 16, 0), 99999, BRAND_ID);
+        when(priceRepository.findPrices(anyCollection())).thenReturn(Map.of());
+
+        // When
+        priceService.getBestPrices(List.of(unknown));
+        List<Optional<Price>> result = priceService.getBestPrices(List.of(unknown));
+
+        // Then
+        assertThat(result).containsExactly(Optional.empty());
+        verify(priceRepository, times(1)).findPrices(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Debe publicar las estadísticas de la caché y el tiempo de resolución sobre la línea temporal")
+    void givenLookups_whenGetBestPrice_thenPublishesCacheAndResolutionMetrics() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        when(priceRepository.findPrices(PRODUCT_ID, BRAND_ID)).thenReturn(List.of(BASE, PROMO));
+
+        // When
+        priceService.getBestPrice(date, PRODUCT_ID, BRAND_ID);
+        priceService.getBestPrice(date, PRODUCT_ID, BRAND_ID);
+
+        // Then
+        assertThat(meterRegistry.get("cache.gets").tags("cache", CachingPriceService.CACHE_NAME, "result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", CachingPriceService.CACHE_NAME, "result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(PriceService.RESOLUTION_TIMER).tag("strategy", "timeline").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Al invalidar una clave debe recargarla del repositorio y conservar el resto en caché")
+    void givenInvalidatedKey_whenGetBestPrice_thenReloadsOnlyThatKey() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        when(priceRepository.findPrices(PRODUCT_ID, BRAND_ID)).thenReturn(List.of(BASE, PROMO)).thenReturn(List.of(BASE));
+        when(priceRepository.findPrices(12345, BRAND_ID)).thenReturn(List.of());
+        priceService.getBestPrice(date, PRODUCT_ID, BRAND_ID);
+        priceService.getBestPrice(date, 12345, BRAND_ID);
+
+        // When
+        priceService.invalidate(Set.of(new PriceKey(BRAND_ID, PRODUCT_ID)));
+        Optional<Price> reloaded = priceService.getBestPrice(date, PRODUCT_ID, BRAND_ID);
+        priceService.getBestPrice(date, 12345, BRAND_ID);
+
+        // Then
+        assertThat(reloaded).map(Price::getPriceList).contains(1);
+        verify(priceRepository, times(2)).findPrices(PRODUCT_ID, BRAND_ID);
+        verify(priceRepository, times(1)).findPrices(12345, BRAND_ID);
+    }
+
+    @Test
+    @DisplayName("Al invalidar una cadena debe recargar todos sus productos y conservar los de otras cadenas")
+    void givenInvalidatedBrand_whenGetBestPrice_thenReloadsOnlyThatBrand() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        when(priceRepository.findPrices(PRODUCT_ID, BRAND_ID)).thenReturn(List.of(BASE, PROMO)).thenReturn(List.of(BASE));
+        when(priceRepository.findPrices(PRODUCT_ID, 2)).thenReturn(List.of());
+        priceService.getBestPrice(date, PRODUCT_ID, BRAND_ID);
+        priceService.getBestPrice(date, PRODUCT_ID, 2);
+
+        // When
+        priceService.invalidateBrands(Set.of(BRAND_ID));
+        Optional<Price> reloaded = priceService.getBestPrice(date, PRODUCT_ID, BRAND_ID);
+        priceService.getBestPrice(date, PRODUCT_ID, 2);
+
+        // Then
+        assertThat(reloaded).map(Price::getPriceList).contains(1);
+        verify(priceRepository, times(2)).findPrices(PRODUCT_ID, BRAND_ID);
+        verify(priceRepository, times(1)).findPrices(PRODUCT_ID, 2);
+    }
+}
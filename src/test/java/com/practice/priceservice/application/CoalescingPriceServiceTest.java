@@ -0,0 +1,166 @@
+package com.practice.priceservice.application;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.domain.PriceSegment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para CoalescingPriceService.
+ * El repositorio mockeado bloquea la primera consulta hasta que todas las peticiones concurrentes se han agrupado.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests - CoalescingPriceService")
+class CoalescingPriceServiceTest {
+
+    private static final int CONCURRENT_LOOKUPS = 32;
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+    private static final Price PROMO = new Price(2L, 1, LocalDateTime.of(2020, 6, 14, 15, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30), 2, 35455, 1, 25.45, "EUR");
+
+    @Mock
+    private PriceRepository priceRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_LOOKUPS);
+
+    private CoalescingPriceService priceService;
+
+    @BeforeEach
+    void setUp() {
+        priceService = new CoalescingPriceService(priceRepository, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Las búsquedas idénticas concurrentes deben compartir una sola consulta al repositorio")
+    void givenConcurrentIdenticalLookups_whenGetBestPrice_thenOnlyOneQueryReachesRepository() throws Exception {
+        // Given
+        when(priceRepository.findBestPrice(DATE, 35455, 1)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return Optional.of(PROMO);
+        });
+
+        // When
+        List<Future<Optional<Price>>> results = lookupConcurrently(CONCURRENT_LOOKUPS);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> coalesced("follower") == CONCURRENT_LOOKUPS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<Optional<Price>> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).containsSame(PROMO);
+        }
+        verify(priceRepository, times(1)).findBestPrice(DATE, 35455, 1);
+        assertThat(coalesced("leader")).isEqualTo(1);
+        assertThat(meterRegistry.get(CoalescingPriceService.IN_FLIGHT_GAUGE).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Si la consulta falla, todas las búsquedas agrupadas deben recibir la misma excepción")
+    void givenRepositoryFailure_whenGetBestPriceConcurrently_thenEveryCallerFails() throws Exception {
+        // Given
+        IllegalStateException failure = new IllegalStateException("BD no disponible");
+        when(priceRepository.findBestPrice(DATE, 35455, 1)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            throw failure;
+        });
+
+        // When
+        List<Future<Optional<Price>>> results = lookupConcurrently(4);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> coalesced("follower") == 3);
+        release.countDown();
+
+        // Then
+        for (Future<Optional<Price>> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isSameAs(failure);
+        }
+        verify(priceRepository, times(1)).findBestPrice(DATE, 35455, 1);
+    }
+
+    @Test
+    @DisplayName("No es una caché: búsquedas sucesivas o de distinta fecha deben ir cada una al repositorio")
+    void givenSequentialOrDifferentLookups_whenGetBestPrice_thenEachQueriesRepository() {
+        // Given
+        when(priceRepository.findBestPrice(any(), eq(35455), eq(1))).thenReturn(Optional.of(PROMO));
+
+        // When
+        priceService.getBestPrice(DATE, 35455, 1);
+        priceService.getBestPrice(DATE, 35455, 1);
+        priceService.getBestPrice(DATE.plusMinutes(1), 35455, 1);
+
+        // Then
+        verify(priceRepository, times(2)).findBestPrice(DATE, 35455, 1);
+        verify(priceRepository).findBestPrice(DATE.plusMinutes(1), 35455, 1);
+        assertThat(coalesced("leader")).isEqualTo(3);
+        assertThat(coalesced("follower")).isZero();
+    }
+
+    @Test
+    @DisplayName("Las búsquedas concurrentes del tramo vigente también deben compartir una sola lectura de tarifas")
+    void givenConcurrentIdenticalLookups_whenGetEffectivePrice_thenOnlyOneReadReachesRepository() throws Exception {
+        // Given
+        when(priceRepository.findPrices(35455, 1)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(PROMO);
+        });
+
+        // When
+        List<Future<Optional<PriceSegment>>> results = new ArrayList<>(CONCURRENT_LOOKUPS);
+        for (int i = 0; i < CONCURRENT_LOOKUPS; i++) {
+            results.add(executor.submit(() -> priceService.getEffectivePrice(DATE, 35455, 1)));
+        }
+        await().atMost(10, TimeUnit.SECONDS).until(() -> coalesced("follower") == CONCURRENT_LOOKUPS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<Optional<PriceSegment>> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).hasValueSatisfying(segment ->
+                    assertThat(segment.getPrice()).usingRecursiveComparison().isEqualTo(PROMO));
+        }
+        verify(priceRepository, times(1)).findPrices(35455, 1);
+        assertThat(meterRegistry.get(CoalescingPriceService.IN_FLIGHT_GAUGE).gauge().value()).isZero();
+    }
+
+    private List<Future<Optional<Price>>> lookupConcurrently(int lookups) {
+        List<Future<Optional<Price>>> results = new ArrayList<>(lookups);
+        for (int i = 0; i < lookups; i++) {
+            results.add(executor.submit(() -> priceService.getBestPrice(DATE, 35455, 1)));
+        }
+        return results;
+    }
+
+    private double coalesced(String role) {
+        return meterRegistry.get(CoalescingPriceService.COALESCING_COUNTER).tag("role", role).counter().count();
+    }
+}
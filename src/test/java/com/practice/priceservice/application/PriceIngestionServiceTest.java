@@ -0,0 +1,65 @@
+package com.practice.priceservice.application;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceChange;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceWriter;
+import com.practice.priceservice.domain.PricesChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para PriceIngestionService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests - PriceIngestionService")
+class PriceIngestionServiceTest {
+
+    @Mock
+    private PriceWriter priceWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PriceIngestionService ingestionService;
+
+    @Test
+    @DisplayName("Debe persistir los cambios y publicar después las claves afectadas")
+    void givenChanges_whenApply_thenWritesThenPublishesAffectedKeys() {
+        // Given
+        Price price = new Price(null, 1, LocalDateTime.of(2020, 7, 1, 0, 0), LocalDateTime.of(2020, 7, 31, 23, 59, 59),
+                5, 35455, 2, 19.99, "EUR");
+        List<PriceChange> changes = List.of(new PriceChange(PriceChange.Type.UPSERT, price));
+        Set<PriceKey> keys = Set.of(new PriceKey(1, 35455));
+        when(priceWriter.apply(changes)).thenReturn(keys);
+
+        // When
+        Set<PriceKey> result = ingestionService.apply(changes);
+
+        // Then
+        assertThat(result).isEqualTo(keys);
+        var inOrder = inOrder(priceWriter, eventPublisher);
+        inOrder.verify(priceWriter).apply(changes);
+        inOrder.verify(eventPublisher).publishEvent(new PricesChangedEvent(keys));
+    }
+
+    @Test
+    @DisplayName("Un lote vacío no debe escribir ni publicar nada")
+    void givenNoChanges_whenApply_thenDoesNothing() {
+        assertThat(ingestionService.apply(List.of())).isEmpty();
+        verifyNoInteractions(priceWriter, eventPublisher);
+    }
+}
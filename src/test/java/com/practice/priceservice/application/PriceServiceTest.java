@@ -1,18 +1,22 @@
 package com.practice.priceservice.application;
 
 import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
 import com.practice.priceservice.domain.PriceRepository;
+import com.practice.priceservice.domain.PriceSegment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,22 +34,27 @@ class PriceServiceTest {
     @Mock
     private PriceRepository priceRepository;
 
-    @InjectMocks
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private PriceService priceService;
 
+    @BeforeEach
+    void setUp() {
+        priceService = new PriceService(priceRepository, meterRegistry);
+    }
+
     @Test
-    @DisplayName("Cuando hay múltiples precios aplicables, debe devolver el de mayor prioridad")
-    void givenMultipleApplicablePrices_whenGetBestPrice_thenReturnsHighestPriority() {
+    @DisplayName("Cuando el repositorio resuelve un precio ganador, debe devolverlo")
+    void givenRepositoryResolvesBestPrice_whenGetBestPrice_thenReturnsThatPrice() {
         // Given
         LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
         Integer productId = 35455;
         Integer brandId = 1;
 
-        Price lowPriority = new Price(1L, brandId, date.minusHours(1), date.plusHours(1), 1, productId, 0, 35.50, "EUR");
         Price highPriority = new Price(2L, brandId, date.minusHours(1), date.plusHours(1), 2, productId, 1, 25.45, "EUR");
 
-        when(priceRepository.findApplicablePrices(date, productId, brandId))
-                .thenReturn(List.of(lowPriority, highPriority));
+        when(priceRepository.findBestPrice(date, productId, brandId))
+                .thenReturn(Optional.of(highPriority));
 
         // When
         Optional<Price> result = priceService.getBestPrice(date, productId, brandId);
@@ -56,31 +65,33 @@ class PriceServiceTest {
         assertThat(result.get().getPriority()).isEqualTo(1);
         assertThat(result.get().getPrice()).isEqualTo(25.45);
 
-        verify(priceRepository, times(1)).findApplicablePrices(date, productId, brandId);
+        verify(priceRepository, times(1)).findBestPrice(date, productId, brandId);
+        assertThat(meterRegistry.get(PriceService.RESOLUTION_TIMER).tag("strategy", "repository").timer().count())
+                .isEqualTo(1);
     }
 
     @Test
-    @DisplayName("Cuando solo hay un precio aplicable, debe devolverlo")
-    void givenSingleApplicablePrice_whenGetBestPrice_thenReturnsThatPrice() {
+    @DisplayName("El tramo vigente debe acabar cuando empieza una tarifa de más prioridad, no al fin de la ganadora")
+    void givenLaterHigherPriorityPrice_whenGetEffectivePrice_thenSegmentEndsWhenItStarts() {
         // Given
-        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 10, 0);
-        Integer productId = 35455;
-        Integer brandId = 1;
-
-        Price singlePrice = new Price(1L, brandId, date.minusHours(1), date.plusHours(1), 1, productId, 0, 35.50, "EUR");
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        Price base = new Price(1L, 1, date.minusDays(1), date.plusDays(1), 1, 35455, 0, 35.50, "EUR");
+        Price promo = new Price(2L, 1, date.plusHours(2), date.plusHours(4), 2, 35455, 1, 25.45, "EUR");
 
-        when(priceRepository.findApplicablePrices(date, productId, brandId))
-                .thenReturn(List.of(singlePrice));
+        when(priceRepository.findPrices(35455, 1)).thenReturn(List.of(base, promo));
 
         // When
-        Optional<Price> result = priceService.getBestPrice(date, productId, brandId);
+        Optional<PriceSegment> result = priceService.getEffectivePrice(date, 35455, 1);
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get().getId()).isEqualTo(1L);
-        assertThat(result.get().getPrice()).isEqualTo(35.50);
-
-        verify(priceRepository).findApplicablePrices(date, productId, brandId);
+        assertThat(result).hasValueSatisfying(segment -> {
+            assertThat(segment.getPrice()).usingRecursiveComparison().isEqualTo(base);
+            assertThat(segment.getStartDate()).isEqualTo(date.minusDays(1));
+            assertThat(segment.getEndDate()).isEqualTo(date.plusHours(2));
+        });
+        verify(priceRepository, never()).findBestPrice(any(), any(), any());
+        assertThat(meterRegistry.get(PriceService.RESOLUTION_TIMER).tag("strategy", "timeline").timer().count())
+                .isEqualTo(1);
     }
 
     @Test
@@ -91,8 +102,8 @@ class PriceServiceTest {
         Integer productId = 99999;
         Integer brandId = 1;
 
-        when(priceRepository.findApplicablePrices(date, productId, brandId))
-                .thenReturn(Collections.emptyList());
+        when(priceRepository.findBestPrice(date, productId, brandId))
+                .thenReturn(Optional.empty());
 
         // When
         Optional<Price> result = priceService.getBestPrice(date, productId, brandId);
@@ -100,81 +111,96 @@ class PriceServiceTest {
         // Then
         assertThat(result).isEmpty();
 
-        verify(priceRepository).findApplicablePrices(date, productId, brandId);
+        verify(priceRepository).findBestPrice(date, productId, brandId);
     }
 
     @Test
-    @DisplayName("Cuando hay múltiples precios con la misma prioridad, debe devolver el último")
-    void givenMultiplePricesWithSamePriority_whenGetBestPrice_thenReturnsLast() {
+    @DisplayName("Debe llamar al repositorio exactamente una vez con los parámetros correctos")
+    void whenGetBestPrice_thenCallsRepositoryWithCorrectParameters() {
+        // Given
+        LocalDateTime specificDate = LocalDateTime.of(2020, 6, 14, 16, 30, 45);
+        Integer specificProductId = 12345;
+        Integer specificBrandId = 2;
+
+        when(priceRepository.findBestPrice(any(), any(), any()))
+                .thenReturn(Optional.empty());
+
+        // When
+        priceService.getBestPrice(specificDate, specificProductId, specificBrandId);
+
+        // Then
+        verify(priceRepository, times(1)).findBestPrice(
+                eq(specificDate),
+                eq(specificProductId),
+                eq(specificBrandId)
+        );
+        verifyNoMoreInteractions(priceRepository);
+    }
+
+    @Test
+    @DisplayName("En un lote con varios precios aplicables a la misma prioridad, debe desempatar por el mayor priceList")
+    void givenMultiplePricesWithSamePriority_whenGetBestPrices_thenReturnsHighestPriceList() {
         // Given
         LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
-        Integer productId = 35455;
-        Integer brandId = 1;
+        PriceQuery query = new PriceQuery(date, 35455, 1);
 
-        Price firstPrice = new Price(1L, brandId, date.minusHours(1), date.plusHours(1), 1, productId, 1, 35.50, "EUR");
-        Price secondPrice = new Price(2L, brandId, date.minusHours(1), date.plusHours(1), 2, productId, 1, 25.45, "EUR");
-        Price thirdPrice = new Price(3L, brandId, date.minusHours(1), date.plusHours(1), 3, productId, 1, 30.00, "EUR");
+        Price firstPrice = new Price(1L, 1, date.minusHours(1), date.plusHours(1), 1, 35455, 1, 35.50, "EUR");
+        Price secondPrice = new Price(2L, 1, date.minusHours(1), date.plusHours(1), 2, 35455, 1, 25.45, "EUR");
+        Price thirdPrice = new Price(3L, 1, date.minusHours(1), date.plusHours(1), 3, 35455, 1, 30.00, "EUR");
 
-        when(priceRepository.findApplicablePrices(date, productId, brandId))
-                .thenReturn(List.of(firstPrice, secondPrice, thirdPrice));
+        when(priceRepository.findApplicablePrices(anyCollection()))
+                .thenReturn(Map.of(query, List.of(firstPrice, secondPrice, thirdPrice)));
 
         // When
-        Optional<Price> result = priceService.getBestPrice(date, productId, brandId);
+        List<Optional<Price>> result = priceService.getBestPrices(List.of(query));
 
         // Then
-        assertThat(result).isPresent();
-        // Todos tienen prioridad 1, así que max() devuelve cualquiera (el comportamiento depende de la implementación)
-        assertThat(result.get().getPriority()).isEqualTo(1);
-
-        verify(priceRepository).findApplicablePrices(date, productId, brandId);
+        // Todos tienen prioridad 1 y el mismo inicio, así que desempata el mayor priceList
+        assertThat(result.get(0)).map(Price::getId).contains(3L);
     }
 
     @Test
-    @DisplayName("Cuando hay precios con diferentes prioridades, debe ignorar los de menor prioridad")
-    void givenPricesWithDifferentPriorities_whenGetBestPrice_thenIgnoresLowerPriorities() {
+    @DisplayName("En un lote debe devolver el mejor precio de cada consulta en el mismo orden")
+    void givenBatchOfQueries_whenGetBestPrices_thenReturnsBestPricePerQueryInOrder() {
         // Given
         LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
-        Integer productId = 35455;
-        Integer brandId = 1;
+        PriceQuery first = new PriceQuery(date, 35455, 1);
+        PriceQuery missing = new PriceQuery(date, 99999, 1);
+        PriceQuery second = new PriceQuery(date, 12345, 2);
 
-        Price priority0 = new Price(1L, brandId, date.minusHours(1), date.plusHours(1), 1, productId, 0, 35.50, "EUR");
-        Price priority1 = new Price(2L, brandId, date.minusHours(1), date.plusHours(1), 2, productId, 1, 25.45, "EUR");
-        Price priority2 = new Price(3L, brandId, date.minusHours(1), date.plusHours(1), 3, productId, 2, 20.00, "EUR");
+        Price lowPriority = new Price(1L, 1, date.minusHours(1), date.plusHours(1), 1, 35455, 0, 35.50, "EUR");
+        Price highPriority = new Price(2L, 1, date.minusHours(1), date.plusHours(1), 2, 35455, 1, 25.45, "EUR");
+        Price other = new Price(3L, 2, date.minusHours(1), date.plusHours(1), 7, 12345, 0, 12.00, "EUR");
 
-        when(priceRepository.findApplicablePrices(date, productId, brandId))
-                .thenReturn(List.of(priority0, priority1, priority2));
+        when(priceRepository.findApplicablePrices(anyCollection()))
+                .thenReturn(Map.of(first, List.of(lowPriority, highPriority), second, List.of(other)));
 
         // When
-        Optional<Price> result = priceService.getBestPrice(date, productId, brandId);
+        List<Optional<Price>> result = priceService.getBestPrices(List.of(first, missing, second));
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get().getPriority()).isEqualTo(2);
-        assertThat(result.get().getPrice()).isEqualTo(20.00);
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0)).map(Price::getId).contains(2L);
+        assertThat(result.get(1)).isEmpty();
+        assertThat(result.get(2)).map(Price::getId).contains(3L);
 
-        verify(priceRepository).findApplicablePrices(date, productId, brandId);
+        verify(priceRepository, times(1)).findApplicablePrices(anyCollection());
+        verifyNoMoreInteractions(priceRepository);
     }
 
     @Test
-    @DisplayName("Debe llamar al repositorio exactamente una vez con los parámetros correctos")
-    void whenGetBestPrice_thenCallsRepositoryWithCorrectParameters() {
+    @DisplayName("En un lote con consultas repetidas debe pedir cada clave una sola vez al repositorio")
+    void givenDuplicatedQueries_whenGetBestPrices_thenRepositoryReceivesDistinctKeys() {
         // Given
-        LocalDateTime specificDate = LocalDateTime.of(2020, 6, 14, 16, 30, 45);
-        Integer specificProductId = 12345;
-        Integer specificBrandId = 2;
+        PriceQuery query = new PriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0), 35455, 1);
 
-        when(priceRepository.findApplicablePrices(any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(priceRepository.findApplicablePrices(anyCollection())).thenReturn(Map.of());
 
         // When
-        priceService.getBestPrice(specificDate, specificProductId, specificBrandId);
+        List<Optional<Price>> result = priceService.getBestPrices(List.of(query, query));
 
         // Then
-        verify(priceRepository, times(1)).findApplicablePrices(
-                eq(specificDate),
-                eq(specificProductId),
-                eq(specificBrandId)
-        );
-        verifyNoMoreInteractions(priceRepository);
+        assertThat(result).containsExactly(Optional.empty(), Optional.empty());
+        verify(priceRepository).findApplicablePrices(Set.of(query));
     }
 }
@@ -0,0 +1,86 @@
+package com.practice.priceservice.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para CompactPrice y CurrencyCodes.
+ */
+@DisplayName("Unit Tests - CompactPrice")
+class CompactPriceTest {
+
+    @Test
+    @DisplayName("La conversión ida y vuelta debe conservar todos los campos")
+    void givenPrice_whenRoundTrip_thenAllFieldsArePreserved() {
+        // Given
+        Price price = new Price(123L, 5, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                99, 77777, 3, 99.99, "USD");
+
+        // When
+        Price roundTrip = CompactPrice.of(price).toPrice();
+
+        // Then
+        assertThat(roundTrip).usingRecursiveComparison().isEqualTo(price);
+    }
+
+    @Test
+    @DisplayName("El importe debe guardarse en unidades menores exactas según los decimales de la divisa")
+    void givenPrice_whenCompact_thenAmountIsStoredInMinorUnits() {
+        CompactPrice euros = CompactPrice.of(price(25.45, "EUR"));
+        CompactPrice yen = CompactPrice.of(price(1200.0, "JPY"));
+
+        assertThat(euros.getAmountMinor()).isEqualTo(2545L);
+        assertThat(euros.getAmount()).isEqualByComparingTo(new BigDecimal("25.45"));
+        assertThat(yen.getAmountMinor()).isEqualTo(1200L);
+        assertThat(yen.getAmount()).isEqualByComparingTo(new BigDecimal("1200"));
+    }
+
+    @Test
+    @DisplayName("Un importe con más decimales que la divisa debe rechazarse en lugar de redondearse")
+    void givenAmountWithExtraDecimals_whenCompact_thenThrowsException() {
+        assertThat(CompactPrice.of(price(0.30, "EUR")).getAmountMinor()).isEqualTo(30L);
+        assertThatThrownBy(() -> CompactPrice.of(price(10.005, "EUR"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompactPrice.requireExact(price(0.1 + 0.2, "EUR"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompactPrice.requireExact(price(12.5, "JPY"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Una fecha con fracción de segundo debe rechazarse en lugar de truncarse")
+    void givenSubSecondDate_whenCompact_thenThrowsException() {
+        Price price = new Price(1L, 1, LocalDateTime.of(2020, 6, 14, 0, 0, 0, 500_000_000), LocalDateTime.of(2020, 6, 14, 23, 59, 59),
+                1, 35455, 0, 35.50, "EUR");
+
+        assertThatThrownBy(() -> CompactPrice.requireExact(price)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Las fechas deben guardarse como segundos epoch")
+    void givenPrice_whenCompact_thenDatesAreEpochSeconds() {
+        CompactPrice compact = CompactPrice.of(price(35.50, "EUR"));
+
+        assertThat(compact.getStartEpochSecond()).isEqualTo(1592092800L);
+        assertThat(CompactPrice.toLocalDateTime(compact.getStartEpochSecond())).isEqualTo(LocalDateTime.of(2020, 6, 14, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Cada divisa debe internarse una sola vez con el mismo código")
+    void givenSameCurrency_whenCodeOf_thenReturnsSameCode() {
+        short eur = CurrencyCodes.codeOf("EUR");
+
+        assertThat(CurrencyCodes.codeOf(new String("EUR"))).isEqualTo(eur);
+        assertThat(CurrencyCodes.codeOf("GBP")).isNotEqualTo(eur);
+        assertThat(CurrencyCodes.currencyOf(eur)).isEqualTo("EUR");
+        assertThat(CurrencyCodes.fractionDigitsOf(CurrencyCodes.codeOf("XYZ"))).isEqualTo(2);
+    }
+
+    private Price price(Double amount, String currency) {
+        return new Price(1L, 1, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 14, 23, 59, 59),
+                1, 35455, 0, amount, currency);
+    }
+}
@@ -0,0 +1,241 @@
+package com.practice.priceservice.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para PriceTimeline.
+ * Comprueba el aplanado de tarifas solapadas en tramos disjuntos y la regla de desempate.
+ */
+@DisplayName("Unit Tests - PriceTimeline")
+class PriceTimelineTest {
+
+    private static final Integer PRODUCT_ID = 35455;
+    private static final Integer BRAND_ID = 1;
+
+    @Test
+    @DisplayName("Debe aplanar las tarifas de import.sql en tramos disjuntos con su ganador")
+    void givenSeedPrices_whenBuildTimeline_thenFlattensIntoDisjointSegments() {
+        // Given
+        Price base = price(1L, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 0);
+        Price afternoon = price(2L, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 2, 1);
+        Price morning = price(3L, LocalDateTime.of(2020, 6, 15, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0), 3, 1);
+        Price rest = price(4L, LocalDateTime.of(2020, 6, 15, 16, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 4, 1);
+
+        // When
+        PriceTimeline timeline = PriceTimeline.of(List.of(base, afternoon, morning, rest));
+
+        // Then
+        assertThat(timeline.segments())
+                .extracting(segment -> segment.getPrice().getPriceList())
+                .containsExactly(1, 2, 1, 3, 1, 4);
+        assertThat(timeline.segments())
+                .extracting(PriceSegment::getStartDate)
+                .containsExactly(
+                        LocalDateTime.of(2020, 6, 14, 0, 0),
+                        LocalDateTime.of(2020, 6, 14, 15, 0),
+                        LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1),
+                        LocalDateTime.of(2020, 6, 15, 0, 0),
+                        LocalDateTime.of(2020, 6, 15, 11, 0).plusNanos(1),
+                        LocalDateTime.of(2020, 6, 15, 16, 0));
+        assertThat(timeline.segments().get(5).getEndDate())
+                .isEqualTo(LocalDateTime.of(2020, 12, 31, 23, 59, 59).plusNanos(1));
+    }
+
+    @Test
+    @DisplayName("Debe devolver el precio ganador de la fecha con límites inclusivos")
+    void givenSeedPrices_whenPriceAt_thenReturnsWinnerWithInclusiveBounds() {
+        // Given
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+                price(1L, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 0),
+                price(2L, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 2, 1)
+        ));
+
+        // When & Then
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 14, 10, 0))).map(Price::getPriceList).contains(1);
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 14, 15, 0))).map(Price::getPriceList).contains(2);
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 14, 18, 30))).map(Price::getPriceList).contains(2);
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 14, 18, 30, 1))).map(Price::getPriceList).contains(1);
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 13, 23, 59, 59))).isEmpty();
+        assertThat(timeline.priceAt(LocalDateTime.of(2021, 1, 1, 0, 0))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A igual prioridad debe ganar la tarifa que empezó más tarde")
+    void givenEqualPriorityWithDifferentStart_whenPriceAt_thenLaterStartWins() {
+        // Given
+        Price earlier = price(1L, LocalDateTime.of(2020, 6, 1, 0, 0), LocalDateTime.of(2020, 6, 30, 0, 0), 7, 1);
+        Price later = price(2L, LocalDateTime.of(2020, 6, 10, 0, 0), LocalDateTime.of(2020, 6, 20, 0, 0), 5, 1);
+
+        // When
+        PriceTimeline timeline = PriceTimeline.of(List.of(later, earlier));
+
+        // Then
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 5, 0, 0))).map(Price::getId).contains(1L);
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 15, 0, 0))).map(Price::getId).contains(2L);
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 25, 0, 0))).map(Price::getId).contains(1L);
+    }
+
+    @Test
+    @DisplayName("A igual prioridad e inicio debe ganar el mayor priceList, sin depender del orden de entrada")
+    void givenEqualPriorityAndStart_whenPriceAt_thenHighestPriceListWins() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2020, 6, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2020, 6, 30, 0, 0);
+        Price first = price(1L, start, end, 1, 1);
+        Price second = price(2L, start, end, 3, 1);
+        Price third = price(3L, start, end, 2, 1);
+
+        // When & Then
+        assertThat(PriceTimeline.of(List.of(first, second, third)).priceAt(start)).map(Price::getPriceList).contains(3);
+        assertThat(PriceTimeline.of(List.of(third, second, first)).priceAt(start)).map(Price::getPriceList).contains(3);
+    }
+
+    @Test
+    @DisplayName("Los tramos contiguos con el mismo ganador deben fusionarse")
+    void givenLowerPriorityInsideWinner_whenBuildTimeline_thenSegmentsAreMerged() {
+        // Given
+        Price winner = price(1L, LocalDateTime.of(2020, 6, 1, 0, 0), LocalDateTime.of(2020, 6, 30, 0, 0), 1, 5);
+        Price hidden = price(2L, LocalDateTime.of(2020, 6, 10, 0, 0), LocalDateTime.of(2020, 6, 20, 0, 0), 2, 0);
+
+        // When
+        PriceTimeline timeline = PriceTimeline.of(List.of(winner, hidden));
+
+        // Then
+        assertThat(timeline.segments()).hasSize(1);
+        assertThat(timeline.segments().get(0).getPrice().getId()).isEqualTo(1L);
+        assertThat(timeline.winningPrices()).extracting(Price::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("El tramo de una fecha debe acabar donde empieza una tarifa de más prioridad")
+    void givenHigherPriorityStartingLater_whenSegmentAt_thenEndsWhereItStarts() {
+        // Given
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+                price(1L, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 0),
+                price(2L, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 2, 1)
+        ));
+
+        // When
+        Optional<PriceSegment> morning = timeline.segmentAt(LocalDateTime.of(2020, 6, 14, 10, 0));
+        Optional<PriceSegment> before = timeline.segmentAt(LocalDateTime.of(2020, 6, 13, 10, 0));
+
+        // Then
+        assertThat(morning).hasValueSatisfying(segment -> {
+            assertThat(segment.getPrice().getPriceList()).isEqualTo(1);
+            assertThat(segment.getStartDate()).isEqualTo(LocalDateTime.of(2020, 6, 14, 0, 0));
+            assertThat(segment.getEndDate()).isEqualTo(LocalDateTime.of(2020, 6, 14, 15, 0));
+        });
+        assertThat(before).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Los tramos de una ventana deben recortarse a ella y omitir los que no la solapan")
+    void givenWindow_whenSegmentsBetween_thenReturnsClippedSegments() {
+        // Given
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+                price(1L, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 0),
+                price(2L, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 2, 1),
+                price(3L, LocalDateTime.of(2020, 6, 15, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0), 3, 1)
+        ));
+
+        // When
+        List<PriceSegment> day = timeline.segmentsBetween(LocalDateTime.of(2020, 6, 14, 12, 0), LocalDateTime.of(2020, 6, 14, 23, 59, 59));
+        List<PriceSegment> before = timeline.segmentsBetween(LocalDateTime.of(2020, 6, 1, 0, 0), LocalDateTime.of(2020, 6, 13, 23, 59, 59));
+
+        // Then
+        assertThat(day).extracting(segment -> segment.getPrice().getPriceList()).containsExactly(1, 2, 1);
+        assertThat(day).extracting(PriceSegment::getStartDate).containsExactly(
+                LocalDateTime.of(2020, 6, 14, 12, 0),
+                LocalDateTime.of(2020, 6, 14, 15, 0),
+                LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1));
+        assertThat(day).extracting(PriceSegment::getEndDate).containsExactly(
+                LocalDateTime.of(2020, 6, 14, 15, 0),
+                LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1),
+                LocalDateTime.of(2020, 6, 14, 23, 59, 59).plusNanos(1));
+        assertThat(before).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Sin tarifas la línea temporal debe estar vacía")
+    void givenNoPrices_whenBuildTimeline_thenIsEmpty() {
+        PriceTimeline timeline = PriceTimeline.of(List.of());
+
+        assertThat(timeline.isEmpty()).isTrue();
+        assertThat(timeline.segments()).isEmpty();
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 14, 10, 0))).isEmpty();
+    }
+
+    private Price price(Long id, LocalDateTime start, LocalDateTime end, Integer priceList, Integer priority) {
+        return new Price(id, BRAND_ID, start, end, priceList, PRODUCT_ID, priority, 10.00 + priceList, "EUR");
+    }
+
+    @Test
+    @DisplayName("Una consulta con fracción de segundo en el último segundo de una tarifa ya no debe aplicarla")
+    void givenFractionalDateAtInclusiveEnd_whenPriceAt_thenBehavesLikeBetween() {
+        // Given
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+                price(1L, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 0),
+                price(2L, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 2, 1)
+        ));
+
+        // When & Then
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 14, 18, 30))).map(Price::getPriceList).contains(2);
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 14, 18, 30, 0, 500_000_000))).map(Price::getPriceList).contains(1);
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 14, 14, 59, 59, 999_000_000))).map(Price::getPriceList).contains(1);
+    }
+
+    @Test
+    @DisplayName("El precio devuelto debe conservar todos los campos de la tarifa original")
+    void givenPrice_whenPriceAt_thenReturnsEquivalentPrice() {
+        // Given
+        Price original = new Price(7L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 14, 23, 59, 59),
+                3, PRODUCT_ID, 1, 25.45, "EUR");
+
+        // When
+        Optional<Price> result = PriceTimeline.of(List.of(original)).priceAt(LocalDateTime.of(2020, 6, 14, 12, 0));
+
+        // Then
+        assertThat(result).get().usingRecursiveComparison().isEqualTo(original);
+    }
+
+    @Test
+    @DisplayName("Cada lectura debe construir una tarifa nueva equivalente a la original, sin repetir las que ganan varios tramos")
+    void givenTimeline_whenReadingSeveralTimes_thenBuildsEquivalentPriceOnEachRead() {
+        // Given
+        Price base = new Price(1L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                1, PRODUCT_ID, 0, 35.50, "EUR");
+        Price promo = new Price(2L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30),
+                2, PRODUCT_ID, 1, 25.45, "EUR");
+        PriceTimeline timeline = PriceTimeline.of(List.of(base, promo));
+
+        // When
+        Price morning = timeline.priceAt(LocalDateTime.of(2020, 6, 14, 10, 0)).orElseThrow();
+        Price night = timeline.segmentAt(LocalDateTime.of(2020, 6, 14, 21, 0)).orElseThrow().getPrice();
+
+        // Then
+        assertThat(morning).isNotSameAs(base).isNotSameAs(night).usingRecursiveComparison().isEqualTo(base);
+        assertThat(night).usingRecursiveComparison().isEqualTo(base);
+        assertThat(timeline.priceAt(LocalDateTime.of(2020, 6, 14, 16, 0))).get().usingRecursiveComparison().isEqualTo(promo);
+        assertThat(timeline.winningPrices()).usingRecursiveFieldByFieldElementComparator().containsExactly(base, promo);
+    }
+
+    @Test
+    @DisplayName("Una tarifa ganadora que no cabe exacta en la representación compacta debe rechazarse al construir")
+    void givenInexactWinningPrice_whenBuildTimeline_thenThrows() {
+        // Given
+        Price inexact = new Price(1L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 14, 23, 59, 59),
+                1, PRODUCT_ID, 0, 35.505, "EUR");
+
+        // When & Then
+        assertThatThrownBy(() -> PriceTimeline.of(List.of(inexact)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
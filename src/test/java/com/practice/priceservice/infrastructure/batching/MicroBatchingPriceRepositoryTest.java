@@ -0,0 +1,162 @@
+package com.practice.priceservice.infrastructure.batching;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para MicroBatchingPriceRepository.
+ * Con una ventana larga el lote solo se cierra al llenarse, así que todas las consultas concurrentes caen en él.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests - MicroBatchingPriceRepository")
+class MicroBatchingPriceRepositoryTest {
+
+    private static final Duration LONG_WINDOW = Duration.ofSeconds(30);
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+    private static final Price BASE = new Price(1L, 1, LocalDateTime.of(2020, 6, 14, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 35455, 0, 35.50, "EUR");
+    private static final Price PROMO = new Price(2L, 1, LocalDateTime.of(2020, 6, 14, 15, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30), 2, 35455, 1, 25.45, "EUR");
+
+    @Mock
+    private PriceRepository delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Las consultas distintas concurrentes deben resolverse con una sola consulta multi-clave")
+    void givenConcurrentDistinctLookups_whenBatchIsFull_thenDelegateIsQueriedOnce() throws Exception {
+        // Given
+        MicroBatchingPriceRepository repository = new MicroBatchingPriceRepository(delegate, LONG_WINDOW, 4, meterRegistry);
+        PriceQuery promoQuery = new PriceQuery(DATE, 35455, 1);
+        when(delegate.findApplicablePrices(anyCollection())).thenReturn(Map.of(promoQuery, List.of(BASE, PROMO)));
+
+        // When
+        List<Future<Optional<Price>>> results = new ArrayList<>();
+        for (int productId : List.of(35455, 10001, 10002, 10003)) {
+            results.add(executor.submit(() -> repository.findBestPrice(DATE, productId, 1)));
+        }
+
+        // Then
+        assertThat(results.get(0).get(10, TimeUnit.SECONDS)).containsSame(PROMO);
+        for (Future<Optional<Price>> result : results.subList(1, 4)) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEmpty();
+        }
+        verify(delegate, times(1)).findApplicablePrices(argThat((Collection<PriceQuery> queries) -> queries.size() == 4));
+        verifyNoMoreInteractions(delegate);
+        assertThat(closedBy("size")).isEqualTo(1);
+        assertThat(meterRegistry.get(MicroBatchingPriceRepository.BATCH_SIZE_SUMMARY).summary().totalAmount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Las lecturas de tarifas concurrentes deben compartir lote con las búsquedas y resolverse en una consulta")
+    void givenConcurrentPriceReadsAndLookups_whenBatchIsFull_thenEachKindIsQueriedOnce() throws Exception {
+        // Given
+        MicroBatchingPriceRepository repository = new MicroBatchingPriceRepository(delegate, LONG_WINDOW, 4, meterRegistry);
+        when(delegate.findPrices(anyCollection())).thenReturn(Map.of(new PriceKey(1, 35455), List.of(BASE, PROMO)));
+        when(delegate.findApplicablePrices(anyCollection())).thenReturn(Map.of());
+
+        // When
+        List<Future<List<Price>>> reads = new ArrayList<>();
+        for (int productId : List.of(35455, 10001, 10002)) {
+            reads.add(executor.submit(() -> repository.findPrices(productId, 1)));
+        }
+        Future<Optional<Price>> lookup = executor.submit(() -> repository.findBestPrice(DATE, 10003, 1));
+
+        // Then
+        assertThat(reads.get(0).get(10, TimeUnit.SECONDS)).containsExactly(BASE, PROMO);
+        assertThat(reads.get(1).get(10, TimeUnit.SECONDS)).isEmpty();
+        assertThat(reads.get(2).get(10, TimeUnit.SECONDS)).isEmpty();
+        assertThat(lookup.get(10, TimeUnit.SECONDS)).isEmpty();
+        verify(delegate, times(1)).findPrices(argThat((Collection<PriceKey> keys) -> keys.size() == 3));
+        verify(delegate, times(1)).findApplicablePrices(argThat((Collection<PriceQuery> queries) -> queries.size() == 1));
+        verifyNoMoreInteractions(delegate);
+        assertThat(closedBy("size")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Una consulta sola debe enviarse al vencer la ventana")
+    void givenSingleLookup_whenWindowExpires_thenBatchOfOneIsSent() {
+        // Given
+        MicroBatchingPriceRepository repository = new MicroBatchingPriceRepository(delegate, Duration.ofMillis(1), 64, meterRegistry);
+        PriceQuery query = new PriceQuery(DATE, 35455, 1);
+        when(delegate.findApplicablePrices(anyCollection())).thenReturn(Map.of(query, List.of(BASE)));
+
+        // When
+        Optional<Price> result = repository.findBestPrice(DATE, 35455, 1);
+
+        // Then
+        assertThat(result).containsSame(BASE);
+        verify(delegate).findApplicablePrices(argThat((Collection<PriceQuery> queries) -> queries.size() == 1 && queries.contains(query)));
+        assertThat(closedBy("window")).isEqualTo(1);
+        assertThat(closedBy("size")).isZero();
+    }
+
+    @Test
+    @DisplayName("Si la consulta multi-clave falla, todas las consultas del lote deben recibir la misma excepción")
+    void givenDelegateFailure_whenBatchIsSent_thenEveryCallerFails() {
+        // Given
+        MicroBatchingPriceRepository repository = new MicroBatchingPriceRepository(delegate, LONG_WINDOW, 3, meterRegistry);
+        IllegalStateException failure = new IllegalStateException("BD no disponible");
+        when(delegate.findApplicablePrices(anyCollection())).thenThrow(failure);
+
+        // When
+        List<Future<Optional<Price>>> results = new ArrayList<>();
+        for (int productId : List.of(10001, 10002, 10003)) {
+            results.add(executor.submit(() -> repository.findBestPrice(DATE, productId, 1)));
+        }
+
+        // Then
+        for (Future<Optional<Price>> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isSameAs(failure);
+        }
+        verify(delegate, times(1)).findApplicablePrices(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un tamaño máximo de lote menor que 1")
+    void givenNonPositiveMaxBatchSize_whenCreate_thenThrowsException() {
+        assertThatThrownBy(() -> new MicroBatchingPriceRepository(delegate, LONG_WINDOW, 0, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private double closedBy(String trigger) {
+        return meterRegistry.get(MicroBatchingPriceRepository.BATCHES_COUNTER).tag("trigger", trigger).counter().count();
+    }
+}
@@ -0,0 +1,67 @@
+package com.practice.priceservice.infrastructure.bulkload;
+
+import com.practice.priceservice.application.CachingPriceService;
+import com.practice.priceservice.application.PriceService;
+import com.practice.priceservice.domain.Price;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de integración de la carga masiva al arrancar con backend en memoria y caché activa:
+ * las cadenas cargadas deben verse sin reiniciar, aunque el índice se construyera antes de la carga.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkload",
+        "priceservice.repository.type=memory",
+        "priceservice.cache.enabled=true"
+})
+@DisplayName("Integration Tests - Price bulk load")
+class PriceBulkLoadIntegrationTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void csv(DynamicPropertyRegistry registry) {
+        registry.add("priceservice.bulk-load.path", () -> {
+            try {
+                return Files.writeString(directory.resolve("prices.csv"), """
+                        1,2020-01-01T00:00:00,2020-12-31T23:59:59,1,99000,0,12.50,EUR
+                        1,2020-06-01T00:00:00,2020-06-30T23:59:59,2,99000,1,9.99,EUR
+                        """).toString();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    @Autowired
+    private PriceService priceService;
+
+    @Test
+    @DisplayName("Las tarifas cargadas al arrancar deben resolverse en memoria sin perder las que ya había")
+    void givenBulkLoadAtStartup_whenGetBestPrice_thenSeesLoadedPrices() {
+        // Given
+        assertThat(priceService).isInstanceOf(CachingPriceService.class);
+
+        // When
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+        // Then
+        assertThat(priceService.getBestPrice(date, 99000, 1)).map(Price::getPrice).contains(9.99);
+        assertThat(priceService.getBestPrice(date, 35455, 1)).map(Price::getPriceList).contains(2);
+    }
+}
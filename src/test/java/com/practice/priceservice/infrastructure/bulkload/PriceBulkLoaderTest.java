@@ -0,0 +1,189 @@
+package com.practice.priceservice.infrastructure.bulkload;
+
+import com.practice.priceservice.domain.BrandsReloadedEvent;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.infrastructure.persistence.JpaPriceRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests de PriceBulkLoader contra H2. Los hilos de escritura confirman sus propias transacciones, así que el test
+ * no abre una y borra al final las cadenas cargadas para no afectar a los demás tests de persistencia.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Persistence Tests - PriceBulkLoader")
+class PriceBulkLoaderTest {
+
+    @Autowired
+    private JpaPriceRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+
+    private PriceBulkLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new PriceBulkLoader(entityManager, transactionManager, events::add, 2, 2, Duration.ofMillis(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager
+                .createQuery("DELETE FROM JpaPriceEntity p WHERE p.brandId >= 100")
+                .executeUpdate());
+    }
+
+    @Test
+    @DisplayName("Debe insertar por bloques y particiones todas las filas válidas del CSV")
+    void givenCsvWithSeveralBrands_whenLoad_thenInsertsEveryRow() throws Exception {
+        // Given
+        Path csv = Files.writeString(directory.resolve("prices.csv"), """
+                brandId,startDate,endDate,priceList,productId,priority,price,currency
+                100,2021-01-01T00:00:00,2021-12-31T23:59:59,1,500,0,10.00,EUR
+                100,2021-01-01 00:00:00,2021-06-30 23:59:59,2,500,1,8.50,EUR
+                100,2021-01-01T00:00:00,2021-12-31T23:59:59,1,501,0,11.00,EUR
+                101,2021-01-01T00:00:00,2021-12-31T23:59:59,1,500,0,12.00,USD
+                101,2021-02-01T00:00:00,2021-02-28T23:59:59,2,500,1,9.00,USD
+                102,2021-01-01T00:00:00,2021-12-31T23:59:59,1,500,0,1300,JPY
+                """);
+
+        // When
+        BulkLoadReport report = loader.load(csv);
+
+        // Then
+        assertThat(report.getInserted()).isEqualTo(6);
+        assertThat(report.getRejected()).isZero();
+        assertThat(report.getBrandIds()).containsExactlyInAnyOrder(100, 101, 102);
+        assertThat(events).singleElement().isEqualTo(new BrandsReloadedEvent(Set.of(100, 101, 102)));
+        assertThat(repository.findPrices(500, 100))
+                .extracting(Price::getPriceList, Price::getEndDate, Price::getPrice)
+                .containsExactlyInAnyOrder(
+                        tuple(1, LocalDateTime.of(2021, 12, 31, 23, 59, 59), 10.00),
+                        tuple(2, LocalDateTime.of(2021, 6, 30, 23, 59, 59), 8.50));
+        assertThat(repository.findPrices(500, 101)).hasSize(2);
+        assertThat(repository.findPrices(500, 102)).singleElement()
+                .extracting(Price::getCurrency).isEqualTo("JPY");
+    }
+
+    @Test
+    @DisplayName("Las líneas inválidas deben descartarse y contarse sin detener la carga")
+    void givenInvalidLines_whenLoad_thenSkipsAndCountsThem() throws Exception {
+        // Given
+        Path csv = Files.writeString(directory.resolve("prices.csv"), """
+                100,2021-01-01T00:00:00,2021-12-31T23:59:59,1,600,0,10.00,EUR
+                100,not-a-date,2021-12-31T23:59:59,1,601,0,10.00,EUR
+                100,2021-01-01T00:00:00,2021-12-31T23:59:59,1,602,0
+                100,2021-01-01T00:00:00,2021-12-31T23:59:59,1,603,0,10.005,EUR
+                100,2021-01-01T00:00:00.5,2021-12-31T23:59:59,1,604,0,10.00,EUR
+
+                101,2021-01-01T00:00:00,2021-12-31T23:59:59,1,600,0,12.00,USD
+                """);
+
+        // When
+        BulkLoadReport report = loader.load(csv);
+
+        // Then
+        assertThat(report.getInserted()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(4);
+        assertThat(repository.findPrices(600, 100)).hasSize(1);
+        assertThat(repository.findPrices(601, 100)).isEmpty();
+        assertThat(repository.findPrices(603, 100)).isEmpty();
+        assertThat(repository.findPrices(604, 100)).isEmpty();
+        assertThat(repository.findPrices(600, 101)).hasSize(1);
+    }
+
+    @Test
+    @Timeout(30)
+    @DisplayName("Un Error en un hilo de escritura debe detener la carga sin bloquear al lector y republicar lo confirmado")
+    void givenErrorInWriter_whenLoad_thenFailsAndPublishesCommittedBrands() throws Exception {
+        // Given: un hilo, bloques de una fila y la segunda transacción falla con un Error
+        AtomicInteger transactions = new AtomicInteger();
+        PlatformTransactionManager failing = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                if (transactions.incrementAndGet() == 2) {
+                    throw new OutOfMemoryError("simulado");
+                }
+                return transactionManager.getTransaction(definition);
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+                transactionManager.commit(status);
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+                transactionManager.rollback(status);
+            }
+        };
+        loader = new PriceBulkLoader(entityManager, failing, events::add, 1, 1, Duration.ofMillis(1));
+        StringBuilder rows = new StringBuilder("100,2021-01-01T00:00:00,2021-12-31T23:59:59,1,800,0,10.00,EUR\n");
+        for (int productId = 801; productId <= 820; productId++) {
+            rows.append("101,2021-01-01T00:00:00,2021-12-31T23:59:59,1,").append(productId).append(",0,10.00,EUR\n");
+        }
+        Path csv = Files.writeString(directory.resolve("prices.csv"), rows);
+
+        // When & Then
+        assertThatThrownBy(() -> loader.load(csv))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThat(repository.findPrices(800, 100)).hasSize(1);
+        assertThat(repository.findPrices(801, 101)).isEmpty();
+        assertThat(events).singleElement().isEqualTo(new BrandsReloadedEvent(Set.of(100)));
+    }
+
+    @Test
+    @DisplayName("Las filas cargadas deben recibir ids distintos de la secuencia, sin chocar con los de import.sql")
+    void givenLoadedRows_whenFindAll_thenIdsAreUnique() throws Exception {
+        // Given
+        Path csv = Files.writeString(directory.resolve("prices.csv"), """
+                100,2021-01-01T00:00:00,2021-12-31T23:59:59,1,700,0,10.00,EUR
+                100,2021-01-01T00:00:00,2021-12-31T23:59:59,2,700,0,10.00,EUR
+                101,2021-01-01T00:00:00,2021-12-31T23:59:59,1,700,0,10.00,EUR
+                """);
+
+        // When
+        loader.load(csv);
+
+        // Then
+        List<Long> ids = repository.findAllPrices().stream().map(Price::getId).toList();
+        assertThat(ids).hasSize(7).doesNotHaveDuplicates().doesNotContainNull();
+    }
+}
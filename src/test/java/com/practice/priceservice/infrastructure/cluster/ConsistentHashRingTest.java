@@ -0,0 +1,88 @@
+package com.practice.priceservice.infrastructure.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para ConsistentHashRing.
+ * Reparte las claves (cadena, producto) de un catálogo sintético de 5 cadenas y 10000 productos.
+ */
+@DisplayName("Unit Tests - ConsistentHashRing")
+class ConsistentHashRingTest {
+
+    private static final int BRANDS = 5;
+    private static final int PRODUCTS = 10000;
+    private static final List<String> NODES = List.of("http://node-a:8080", "http://node-b:8080", "http://node-c:8080");
+
+    @Test
+    @DisplayName("Dos anillos con los mismos nodos, aunque en otro orden, deben asignar el mismo dueño")
+    void givenSameNodesInOtherOrder_whenOwnerOf_thenOwnersMatch() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        ConsistentHashRing reordered = new ConsistentHashRing(NODES.reversed(), 128);
+
+        for (int productId = 1; productId <= 1000; productId++) {
+            assertThat(reordered.ownerOf(1, productId)).isEqualTo(ring.ownerOf(1, productId));
+        }
+    }
+
+    @Test
+    @DisplayName("Las claves deben repartirse de forma equilibrada entre los nodos")
+    void givenThreeNodes_whenOwnerOf_thenKeysAreBalanced() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+
+        // When
+        Map<String, Integer> keysByNode = new HashMap<>();
+        forEachKey((brandId, productId) -> keysByNode.merge(ring.ownerOf(brandId, productId), 1, Integer::sum));
+
+        // Then
+        double expected = BRANDS * PRODUCTS / 3.0;
+        assertThat(keysByNode).containsOnlyKeys(NODES);
+        assertThat(keysByNode.values()).allSatisfy(keys -> assertThat(keys).isBetween((int) (expected * 0.75), (int) (expected * 1.25)));
+    }
+
+    @Test
+    @DisplayName("Al añadir un nodo solo debe moverse en torno a 1/n de las claves, y todas al nodo nuevo")
+    void givenNewNode_whenOwnerOf_thenOnlyAFractionOfKeysMovesToIt() {
+        // Given
+        ConsistentHashRing before = new ConsistentHashRing(NODES, 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(
+                "http://node-a:8080", "http://node-b:8080", "http://node-c:8080", "http://node-d:8080"), 128);
+
+        // When
+        Map<String, Integer> movedTo = new HashMap<>();
+        forEachKey((brandId, productId) -> {
+            String owner = after.ownerOf(brandId, productId);
+            if (!owner.equals(before.ownerOf(brandId, productId))) {
+                movedTo.merge(owner, 1, Integer::sum);
+            }
+        });
+
+        // Then
+        assertThat(movedTo).containsOnlyKeys("http://node-d:8080");
+        assertThat(movedTo.get("http://node-d:8080") / (double) (BRANDS * PRODUCTS)).isBetween(0.15, 0.35);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un anillo sin nodos o sin nodos virtuales")
+    void givenNoNodesOrVirtualNodes_whenCreate_thenThrowsException() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 128)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashRing(NODES, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void forEachKey(BiConsumer<Integer, Integer> action) {
+        for (int brandId = 1; brandId <= BRANDS; brandId++) {
+            for (int productId = 1; productId <= PRODUCTS; productId++) {
+                action.accept(brandId, productId);
+            }
+        }
+    }
+}
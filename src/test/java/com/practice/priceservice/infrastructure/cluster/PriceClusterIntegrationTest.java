@@ -0,0 +1,198 @@
+package com.practice.priceservice.infrastructure.cluster;
+
+import com.practice.priceservice.PriceserviceApplication;
+import com.practice.priceservice.infrastructure.memory.InMemoryPriceRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración con dos instancias en localhost, cada una con su H2 (datos de import.sql) y el backend
+ * memory: cada nodo solo carga las claves que le asigna el anillo. La clave del enunciado (35455, 1) se consulta
+ * siempre en el nodo que no es su dueño.
+ */
+@DisplayName("Integration Tests - Consistent-hash cluster")
+class PriceClusterIntegrationTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    private static ConfigurableApplicationContext owner;
+    private static ConfigurableApplicationContext entry;
+    private static String ownerUrl;
+    private static String entryUrl;
+
+    private final HttpClient http = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).build();
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        List<String> nodes = List.of("http://localhost:" + freePort(), "http://localhost:" + freePort());
+        ownerUrl = new ConsistentHashRing(nodes, 128).ownerOf(1, 35455);
+        entryUrl = nodes.get(0).equals(ownerUrl) ? nodes.get(1) : nodes.get(0);
+        owner = start(nodes, ownerUrl);
+        entry = start(nodes, entryUrl);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        entry.close();
+        owner.close();
+    }
+
+    @Test
+    @DisplayName("Cada nodo solo carga en memoria las claves que le pertenecen")
+    void givenTwoNodes_whenLoadingInMemoryIndex_thenOnlyOwnerHoldsKey() {
+        assertThat(owner.getBean(InMemoryPriceRepository.class).findBestPrice(DATE, 35455, 1)).isPresent();
+        assertThat(entry.getBean(InMemoryPriceRepository.class).findBestPrice(DATE, 35455, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Una consulta en el nodo que no es dueño se redirige (307) a la misma URL en el dueño")
+    void givenKeyOfOtherNode_whenGetPrice_thenRedirectsToOwner() throws Exception {
+        // Given
+        String path = "/api/prices?date=2020-06-14T16:00:00&productId=35455&brandId=1";
+
+        // When
+        HttpResponse<String> redirect = http.send(HttpRequest.newBuilder(URI.create(entryUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        String location = redirect.headers().firstValue("Location").orElseThrow();
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(location)).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(redirect.statusCode()).isEqualTo(307);
+        assertThat(location).startsWith(ownerUrl + path + "&redirectedBy=");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("\"priceList\":2");
+    }
+
+    @Test
+    @DisplayName("Una consulta ya redirigida que llega a un nodo que no es dueño falla con 508 en lugar de rebotar")
+    void givenRedirectedRequestToNonOwner_whenGetPrice_thenLoopDetected() throws Exception {
+        // Given
+        String path = "/api/prices?date=2020-06-14T16:00:00&productId=35455&brandId=1&redirectedBy=http://localhost:1";
+
+        // When
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(entryUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(508);
+        assertThat(response.headers().firstValue("Location")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("La línea temporal de una clave ajena también se redirige marcada y el dueño la resuelve")
+    void givenKeyOfOtherNode_whenGetTimeline_thenOwnerAnswersRedirect() throws Exception {
+        // Given
+        String path = "/api/prices/timeline?productId=35455&brandId=1&from=2020-06-14T00:00:00&to=2020-06-14T23:59:59";
+
+        // When
+        HttpResponse<String> redirect = http.send(HttpRequest.newBuilder(URI.create(entryUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        String location = redirect.headers().firstValue("Location").orElseThrow();
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(location)).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(redirect.statusCode()).isEqualTo(307);
+        assertThat(location).startsWith(ownerUrl + path + "&redirectedBy=");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("\"segments\"");
+    }
+
+    @Test
+    @DisplayName("Un lote con claves de ambos nodos se resuelve reenviando al dueño las que no son locales")
+    void givenBatchWithKeysOfBothNodes_whenGetPrices_thenForwardsRemoteKeysAndKeepsOrder() throws Exception {
+        // Given
+        int localProductId = localProductId();
+        String body = """
+                [{"date":"2020-06-14T16:00:00","productId":35455,"brandId":1},
+                 {"date":"2020-06-14T16:00:00","productId":%d,"brandId":1}]""".formatted(localProductId);
+
+        // When
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(entryUrl + "/api/prices/batch"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body())
+                .containsSubsequence("\"productId\":35455", "\"priceList\":2", "\"productId\":" + localProductId, "\"price\":null");
+    }
+
+    @Test
+    @DisplayName("El volcado de una cadena en el nodo que no es dueño incluye las tarifas de los demás nodos")
+    void givenBrandSpreadOverNodes_whenExport_thenAppendsOwnerPart() throws Exception {
+        // Given
+        String path = "/api/prices/export?brandId=1&date=2020-06-14T16:00:00&format=CSV";
+
+        // When
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(entryUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("""
+                productId,brandId,priceList,startDate,endDate,price,currency
+                35455,1,2,2020-06-14T15:00:00,2020-06-14T18:30:00,25.45,EUR
+                """);
+    }
+
+    @Test
+    @DisplayName("Un volcado reenviado por otro nodo solo incluye las claves del nodo que lo recibe")
+    void givenForwardedExport_whenExport_thenWritesOnlyOwnedKeys() throws Exception {
+        // Given
+        String path = "/api/prices/export?brandId=1&date=2020-06-14T16:00:00&format=CSV";
+
+        // When
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(entryUrl + path))
+                        .header(PriceClusterRouter.FORWARDED_HEADER, ownerUrl)
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("productId,brandId,priceList,startDate,endDate,price,currency\n");
+    }
+
+    private static int localProductId() {
+        PriceClusterRouter router = entry.getBean(PriceClusterRouter.class);
+        int productId = 1;
+        while (!router.owns(1, productId)) {
+            productId++;
+        }
+        return productId;
+    }
+
+    private static ConfigurableApplicationContext start(List<String> nodes, String self) {
+        return new SpringApplicationBuilder(PriceserviceApplication.class).run(
+                "--server.port=" + URI.create(self).getPort(),
+                "--spring.datasource.url=jdbc:h2:mem:cluster-" + URI.create(self).getPort(),
+                "--spring.jmx.enabled=false",
+                "--priceservice.repository.type=memory",
+                "--priceservice.cluster.nodes=" + String.join(",", nodes),
+                "--priceservice.cluster.self=" + self);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
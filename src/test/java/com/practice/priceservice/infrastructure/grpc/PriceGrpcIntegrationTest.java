@@ -0,0 +1,62 @@
+package com.practice.priceservice.infrastructure.grpc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración del servidor gRPC: arranca con la aplicación en un puerto libre y se consulta por HTTP/2
+ * con los datos de import.sql.
+ */
+@SpringBootTest(properties = {
+        "priceservice.grpc.port=0",
+        "spring.datasource.url=jdbc:h2:mem:grpcdb"
+})
+@DisplayName("Integration Tests - gRPC price lookup")
+class PriceGrpcIntegrationTest {
+
+    @Autowired
+    private PriceGrpcServer server;
+
+    private PriceGrpcTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = PriceGrpcTestClient.connect(server.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        client.close();
+    }
+
+    @Test
+    @DisplayName("GetPrice a las 16:00 del día 14 devuelve la tarifa 2")
+    void givenDateIs14thJuneAt4pm_whenGetPrice_thenReturnsPriceList2() {
+        PriceLookupReply reply = client.getPrice(new PriceLookupRequest(LocalDateTime.of(2020, 6, 14, 16, 0), 35455, 1));
+
+        assertThat(reply.getPriceList()).isEqualTo(2);
+        assertThat(reply.getPrice()).isEqualTo(25.45);
+    }
+
+    @Test
+    @DisplayName("LookupPrices resuelve los 5 escenarios del enunciado por un único stream")
+    void givenFiveScenarios_whenLookupPrices_thenReturnsExpectedPriceLists() throws Exception {
+        List<PriceLookupReply> replies = client.lookupPrices(List.of(
+                new PriceLookupRequest(LocalDateTime.of(2020, 6, 14, 10, 0), 35455, 1),
+                new PriceLookupRequest(LocalDateTime.of(2020, 6, 14, 16, 0), 35455, 1),
+                new PriceLookupRequest(LocalDateTime.of(2020, 6, 14, 21, 0), 35455, 1),
+                new PriceLookupRequest(LocalDateTime.of(2020, 6, 15, 10, 0), 35455, 1),
+                new PriceLookupRequest(LocalDateTime.of(2020, 6, 16, 21, 0), 35455, 1)));
+
+        assertThat(replies).extracting(PriceLookupReply::getPriceList).containsExactly(1, 2, 1, 3, 4);
+    }
+}
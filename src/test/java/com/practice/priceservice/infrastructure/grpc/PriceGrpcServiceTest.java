@@ -0,0 +1,202 @@
+package com.practice.priceservice.infrastructure.grpc;
+
+import com.practice.priceservice.application.PriceService;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.infrastructure.cluster.PriceClusterRouter;
+import com.practice.priceservice.infrastructure.metrics.PriceMetrics;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para PriceGrpcService a través del transporte en memoria de gRPC, con PriceService mockeado.
+ */
+@DisplayName("Unit Tests - PriceGrpcService")
+class PriceGrpcServiceTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+    private static final Price PRICE = new Price(2L, 1, LocalDateTime.of(2020, 6, 14, 15, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30), 2, 35455, 1, 25.45, "EUR");
+
+    private final PriceService priceService = mock(PriceService.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<PriceClusterRouter> clusterRouter = mock(ObjectProvider.class);
+
+    private PriceGrpcTestClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        client = PriceGrpcTestClient.inProcess(new PriceGrpcService(priceService, new PriceMetrics(meterRegistry), clusterRouter));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        client.close();
+    }
+
+    @Test
+    @DisplayName("GetPrice debe devolver la tarifa ganadora con todos sus campos")
+    void givenPriceExists_whenGetPrice_thenReturnsWinningPrice() {
+        // Given
+        when(priceService.getBestPrice(DATE, 35455, 1)).thenReturn(Optional.of(PRICE));
+
+        // When
+        PriceLookupReply reply = client.getPrice(new PriceLookupRequest(DATE, 35455, 1));
+
+        // Then
+        assertThat(reply.isFound()).isTrue();
+        assertThat(reply.getDate()).isEqualTo(DATE);
+        assertThat(reply.getPriceList()).isEqualTo(2);
+        assertThat(reply.getStartDate()).isEqualTo(PRICE.getStartDate());
+        assertThat(reply.getEndDate()).isEqualTo(PRICE.getEndDate());
+        assertThat(reply.getPrice()).isEqualTo(25.45);
+        assertThat(reply.getCurrency()).isEqualTo("EUR");
+    }
+
+    @Test
+    @DisplayName("GetPrice sin precio aplicable debe terminar con NOT_FOUND")
+    void givenNoPrice_whenGetPrice_thenFailsWithNotFound() {
+        // Given
+        when(priceService.getBestPrice(DATE, 35455, 1)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> client.getPrice(new PriceLookupRequest(DATE, 35455, 1)))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        ex -> assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("GetPrice con una consulta inválida debe terminar con INVALID_ARGUMENT sin consultar el servicio")
+    void givenInvalidRequest_whenGetPrice_thenFailsWithInvalidArgument() {
+        assertThatThrownBy(() -> client.getPrice(new PriceLookupRequest(null, 35455, 1)))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        ex -> assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+        assertThatThrownBy(() -> client.getPrice(new PriceLookupRequest(DATE, 0, 1)))
+                .isInstanceOf(StatusRuntimeException.class);
+
+        verifyNoInteractions(priceService);
+    }
+
+    @Test
+    @DisplayName("GetPrice con un mensaje que no es CBOR debe terminar con INVALID_ARGUMENT y contar el fallo de validación")
+    void givenMalformedMessage_whenGetPrice_thenFailsWithInvalidArgument() {
+        assertThatThrownBy(() -> client.getPrice(new byte[]{(byte) 0xff, 0x01}))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        ex -> assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+
+        assertThat(meterRegistry.get("priceservice.validation.failures").tag("reason", "malformed_message")
+                .counter().count()).isEqualTo(1.0);
+        verifyNoInteractions(priceService);
+    }
+
+    @Test
+    @DisplayName("La marca de mensaje inválido no admite cambios y una consulta vacía no se confunde con ella")
+    void givenMalformedMessage_whenParsedByServer_thenReturnsImmutableMarker() {
+        // Given
+        var method = PriceLookupGrpc.forServer(PriceLookupGrpc.GET_PRICE);
+
+        // When
+        PriceLookupRequest malformed = method.parseRequest(new ByteArrayInputStream(new byte[]{(byte) 0xff, 0x01}));
+
+        // Then
+        assertThat(PriceLookupGrpc.isMalformed(malformed)).isTrue();
+        assertThat(PriceLookupGrpc.isMalformed(new PriceLookupRequest())).isFalse();
+        assertThatThrownBy(() -> malformed.setProductId(35455)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> malformed.setBrandId(1)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> malformed.setDate(LocalDateTime.now())).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("GetPrice de una clave de otro nodo debe terminar con FAILED_PRECONDITION indicando el dueño")
+    void givenKeyOfOtherNode_whenGetPrice_thenFailsWithOwnerHint() {
+        // Given
+        PriceClusterRouter router = mock(PriceClusterRouter.class);
+        when(router.foreignOwner(1, 35455)).thenReturn(Optional.of("http://node-b:8080"));
+        when(clusterRouter.getIfAvailable()).thenReturn(router);
+
+        // When & Then
+        assertThatThrownBy(() -> client.getPrice(new PriceLookupRequest(DATE, 35455, 1)))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, ex -> {
+                    assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.FAILED_PRECONDITION);
+                    assertThat(ex.getTrailers().get(PriceLookupGrpc.OWNER_TRAILER)).isEqualTo("http://node-b:8080");
+                });
+        verifyNoInteractions(priceService);
+    }
+
+    @Test
+    @DisplayName("LookupPrices debe responder las claves propias y cerrar el stream en la primera de otro nodo")
+    void givenKeyOfOtherNodeInStream_whenLookupPrices_thenFailsWithOwnerHint() {
+        // Given
+        PriceClusterRouter router = mock(PriceClusterRouter.class);
+        when(router.foreignOwner(1, 35455)).thenReturn(Optional.empty());
+        when(router.foreignOwner(1, 99999)).thenReturn(Optional.of("http://node-b:8080"));
+        when(clusterRouter.getIfAvailable()).thenReturn(router);
+        when(priceService.getBestPrice(DATE, 35455, 1)).thenReturn(Optional.of(PRICE));
+
+        // When & Then
+        assertThatThrownBy(() -> client.lookupPrices(List.of(
+                new PriceLookupRequest(DATE, 35455, 1),
+                new PriceLookupRequest(DATE, 99999, 1),
+                new PriceLookupRequest(DATE, 35455, 1))))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, ex -> {
+                    assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.FAILED_PRECONDITION);
+                    assertThat(ex.getTrailers().get(PriceLookupGrpc.OWNER_TRAILER)).isEqualTo("http://node-b:8080");
+                });
+        verify(priceService, times(1)).getBestPrice(DATE, 35455, 1);
+        verify(priceService, never()).getBestPrice(DATE, 99999, 1);
+    }
+
+    @Test
+    @DisplayName("LookupPrices debe responder cada consulta del stream en orden, también las que no tienen precio")
+    void givenSeveralRequests_whenLookupPrices_thenRepliesInOrder() throws Exception {
+        // Given
+        when(priceService.getBestPrice(any(), any(), any())).thenReturn(Optional.empty());
+        when(priceService.getBestPrice(DATE, 35455, 1)).thenReturn(Optional.of(PRICE));
+
+        // When
+        List<PriceLookupReply> replies = client.lookupPrices(List.of(
+                new PriceLookupRequest(DATE, 35455, 1),
+                new PriceLookupRequest(DATE, 99999, 1),
+                new PriceLookupRequest(DATE, 35455, 1)));
+
+        // Then
+        assertThat(replies).extracting(PriceLookupReply::getProductId).containsExactly(35455, 99999, 35455);
+        assertThat(replies).extracting(PriceLookupReply::getPriceList).containsExactly(2, null, 2);
+        assertThat(replies.get(1).isFound()).isFalse();
+    }
+
+    @Test
+    @DisplayName("LookupPrices con una consulta inválida debe cerrar el stream con INVALID_ARGUMENT")
+    void givenInvalidRequestInStream_whenLookupPrices_thenFailsWithInvalidArgument() {
+        // Given
+        when(priceService.getBestPrice(DATE, 35455, 1)).thenReturn(Optional.of(PRICE));
+
+        // When & Then
+        assertThatThrownBy(() -> client.lookupPrices(List.of(
+                new PriceLookupRequest(DATE, 35455, 1),
+                new PriceLookupRequest(DATE, 35455, -1),
+                new PriceLookupRequest(DATE, 35455, 1))))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        ex -> assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+        verify(priceService, times(1)).getBestPrice(DATE, 35455, 1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.practice.priceservice.infrastructure.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.StreamObserver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cliente de pruebas de {@link PriceLookupGrpc}. {@link #inProcess} levanta el servicio con el transporte en memoria
+ * de gRPC (los mensajes pasan igualmente por el marshaller CBOR) y {@link #connect} usa HTTP/2 real contra un puerto.
+ */
+final class PriceGrpcTestClient implements AutoCloseable {
+
+    private final ManagedChannel channel;
+    private final Server server;
+
+    private PriceGrpcTestClient(ManagedChannel channel, Server server) {
+        this.channel = channel;
+        this.server = server;
+    }
+
+    static PriceGrpcTestClient inProcess(BindableService service) throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        Server server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        return new PriceGrpcTestClient(InProcessChannelBuilder.forName(name).directExecutor().build(), server);
+    }
+
+    static PriceGrpcTestClient connect(int port) {
+        return new PriceGrpcTestClient(NettyChannelBuilder.forAddress("localhost", port).usePlaintext().build(), null);
+    }
+
+    PriceLookupReply getPrice(PriceLookupRequest request) {
+        return ClientCalls.blockingUnaryCall(channel, PriceLookupGrpc.GET_PRICE, CallOptions.DEFAULT, request);
+    }
+
+    /**
+     * Envía a GetPrice los bytes indicados tal cual, sin pasar por el marshaller CBOR.
+     */
+    PriceLookupReply getPrice(byte[] message) {
+        MethodDescriptor<byte[], PriceLookupReply> method = PriceLookupGrpc.GET_PRICE.toBuilder(new MethodDescriptor.Marshaller<byte[]>() {
+            @Override
+            public InputStream stream(byte[] value) {
+                return new ByteArrayInputStream(value);
+            }
+
+            @Override
+            public byte[] parse(InputStream stream) {
+                throw new UnsupportedOperationException();
+            }
+        }, PriceLookupGrpc.GET_PRICE.getResponseMarshaller()).build();
+        return ClientCalls.blockingUnaryCall(channel, method, CallOptions.DEFAULT, message);
+    }
+
+    /**
+     * Envía todas las consultas por un único stream y espera a que el servidor lo cierre.
+     */
+    List<PriceLookupReply> lookupPrices(List<PriceLookupRequest> requests) throws InterruptedException {
+        List<PriceLookupReply> replies = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        StreamObserver<PriceLookupRequest> requestObserver = ClientCalls.asyncBidiStreamingCall(
+                channel.newCall(PriceLookupGrpc.LOOKUP_PRICES, CallOptions.DEFAULT), new StreamObserver<>() {
+                    @Override
+                    public void onNext(PriceLookupReply reply) {
+                        replies.add(reply);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        done.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        done.complete(null);
+                    }
+                });
+        requests.forEach(requestObserver::onNext);
+        requestObserver.onCompleted();
+        try {
+            done.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException ex) {
+            throw (StatusRuntimeException) ex.getCause();
+        } catch (TimeoutException ex) {
+            throw new AssertionError("El stream no terminó a tiempo", ex);
+        }
+        return List.copyOf(replies);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        if (server != null) {
+            server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
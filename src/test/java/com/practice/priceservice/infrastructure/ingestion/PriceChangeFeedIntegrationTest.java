@@ -0,0 +1,76 @@
+package com.practice.priceservice.infrastructure.ingestion;
+
+import com.practice.priceservice.application.CachingPriceService;
+import com.practice.priceservice.application.PriceService;
+import com.practice.priceservice.domain.Price;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de integración de la ingesta incremental con backend en memoria y caché activa:
+ * el change log se aplica en BD y solo se refrescan las claves afectadas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingestion",
+        "priceservice.repository.type=memory",
+        "priceservice.cache.enabled=true",
+        "priceservice.ingestion.poll-interval=1h"
+})
+@DisplayName("Integration Tests - Price change feed")
+class PriceChangeFeedIntegrationTest {
+
+    private static final LocalDateTime AFTERNOON = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void changeLog(DynamicPropertyRegistry registry) {
+        registry.add("priceservice.ingestion.change-log", () -> directory.resolve("price-changes.jsonl").toString());
+    }
+
+    @Autowired
+    private PriceChangeLogTailer tailer;
+
+    @Autowired
+    private PriceService priceService;
+
+    @Test
+    @DisplayName("Un alta, una modificación y una baja del change log deben verse en la siguiente consulta sin recargar el catálogo")
+    void givenChangeLogLines_whenPoll_thenLookupsSeeTheChanges() throws IOException {
+        // Given
+        assertThat(priceService).isInstanceOf(CachingPriceService.class);
+        assertThat(priceListAt(AFTERNOON)).isEqualTo(2);
+        Files.writeString(directory.resolve("price-changes.jsonl"), """
+                {"op":"DELETE","brandId":1,"productId":35455,"priceList":2,"startDate":"2020-06-14T15:00:00"}
+                {"op":"UPSERT","brandId":1,"productId":35455,"priceList":5,"startDate":"2020-06-14T12:00:00","endDate":"2020-06-14T20:00:00","priority":3,"price":19.99,"currency":"EUR"}
+                {"op":"UPSERT","brandId":1,"productId":35455,"priceList":1,"startDate":"2020-06-14T00:00:00","endDate":"2020-12-31T23:59:59","priority":0,"price":30.00,"currency":"EUR"}
+                """, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        // When
+        tailer.poll();
+
+        // Then
+        assertThat(priceListAt(AFTERNOON)).isEqualTo(5);
+        assertThat(priceService.getBestPrice(AFTERNOON, 35455, 1)).map(Price::getPrice).contains(19.99);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 21, 0))).isEqualTo(1);
+        assertThat(priceService.getBestPrice(LocalDateTime.of(2020, 6, 14, 21, 0), 35455, 1)).map(Price::getPrice).contains(30.00);
+    }
+
+    private Integer priceListAt(LocalDateTime date) {
+        return priceService.getBestPrice(date, 35455, 1).orElseThrow().getPriceList();
+    }
+}
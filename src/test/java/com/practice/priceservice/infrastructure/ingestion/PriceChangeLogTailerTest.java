@@ -0,0 +1,146 @@
+package com.practice.priceservice.infrastructure.ingestion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.priceservice.application.PriceIngestionService;
+import com.practice.priceservice.domain.PriceChange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para PriceChangeLogTailer.
+ * Escribe el change log en un directorio temporal y comprueba qué lotes llegan al servicio de ingesta.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests - PriceChangeLogTailer")
+class PriceChangeLogTailerTest {
+
+    private static final String UPSERT = "{\"op\":\"UPSERT\",\"brandId\":1,\"productId\":35455,\"priceList\":5,"
+            + "\"startDate\":\"2020-07-01T00:00:00\",\"endDate\":\"2020-07-31T23:59:59\",\"priority\":2,\"price\":19.99,\"currency\":\"EUR\"}";
+    private static final String DELETE = "{\"op\":\"DELETE\",\"brandId\":1,\"productId\":35455,\"priceList\":2,"
+            + "\"startDate\":\"2020-06-14T15:00:00\"}";
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private PriceIngestionService ingestionService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("Debe aplicar las líneas completas en orden y dejar la línea a medias para la siguiente pasada")
+    void givenCompleteAndPartialLines_whenPoll_thenAppliesOnlyCompleteLines() throws IOException {
+        // Given
+        Path changeLog = write(UPSERT + "\n" + DELETE.substring(0, 20));
+        PriceChangeLogTailer tailer = tailer(changeLog, 1000);
+
+        // When
+        int first = tailer.poll();
+        Files.writeString(changeLog, DELETE.substring(20) + "\n", StandardOpenOption.APPEND);
+        int second = tailer.poll();
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        List<List<PriceChange>> batches = appliedBatches(2);
+        PriceChange upsert = batches.get(0).get(0);
+        assertThat(upsert.getType()).isEqualTo(PriceChange.Type.UPSERT);
+        assertThat(upsert.getPrice().getStartDate()).isEqualTo(LocalDateTime.of(2020, 7, 1, 0, 0));
+        assertThat(upsert.getPrice().getPrice()).isEqualTo(19.99);
+        assertThat(batches.get(1).get(0).getType()).isEqualTo(PriceChange.Type.DELETE);
+    }
+
+    @Test
+    @DisplayName("Debe agrupar los cambios en lotes del tamaño configurado")
+    void givenMoreLinesThanBatchSize_whenPoll_thenSplitsIntoBatches() throws IOException {
+        // Given
+        Path changeLog = write((UPSERT + "\n").repeat(5));
+        PriceChangeLogTailer tailer = tailer(changeLog, 2);
+
+        // When
+        int applied = tailer.poll();
+
+        // Then
+        assertThat(applied).isEqualTo(5);
+        assertThat(appliedBatches(3)).extracting(List::size).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    @DisplayName("Debe ignorar líneas inválidas o incompletas sin bloquear las siguientes")
+    void givenInvalidLines_whenPoll_thenSkipsThem() throws IOException {
+        // Given
+        Path changeLog = write("no es json\n{\"op\":\"UPSERT\",\"brandId\":1}\n\n"
+                + UPSERT.replace("19.99", "19.995") + "\n" + DELETE + "\n");
+        PriceChangeLogTailer tailer = tailer(changeLog, 1000);
+
+        // When
+        int applied = tailer.poll();
+
+        // Then
+        assertThat(applied).isEqualTo(1);
+        assertThat(appliedBatches(1).get(0)).extracting(PriceChange::getType).containsExactly(PriceChange.Type.DELETE);
+    }
+
+    @Test
+    @DisplayName("Tras reiniciar debe continuar desde la posición guardada sin reaplicar cambios")
+    void givenSavedOffset_whenNewTailerPolls_thenResumesFromOffset() throws IOException {
+        // Given
+        Path changeLog = write(UPSERT + "\n");
+        tailer(changeLog, 1000).poll();
+        Files.writeString(changeLog, DELETE + "\n", StandardOpenOption.APPEND);
+
+        // When
+        int applied = tailer(changeLog, 1000).poll();
+
+        // Then
+        assertThat(applied).isEqualTo(1);
+        assertThat(appliedBatches(2).get(1)).extracting(PriceChange::getType).containsExactly(PriceChange.Type.DELETE);
+    }
+
+    @Test
+    @DisplayName("Sin cambios nuevos no debe llamar al servicio de ingesta")
+    void givenNoNewLines_whenPoll_thenDoesNothing() throws IOException {
+        // Given
+        Path changeLog = write("");
+        PriceChangeLogTailer tailer = tailer(changeLog, 1000);
+
+        // When
+        int applied = tailer.poll();
+
+        // Then
+        assertThat(applied).isZero();
+        verifyNoInteractions(ingestionService);
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("price-changes.jsonl"), content);
+    }
+
+    private PriceChangeLogTailer tailer(Path changeLog, int batchSize) throws IOException {
+        return new PriceChangeLogTailer(ingestionService, objectMapper, changeLog, Duration.ofSeconds(1), batchSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<PriceChange>> appliedBatches(int times) {
+        ArgumentCaptor<List<PriceChange>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ingestionService, times(times)).apply(captor.capture());
+        return captor.getAllValues();
+    }
+}
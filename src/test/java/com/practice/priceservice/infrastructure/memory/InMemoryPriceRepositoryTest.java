@@ -0,0 +1,222 @@
+package com.practice.priceservice.infrastructure.memory;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para InMemoryPriceRepository.
+ * Usa los mismos datos que import.sql para comprobar que el índice resuelve la prioridad igual que la BD.
+ */
+@DisplayName("Unit Tests - InMemoryPriceRepository")
+class InMemoryPriceRepositoryTest {
+
+    private static final Integer PRODUCT_ID = 35455;
+    private static final Integer BRAND_ID = 1;
+
+    private final InMemoryPriceRepository repository = new InMemoryPriceRepository(List.of(
+            new Price(1L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, PRODUCT_ID, 0, 35.50, "EUR"),
+            new Price(2L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 2, PRODUCT_ID, 1, 25.45, "EUR"),
+            new Price(3L, BRAND_ID, LocalDateTime.of(2020, 6, 15, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0), 3, PRODUCT_ID, 1, 30.50, "EUR"),
+            new Price(4L, BRAND_ID, LocalDateTime.of(2020, 6, 15, 16, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 4, PRODUCT_ID, 1, 38.95, "EUR")
+    ));
+
+    @Test
+    @DisplayName("Debe devolver la tarifa de mayor prioridad en los 5 escenarios del enunciado")
+    void givenSeedPrices_whenFindApplicablePrices_thenReturnsWinningPriceList() {
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 10, 0))).isEqualTo(1);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 16, 0))).isEqualTo(2);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 21, 0))).isEqualTo(1);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 15, 10, 0))).isEqualTo(3);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 16, 21, 0))).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Los límites de cada tarifa son inclusivos, igual que el BETWEEN de la consulta JPA")
+    void givenBoundaryDates_whenFindApplicablePrices_thenBoundsAreInclusive() {
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 0, 0))).isEqualTo(1);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 15, 0))).isEqualTo(2);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 18, 30))).isEqualTo(2);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 18, 30, 1))).isEqualTo(1);
+        assertThat(priceListAt(LocalDateTime.of(2020, 12, 31, 23, 59, 59))).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Fuera de cualquier tarifa debe devolver lista vacía")
+    void givenDateOutsideAnyPrice_whenFindApplicablePrices_thenReturnsEmptyList() {
+        assertThat(repository.findApplicablePrices(LocalDateTime.of(2020, 6, 13, 23, 59, 59), PRODUCT_ID, BRAND_ID)).isEmpty();
+        assertThat(repository.findApplicablePrices(LocalDateTime.of(2021, 1, 1, 0, 0), PRODUCT_ID, BRAND_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Para un producto o cadena desconocidos debe devolver lista vacía")
+    void givenUnknownProductOrBrand_whenFindApplicablePrices_thenReturnsEmptyList() {
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+        assertThat(repository.findApplicablePrices(date, 99999, BRAND_ID)).isEmpty();
+        assertThat(repository.findApplicablePrices(date, PRODUCT_ID, 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Entre dos tarifas que no se solapan debe devolver lista vacía")
+    void givenGapBetweenPrices_whenFindApplicablePrices_thenReturnsEmptyList() {
+        // Given
+        InMemoryPriceRepository gapRepository = new InMemoryPriceRepository(List.of(
+                new Price(1L, BRAND_ID, LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 1, 31, 23, 59, 59), 1, PRODUCT_ID, 0, 10.00, "EUR"),
+                new Price(2L, BRAND_ID, LocalDateTime.of(2020, 3, 1, 0, 0), LocalDateTime.of(2020, 3, 31, 23, 59, 59), 2, PRODUCT_ID, 0, 12.00, "EUR")
+        ));
+
+        // When & Then
+        assertThat(gapRepository.findApplicablePrices(LocalDateTime.of(2020, 2, 15, 0, 0), PRODUCT_ID, BRAND_ID)).isEmpty();
+        assertThat(gapRepository.findApplicablePrices(LocalDateTime.of(2020, 3, 1, 0, 0), PRODUCT_ID, BRAND_ID))
+                .extracting(Price::getPriceList)
+                .containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Tras recargar debe servir únicamente los nuevos precios")
+    void givenReload_whenFindApplicablePrices_thenUsesNewPrices() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        repository.reload(List.of(
+                new Price(9L, BRAND_ID, date.minusDays(1), date.plusDays(1), 9, PRODUCT_ID, 0, 19.99, "EUR")
+        ));
+
+        // When
+        List<Price> result = repository.findApplicablePrices(date, PRODUCT_ID, BRAND_ID);
+
+        // Then
+        assertThat(result).extracting(Price::getId).containsExactly(9L);
+    }
+
+    @Test
+    @DisplayName("Un refresco parcial debe sustituir solo las claves indicadas y eliminar las que quedan vacías")
+    void givenRefreshedKeys_whenFindApplicablePrices_thenOnlyThoseKeysChange() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        repository.reload(List.of(
+                new Price(1L, BRAND_ID, date.minusDays(1), date.plusDays(1), 1, PRODUCT_ID, 0, 35.50, "EUR"),
+                new Price(2L, BRAND_ID, date.minusDays(1), date.plusDays(1), 1, 11111, 0, 10.00, "EUR"),
+                new Price(3L, BRAND_ID, date.minusDays(1), date.plusDays(1), 1, 22222, 0, 20.00, "EUR")
+        ));
+
+        // When
+        repository.refresh(Map.of(
+                new PriceKey(BRAND_ID, PRODUCT_ID), List.of(new Price(9L, BRAND_ID, date.minusHours(1), date.plusHours(1), 9, PRODUCT_ID, 1, 19.99, "EUR")),
+                new PriceKey(BRAND_ID, 22222), List.of()
+        ));
+
+        // Then
+        assertThat(repository.findBestPrice(date, PRODUCT_ID, BRAND_ID)).map(Price::getId).contains(9L);
+        assertThat(repository.findBestPrice(date, 11111, BRAND_ID)).map(Price::getId).contains(2L);
+        assertThat(repository.findBestPrice(date, 22222, BRAND_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Recargar una cadena debe sustituir solo sus tarifas y dejar intactas las de las demás")
+    void givenTwoBrands_whenReloadBrand_thenOtherBrandIsUntouched() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        repository.reload(List.of(
+                new Price(1L, BRAND_ID, date.minusDays(1), date.plusDays(1), 1, PRODUCT_ID, 0, 35.50, "EUR"),
+                new Price(2L, BRAND_ID, date.minusDays(1), date.plusDays(1), 1, 11111, 0, 10.00, "EUR"),
+                new Price(3L, 2, date.minusDays(1), date.plusDays(1), 1, PRODUCT_ID, 0, 3550.0, "JPY")
+        ));
+
+        // When
+        repository.reloadBrand(BRAND_ID, List.of(
+                new Price(9L, BRAND_ID, date.minusHours(1), date.plusHours(1), 9, PRODUCT_ID, 1, 19.99, "EUR")
+        ));
+
+        // Then
+        assertThat(repository.findBestPrice(date, PRODUCT_ID, BRAND_ID)).map(Price::getId).contains(9L);
+        assertThat(repository.findBestPrice(date, 11111, BRAND_ID)).isEmpty();
+        assertThat(repository.findBestPrice(date, PRODUCT_ID, 2)).map(Price::getId).contains(3L);
+    }
+
+    @Test
+    @DisplayName("Recargar una cadena con tarifas de otra debe fallar sin modificar el índice")
+    void givenPriceOfAnotherBrand_whenReloadBrand_thenThrowsException() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        List<Price> prices = List.of(new Price(9L, 2, date.minusDays(1), date.plusDays(1), 9, PRODUCT_ID, 0, 19.99, "EUR"));
+
+        // When & Then
+        assertThatThrownBy(() -> repository.reloadBrand(BRAND_ID, prices))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(priceListAt(date)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("En un lote debe devolver el ganador de cada consulta y omitir las que no tienen precio")
+    void givenBatchOfQueries_whenFindApplicablePrices_thenReturnsWinnerPerQuery() {
+        // Given
+        PriceQuery morning = new PriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0), PRODUCT_ID, BRAND_ID);
+        PriceQuery afternoon = new PriceQuery(LocalDateTime.of(2020, 6, 14, 16, 0), PRODUCT_ID, BRAND_ID);
+        PriceQuery unknown = new PriceQuery(LocalDateTime.of(2020, 6, 14, 16, 0), 99999, BRAND_ID);
+
+        // When
+        Map<PriceQuery, List<Price>> result = repository.findApplicablePrices(List.of(morning, afternoon, unknown));
+
+        // Then
+        assertThat(result).containsOnlyKeys(morning, afternoon);
+        assertThat(result.get(morning)).extracting(Price::getPriceList).containsExactly(1);
+        assertThat(result.get(afternoon)).extracting(Price::getPriceList).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Debe devolver las tarifas que ganan en algún tramo del producto")
+    void givenSeedPrices_whenFindPrices_thenReturnsWinningTariffs() {
+        assertThat(repository.findPrices(PRODUCT_ID, BRAND_ID))
+                .extracting(Price::getPriceList)
+                .containsExactlyInAnyOrder(1, 2, 3, 4);
+        assertThat(repository.findPrices(99999, BRAND_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe devolver los tramos ganadores del día sin consultar hora a hora")
+    void givenSeedPrices_whenFindTimeline_thenReturnsDaySegments() {
+        assertThat(repository.findTimeline(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 15, 0, 0), LocalDateTime.of(2020, 6, 15, 23, 59, 59)))
+                .extracting(segment -> segment.getPrice().getPriceList())
+                .containsExactly(3, 1, 4);
+        assertThat(repository.findTimeline(99999, BRAND_ID, LocalDateTime.of(2020, 6, 15, 0, 0), LocalDateTime.of(2020, 6, 15, 23, 59, 59)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("El volcado de una cadena debe emitir el ganador de cada producto ordenado por productId")
+    void givenSeveralProducts_whenForEachBestPrice_thenEmitsWinnerPerProductInOrder() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        repository.reload(List.of(
+                new Price(1L, BRAND_ID, date.minusDays(1), date.plusDays(1), 1, PRODUCT_ID, 0, 35.50, "EUR"),
+                new Price(2L, BRAND_ID, date.minusHours(1), date.plusHours(1), 2, PRODUCT_ID, 1, 25.45, "EUR"),
+                new Price(3L, BRAND_ID, date.minusDays(1), date.plusDays(1), 1, 11111, 0, 10.00, "EUR"),
+                new Price(4L, BRAND_ID, date.plusDays(1), date.plusDays(2), 1, 22222, 0, 20.00, "EUR"),
+                new Price(5L, 2, date.minusDays(1), date.plusDays(1), 1, PRODUCT_ID, 0, 3550.0, "JPY")
+        ));
+        List<Price> exported = new ArrayList<>();
+
+        // When
+        repository.forEachBestPrice(BRAND_ID, date, exported::add);
+
+        // Then
+        assertThat(exported).extracting(Price::getId).containsExactly(3L, 2L);
+    }
+
+    private Integer priceListAt(LocalDateTime date) {
+        List<Price> result = repository.findApplicablePrices(date, PRODUCT_ID, BRAND_ID);
+        assertThat(result).hasSize(1);
+        return result.get(0).getPriceList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.practice.priceservice.infrastructure.metrics;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para MeteredPriceRepository.
+ * Comprueba que delega en el repositorio y registra tiempos por método y tamaño de resultados.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests - MeteredPriceRepository")
+class MeteredPriceRepositoryTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+    private static final Price BASE = new Price(1L, 1, LocalDateTime.of(2020, 6, 14, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 35455, 0, 35.50, "EUR");
+    private static final Price PROMO = new Price(2L, 1, LocalDateTime.of(2020, 6, 14, 15, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30), 2, 35455, 1, 25.45, "EUR");
+
+    @Mock
+    private PriceRepository delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MeteredPriceRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MeteredPriceRepository(delegate, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Debe devolver el resultado del repositorio y medir la consulta por método")
+    void givenDelegateResult_whenFindBestPrice_thenReturnsItAndRecordsTimer() {
+        // Given
+        when(delegate.findBestPrice(DATE, 35455, 1)).thenReturn(Optional.of(PROMO));
+
+        // When
+        Optional<Price> result = repository.findBestPrice(DATE, 35455, 1);
+
+        // Then
+        assertThat(result).contains(PROMO);
+        assertThat(meterRegistry.get(MeteredPriceRepository.QUERY_TIMER).tag("method", "findBestPrice").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("En la búsqueda puntual debe registrar si el backend ha resuelto una tarifa ganadora")
+    void givenFoundAndMissingLookups_whenFindBestPrice_thenRecordsReturnedPrices() {
+        // Given
+        when(delegate.findBestPrice(DATE, 35455, 1)).thenReturn(Optional.of(PROMO));
+        when(delegate.findBestPrice(DATE, 99999, 1)).thenReturn(Optional.empty());
+
+        // When
+        repository.findBestPrice(DATE, 35455, 1);
+        repository.findBestPrice(DATE, 99999, 1);
+
+        // Then
+        var results = meterRegistry.get(MeteredPriceRepository.RESULTS_SUMMARY).tag("method", "findBestPrice").summary();
+        assertThat(results.count()).isEqualTo(2);
+        assertThat(results.totalAmount()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debe registrar el número de tarifas aplicables de cada consulta, también en lotes")
+    void givenApplicablePrices_whenFindApplicablePrices_thenRecordsResultSizes() {
+        // Given
+        PriceQuery found = new PriceQuery(DATE, 35455, 1);
+        PriceQuery missing = new PriceQuery(DATE, 99999, 1);
+        when(delegate.findApplicablePrices(DATE, 35455, 1)).thenReturn(List.of(BASE, PROMO));
+        when(delegate.findApplicablePrices(Set.of(found, missing))).thenReturn(Map.of(found, List.of(BASE, PROMO)));
+
+        // When
+        repository.findApplicablePrices(DATE, 35455, 1);
+        repository.findApplicablePrices(Set.of(found, missing));
+
+        // Then
+        var single = meterRegistry.get(MeteredPriceRepository.RESULTS_SUMMARY).tag("method", "findApplicablePrices").summary();
+        var batch = meterRegistry.get(MeteredPriceRepository.RESULTS_SUMMARY).tag("method", "findApplicablePricesBatch").summary();
+        assertThat(single.count()).isEqualTo(1);
+        assertThat(single.totalAmount()).isEqualTo(2.0);
+        assertThat(batch.count()).isEqualTo(2);
+        assertThat(batch.totalAmount()).isEqualTo(2.0);
+        assertThat(batch.max()).isEqualTo(2.0);
+        assertThat(meterRegistry.get(MeteredPriceRepository.QUERY_TIMER)
+                .tag("method", "findApplicablePricesBatch").timer().count()).isEqualTo(1);
+    }
+}
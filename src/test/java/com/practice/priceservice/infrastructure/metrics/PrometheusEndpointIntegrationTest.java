@@ -0,0 +1,53 @@
+package com.practice.priceservice.infrastructure.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test de integración del endpoint Prometheus: tras unas búsquedas reales deben exportarse
+ * los contadores, timers e histogramas de cada etapa.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DisplayName("Integration Tests - Prometheus metrics")
+class PrometheusEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Debe exportar aciertos, 404, fallos de validación y los histogramas de cada etapa")
+    void givenLookups_whenScrapePrometheus_thenExportsLookupMetrics() throws Exception {
+        mockMvc.perform(get("/api/prices").param("date", "2020-06-14T16:00:00").param("productId", "35455").param("brandId", "1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/prices").param("date", "2019-01-01T10:00:00").param("productId", "35455").param("brandId", "1"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/prices").param("date", "2020-06-14T16:00:00").param("productId", "-1").param("brandId", "1"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("priceservice_lookups_total{outcome=\"hit\"} 1.0")))
+                .andExpect(content().string(containsString("priceservice_lookups_total{outcome=\"not_found\"} 1.0")))
+                .andExpect(content().string(containsString("priceservice_validation_failures_total{reason=\"constraint_violation\"} 1.0")))
+                .andExpect(content().string(containsString("priceservice_repository_query_seconds_count{backend=\"JpaPriceAdapter\",method=\"findPrices\"} 2")))
+                .andExpect(content().string(containsString("priceservice_repository_query_seconds_bucket")))
+                .andExpect(content().string(containsString("priceservice_repository_results_prices_count{backend=\"JpaPriceAdapter\",method=\"findPrices\"} 2")))
+                .andExpect(content().string(containsString("priceservice_repository_results_prices_sum{backend=\"JpaPriceAdapter\",method=\"findPrices\"} 8.0")))
+                .andExpect(content().string(containsString("priceservice_resolution_seconds_count{strategy=\"timeline\"} 2")))
+                .andExpect(content().string(containsString("priceservice_mapping_seconds_bucket")))
+                .andExpect(content().string(containsString("priceservice_serialization_seconds_bucket")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")));
+    }
+}
@@ -1,6 +1,10 @@
 package com.practice.priceservice.infrastructure.persistence;
 
 import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceChange;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceSegment;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,15 +13,23 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 /**
  * Tests unitarios para JpaPriceAdapter.
- * Verifica la conversión correcta entre entidades JPA y objetos de dominio.
+ * Las consultas ya proyectan sobre el dominio; aquí se verifica la delegación y el reparto de los lotes.
+ * La proyección de cada campo se comprueba contra H2 en JpaPriceRepositoryTest.
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Unit Tests - JpaPriceAdapter")
@@ -30,61 +42,19 @@ class JpaPriceAdapterTest {
     private JpaPriceAdapter adapter;
 
     @Test
-    @DisplayName("Debe convertir correctamente entidades JPA a objetos de dominio")
-    void givenJpaEntities_whenFindApplicablePrices_thenConvertsToDomainPrices() {
+    @DisplayName("Debe devolver los precios proyectados por la consulta sin transformarlos")
+    void givenProjectedPrices_whenFindApplicablePrices_thenReturnsThem() {
         // Given
         LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
         Integer productId = 35455;
         Integer brandId = 1;
 
-        JpaPriceEntity entity = new JpaPriceEntity();
-        entity.setId(1L);
-        entity.setBrandId(brandId);
-        entity.setStartDate(date.minusHours(1));
-        entity.setEndDate(date.plusHours(1));
-        entity.setPriceList(2);
-        entity.setProductId(productId);
-        entity.setPriority(1);
-        entity.setPrice(25.45);
-        entity.setCurrency("EUR");
+        Price price1 = createPrice(1L, brandId, productId, 1, 0, 35.50);
+        Price price2 = createPrice(2L, brandId, productId, 2, 1, 25.45);
+        Price price3 = createPrice(3L, brandId, productId, 3, 1, 30.00);
 
         when(jpaPriceRepository.findApplicablePrices(date, productId, brandId))
-                .thenReturn(List.of(entity));
-
-        // When
-        List<Price> result = adapter.findApplicablePrices(date, productId, brandId);
-
-        // Then
-        assertThat(result).hasSize(1);
-
-        Price price = result.get(0);
-        assertThat(price.getId()).isEqualTo(entity.getId());
-        assertThat(price.getBrandId()).isEqualTo(entity.getBrandId());
-        assertThat(price.getStartDate()).isEqualTo(entity.getStartDate());
-        assertThat(price.getEndDate()).isEqualTo(entity.getEndDate());
-        assertThat(price.getPriceList()).isEqualTo(entity.getPriceList());
-        assertThat(price.getProductId()).isEqualTo(entity.getProductId());
-        assertThat(price.getPriority()).isEqualTo(entity.getPriority());
-        assertThat(price.getPrice()).isEqualTo(entity.getPrice());
-        assertThat(price.getCurrency()).isEqualTo(entity.getCurrency());
-
-        verify(jpaPriceRepository, times(1)).findApplicablePrices(date, productId, brandId);
-    }
-
-    @Test
-    @DisplayName("Debe convertir múltiples entidades correctamente")
-    void givenMultipleJpaEntities_whenFindApplicablePrices_thenConvertsAllToDomain() {
-        // Given
-        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
-        Integer productId = 35455;
-        Integer brandId = 1;
-
-        JpaPriceEntity entity1 = createEntity(1L, brandId, productId, 1, 0, 35.50);
-        JpaPriceEntity entity2 = createEntity(2L, brandId, productId, 2, 1, 25.45);
-        JpaPriceEntity entity3 = createEntity(3L, brandId, productId, 3, 1, 30.00);
-
-        when(jpaPriceRepository.findApplicablePrices(date, productId, brandId))
-                .thenReturn(List.of(entity1, entity2, entity3));
+                .thenReturn(List.of(price1, price2, price3));
 
         // When
         List<Price> result = adapter.findApplicablePrices(date, productId, brandId);
@@ -103,8 +73,8 @@ class JpaPriceAdapterTest {
     }
 
     @Test
-    @DisplayName("Cuando no hay entidades, debe devolver lista vacía")
-    void givenNoEntities_whenFindApplicablePrices_thenReturnsEmptyList() {
+    @DisplayName("Cuando no hay precios, debe devolver lista vacía")
+    void givenNoPrices_whenFindApplicablePrices_thenReturnsEmptyList() {
         // Given
         LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
         Integer productId = 99999;
@@ -146,74 +116,232 @@ class JpaPriceAdapterTest {
     }
 
     @Test
-    @DisplayName("Debe preservar todos los campos durante la conversión")
-    void givenEntityWithAllFields_whenConvert_thenAllFieldsArePreserved() {
+    @DisplayName("Debe devolver la tarifa ganadora que proyecta la consulta top-1")
+    void givenTopPrice_whenFindBestPrice_thenReturnsIt() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        Price price = createPrice(2L, 1, 35455, 2, 1, 25.45);
+
+        when(jpaPriceRepository.findTopApplicablePrice(date, 35455, 1)).thenReturn(Optional.of(price));
+
+        // When
+        Optional<Price> result = adapter.findBestPrice(date, 35455, 1);
+
+        // Then
+        assertThat(result).containsSame(price);
+        verify(jpaPriceRepository).findTopApplicablePrice(date, 35455, 1);
+        verifyNoMoreInteractions(jpaPriceRepository);
+    }
+
+    @Test
+    @DisplayName("En un lote debe lanzar una única consulta multi-clave y devolver su resultado")
+    void givenBatchOfQueries_whenFindApplicablePrices_thenRunsSingleQuery() {
+        // Given
+        LocalDateTime morning = LocalDateTime.of(2020, 6, 14, 10, 0);
+        LocalDateTime afternoon = LocalDateTime.of(2020, 6, 14, 16, 0);
+        PriceQuery morningQuery = new PriceQuery(morning, 35455, 1);
+        PriceQuery afternoonQuery = new PriceQuery(afternoon, 35455, 1);
+        List<PriceQuery> queries = List.of(morningQuery, afternoonQuery);
+
+        Price allDay = new Price(1L, 1, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                1, 35455, 0, 35.50, "EUR");
+        Price promo = new Price(2L, 1, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30),
+                2, 35455, 1, 25.45, "EUR");
+        Map<PriceQuery, List<Price>> applicable = Map.of(morningQuery, List.of(allDay), afternoonQuery, List.of(allDay, promo));
+        when(jpaPriceRepository.findApplicablePrices(queries)).thenReturn(applicable);
+
+        // When
+        Map<PriceQuery, List<Price>> result = adapter.findApplicablePrices(queries);
+
+        // Then
+        assertThat(result).isSameAs(applicable);
+        verify(jpaPriceRepository, times(1)).findApplicablePrices(queries);
+        verifyNoMoreInteractions(jpaPriceRepository);
+    }
+
+    @Test
+    @DisplayName("Con un lote vacío no debe consultar la base de datos")
+    void givenEmptyBatch_whenFindApplicablePrices_thenDoesNotQuery() {
+        assertThat(adapter.findApplicablePrices(List.of())).isEmpty();
+
+        verifyNoInteractions(jpaPriceRepository);
+    }
+
+    @Test
+    @DisplayName("Debe devolver todas las tarifas del producto en la cadena, sin filtrar por fecha")
+    void givenProductPrices_whenFindPrices_thenReturnsThem() {
+        // Given
+        when(jpaPriceRepository.findPrices(35455, 1))
+                .thenReturn(List.of(createPrice(1L, 1, 35455, 1, 0, 35.50), createPrice(2L, 1, 35455, 2, 1, 25.45)));
+
+        // When
+        List<Price> result = adapter.findPrices(35455, 1);
+
+        // Then
+        assertThat(result).extracting(Price::getId).containsExactly(1L, 2L);
+        verify(jpaPriceRepository).findPrices(35455, 1);
+    }
+
+    @Test
+    @DisplayName("La línea temporal debe resolverse con una única consulta de ventana y un barrido en memoria")
+    void givenOverlappingPrices_whenFindTimeline_thenResolvesSegmentsFromSingleQuery() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2020, 6, 14, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2020, 6, 14, 23, 59, 59);
+        Price base = new Price(1L, 1, from, LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 35455, 0, 35.50, "EUR");
+        Price promo = new Price(2L, 1, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 2, 35455, 1, 25.45, "EUR");
+
+        when(jpaPriceRepository.findPricesBetween(35455, 1, from, to)).thenReturn(List.of(base, promo));
+
+        // When
+        List<PriceSegment> result = adapter.findTimeline(35455, 1, from, to);
+
+        // Then
+        assertThat(result).extracting(segment -> segment.getPrice().getPriceList()).containsExactly(1, 2, 1);
+        assertThat(result.get(2).getEndDate()).isEqualTo(to.plusNanos(1));
+        verify(jpaPriceRepository).findPricesBetween(35455, 1, from, to);
+        verifyNoMoreInteractions(jpaPriceRepository);
+    }
+
+    @Test
+    @DisplayName("El volcado debe emitir el ganador de cada producto del cursor y cerrarlo al terminar")
+    void givenCursorOrderedByProduct_whenForEachBestPrice_thenEmitsOneWinnerPerProduct() {
         // Given
-        LocalDateTime startDate = LocalDateTime.of(2020, 6, 14, 0, 0);
-        LocalDateTime endDate = LocalDateTime.of(2020, 12, 31, 23, 59, 59);
-        LocalDateTime queryDate = LocalDateTime.of(2020, 6, 14, 16, 0);
-
-        JpaPriceEntity entity = new JpaPriceEntity();
-        entity.setId(123L);
-        entity.setBrandId(5);
-        entity.setStartDate(startDate);
-        entity.setEndDate(endDate);
-        entity.setPriceList(99);
-        entity.setProductId(77777);
-        entity.setPriority(3);
-        entity.setPrice(99.99);
-        entity.setCurrency("USD");
-
-        when(jpaPriceRepository.findApplicablePrices(queryDate, 77777, 5))
-                .thenReturn(List.of(entity));
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(jpaPriceRepository.streamApplicablePrices(1, date)).thenReturn(Stream.of(
+                createPrice(1L, 1, 100, 1, 0, 10.00),
+                createPrice(2L, 1, 100, 2, 1, 8.00),
+                createPrice(3L, 1, 200, 1, 0, 20.00),
+                createPrice(4L, 1, 300, 3, 2, 30.00),
+                createPrice(5L, 1, 300, 1, 0, 35.00)
+        ).onClose(() -> closed.set(true)));
+        List<Price> exported = new ArrayList<>();
 
         // When
-        List<Price> result = adapter.findApplicablePrices(queryDate, 77777, 5);
+        adapter.forEachBestPrice(1, date, exported::add);
 
         // Then
-        assertThat(result).hasSize(1);
-        Price price = result.get(0);
-
-        assertThat(price)
-                .extracting(
-                        Price::getId,
-                        Price::getBrandId,
-                        Price::getStartDate,
-                        Price::getEndDate,
-                        Price::getPriceList,
-                        Price::getProductId,
-                        Price::getPriority,
-                        Price::getPrice,
-                        Price::getCurrency
-                )
-                .containsExactly(
-                        123L,
-                        5,
-                        startDate,
-                        endDate,
-                        99,
-                        77777,
-                        3,
-                        99.99,
-                        "USD"
-                );
-
-        verify(jpaPriceRepository).findApplicablePrices(queryDate, 77777, 5);
-    }
-
-    // Helper method para crear entidades de prueba
-    private JpaPriceEntity createEntity(Long id, Integer brandId, Integer productId,
-                                       Integer priceList, Integer priority, Double price) {
-        JpaPriceEntity entity = new JpaPriceEntity();
+        assertThat(exported).extracting(Price::getId).containsExactly(2L, 3L, 4L);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("El recorrido completo debe emitir las filas del cursor ordenado y cerrarlo al terminar")
+    void givenOrderedCursor_whenForEachPrice_thenEmitsEveryRowAndClosesIt() {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(jpaPriceRepository.streamAllPricesOrdered()).thenReturn(Stream.of(
+                createPrice(1L, 1, 100, 1, 0, 10.00),
+                createPrice(2L, 1, 200, 1, 0, 20.00),
+                createPrice(3L, 2, 100, 1, 0, 30.00)
+        ).onClose(() -> closed.set(true)));
+        List<Price> exported = new ArrayList<>();
+
+        // When
+        adapter.forEachPrice(exported::add);
+
+        // Then
+        assertThat(exported).extracting(Price::getId).containsExactly(1L, 2L, 3L);
+        assertThat(closed).isTrue();
+        verify(jpaPriceRepository).streamAllPricesOrdered();
+        verifyNoMoreInteractions(jpaPriceRepository);
+    }
+
+    @Test
+    @DisplayName("La carga completa debe usar la proyección en lugar de findAll sobre entidades")
+    void whenFindAll_thenUsesProjectionQuery() {
+        // Given
+        when(jpaPriceRepository.findAllPrices()).thenReturn(List.of(createPrice(1L, 1, 35455, 1, 0, 35.50)));
+
+        // When
+        List<Price> result = adapter.findAll();
+
+        // Then
+        assertThat(result).extracting(Price::getId).containsExactly(1L);
+        verify(jpaPriceRepository).findAllPrices();
+        verifyNoMoreInteractions(jpaPriceRepository);
+    }
+
+    @Test
+    @DisplayName("Un UPSERT debe actualizar la tarifa existente con la misma clave o insertar una nueva, con una sola lectura")
+    void givenUpserts_whenApply_thenUpdatesExistingAndInsertsNew() {
+        // Given
+        Price updated = createPrice(null, 1, 35455, 1, 0, 31.00);
+        Price created = createPrice(null, 1, 11111, 7, 1, 9.99);
+        JpaPriceEntity existing = entity(1L, updated);
+        when(jpaPriceRepository.findEntities(Set.of(new PriceKey(1, 35455), new PriceKey(1, 11111))))
+                .thenReturn(List.of(existing));
+
+        // When
+        Set<PriceKey> keys = adapter.apply(List.of(
+                new PriceChange(PriceChange.Type.UPSERT, updated),
+                new PriceChange(PriceChange.Type.UPSERT, created)));
+
+        // Then
+        assertThat(keys).containsExactly(new PriceKey(1, 35455), new PriceKey(1, 11111));
+        assertThat(existing.getPrice()).isEqualTo(31.00);
+        verify(jpaPriceRepository, times(1)).findEntities(any());
+        verify(jpaPriceRepository).deleteAll(List.of());
+        verify(jpaPriceRepository).saveAll(argThat(entities -> entities instanceof Collection<JpaPriceEntity> saved
+                && saved.size() == 2 && saved.contains(existing)
+                && saved.stream().anyMatch(entity -> entity.getId() == null && entity.getPriceList() == 7)));
+    }
+
+    @Test
+    @DisplayName("Un DELETE debe borrar la tarifa si existe e ignorarla si no")
+    void givenDeletes_whenApply_thenDeletesOnlyExisting() {
+        // Given
+        Price removed = createPrice(null, 1, 35455, 2, 1, 25.45);
+        Price missing = createPrice(null, 1, 35455, 8, 1, 25.45);
+        JpaPriceEntity existing = entity(2L, removed);
+        when(jpaPriceRepository.findEntities(Set.of(new PriceKey(1, 35455)))).thenReturn(List.of(existing));
+
+        // When
+        Set<PriceKey> keys = adapter.apply(List.of(
+                new PriceChange(PriceChange.Type.DELETE, removed),
+                new PriceChange(PriceChange.Type.DELETE, missing)));
+
+        // Then
+        assertThat(keys).containsExactly(new PriceKey(1, 35455));
+        verify(jpaPriceRepository).deleteAll(List.of(existing));
+        verify(jpaPriceRepository).saveAll(argThat(entities -> !entities.iterator().hasNext()));
+    }
+
+    @Test
+    @DisplayName("Los cambios de un lote deben aplicarse en orden sobre la misma tarifa")
+    void givenSeveralChangesToSameTariff_whenApply_thenAppliesThemInOrder() {
+        // Given
+        Price created = createPrice(null, 1, 11111, 7, 1, 9.99);
+        Price repriced = new Price(null, 1, created.getStartDate(), created.getEndDate(), 7, 11111, 1, 8.99, "EUR");
+        Price existingPrice = createPrice(null, 1, 35455, 1, 0, 35.50);
+        JpaPriceEntity existing = entity(1L, existingPrice);
+        when(jpaPriceRepository.findEntities(Set.of(new PriceKey(1, 11111), new PriceKey(1, 35455))))
+                .thenReturn(List.of(existing));
+
+        // When
+        adapter.apply(List.of(
+                new PriceChange(PriceChange.Type.UPSERT, created),
+                new PriceChange(PriceChange.Type.UPSERT, repriced),
+                new PriceChange(PriceChange.Type.UPSERT, existingPrice),
+                new PriceChange(PriceChange.Type.DELETE, existingPrice)));
+
+        // Then
+        verify(jpaPriceRepository).deleteAll(List.of(existing));
+        verify(jpaPriceRepository).saveAll(argThat(entities -> entities instanceof Collection<JpaPriceEntity> saved
+                && saved.size() == 1 && saved.iterator().next().getPrice() == 8.99));
+    }
+
+    private JpaPriceEntity entity(Long id, Price price) {
+        JpaPriceEntity entity = new JpaPriceEntity().copyFrom(price);
         entity.setId(id);
-        entity.setBrandId(brandId);
-        entity.setStartDate(LocalDateTime.now().minusDays(1));
-        entity.setEndDate(LocalDateTime.now().plusDays(1));
-        entity.setPriceList(priceList);
-        entity.setProductId(productId);
-        entity.setPriority(priority);
-        entity.setPrice(price);
-        entity.setCurrency("EUR");
         return entity;
     }
+
+    // Helper method para crear precios de prueba
+    private Price createPrice(Long id, Integer brandId, Integer productId,
+                              Integer priceList, Integer priority, Double price) {
+        return new Price(id, brandId, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1),
+                priceList, productId, priority, price, "EUR");
+    }
 }
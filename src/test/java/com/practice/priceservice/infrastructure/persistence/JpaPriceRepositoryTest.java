@@ -0,0 +1,275 @@
+package com.practice.priceservice.infrastructure.persistence;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceKey;
+import com.practice.priceservice.domain.PriceQuery;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests de las consultas de JpaPriceRepository contra H2, con los datos de import.sql.
+ * Verifica que la consulta top-1 resuelve la prioridad en BD igual que PriceTimeline.PRECEDENCE.
+ */
+@DataJpaTest
+@DisplayName("Persistence Tests - JpaPriceRepository")
+class JpaPriceRepositoryTest {
+
+    @Autowired
+    private JpaPriceRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("La consulta top-1 debe devolver la tarifa de mayor prioridad en los 5 escenarios del enunciado")
+    void givenSeedPrices_whenFindTopApplicablePrice_thenReturnsHighestPriority() {
+        assertThat(topPriceList(LocalDateTime.of(2020, 6, 14, 10, 0), 35455)).contains(1);
+        assertThat(topPriceList(LocalDateTime.of(2020, 6, 14, 16, 0), 35455)).contains(2);
+        assertThat(topPriceList(LocalDateTime.of(2020, 6, 14, 21, 0), 35455)).contains(1);
+        assertThat(topPriceList(LocalDateTime.of(2020, 6, 15, 10, 0), 35455)).contains(3);
+        assertThat(topPriceList(LocalDateTime.of(2020, 6, 16, 21, 0), 35455)).contains(4);
+    }
+
+    @Test
+    @DisplayName("Cuando no hay tarifa aplicable, la consulta top-1 debe devolver Optional vacío")
+    void givenNoApplicablePrice_whenFindTopApplicablePrice_thenReturnsEmpty() {
+        assertThat(repository.findTopApplicablePrice(LocalDateTime.of(2019, 1, 1, 10, 0), 35455, 1)).isEmpty();
+        assertThat(repository.findTopApplicablePrice(LocalDateTime.of(2020, 6, 14, 10, 0), 99999, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A igual prioridad debe ganar la que empezó más tarde y después el mayor priceList")
+    void givenEqualPriorities_whenFindTopApplicablePrice_thenAppliesTieBreakRule() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2021, 3, 15, 12, 0);
+        persist(70001, LocalDateTime.of(2021, 3, 1, 0, 0), 10, 2);
+        persist(70001, LocalDateTime.of(2021, 3, 10, 0, 0), 11, 2);
+        persist(70002, LocalDateTime.of(2021, 3, 1, 0, 0), 21, 2);
+        persist(70002, LocalDateTime.of(2021, 3, 1, 0, 0), 22, 2);
+        persist(70002, LocalDateTime.of(2021, 3, 12, 0, 0), 20, 1);
+
+        // When & Then
+        assertThat(topPriceList(date, 70001)).contains(11);
+        assertThat(topPriceList(date, 70002)).contains(22);
+    }
+
+    @Test
+    @DisplayName("La tabla price debe tener el índice compuesto de búsqueda")
+    void whenSchemaIsCreated_thenLookupIndexExists() {
+        @SuppressWarnings("unchecked")
+        List<String> columns = entityManager.createNativeQuery(
+                        "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS WHERE INDEX_NAME = 'IDX_PRICE_LOOKUP' ORDER BY ORDINAL_POSITION")
+                .getResultList();
+
+        assertThat(columns).containsExactly("BRAND_ID", "PRODUCT_ID", "START_DATE", "END_DATE", "PRIORITY");
+    }
+
+    private Optional<Integer> topPriceList(LocalDateTime date, Integer productId) {
+        return repository.findTopApplicablePrice(date, productId, 1).map(Price::getPriceList);
+    }
+
+    @Test
+    @DisplayName("La proyección debe preservar todos los campos de la fila")
+    void givenStoredRow_whenFindPrices_thenProjectionPreservesAllFields() {
+        // Given
+        LocalDateTime startDate = LocalDateTime.of(2020, 6, 14, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2020, 12, 31, 23, 59, 59);
+        JpaPriceEntity entity = new JpaPriceEntity();
+        entity.setBrandId(5);
+        entity.setProductId(77777);
+        entity.setStartDate(startDate);
+        entity.setEndDate(endDate);
+        entity.setPriceList(99);
+        entity.setPriority(3);
+        entity.setPrice(99.99);
+        entity.setCurrency("USD");
+        entityManager.persist(entity);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Price> result = repository.findPrices(77777, 5);
+
+        // Then
+        assertThat(result).singleElement()
+                .extracting(
+                        Price::getId,
+                        Price::getBrandId,
+                        Price::getStartDate,
+                        Price::getEndDate,
+                        Price::getPriceList,
+                        Price::getProductId,
+                        Price::getPriority,
+                        Price::getPrice,
+                        Price::getCurrency
+                )
+                .containsExactly(entity.getId(), 5, startDate, endDate, 99, 77777, 3, 99.99, "USD");
+    }
+
+    @Test
+    @DisplayName("La carga completa debe proyectar todas las filas de import.sql")
+    void givenSeedPrices_whenFindAllPrices_thenReturnsEveryRow() {
+        assertThat(repository.findAllPrices())
+                .extracting(Price::getPriceList)
+                .containsExactlyInAnyOrder(1, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("El cursor completo debe devolver todas las filas ordenadas por cadena, producto e inicio")
+    void givenSeveralBrands_whenStreamAllPricesOrdered_thenReturnsRowsInSnapshotOrder() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 0, 0);
+        entityManager.persist(new JpaPriceEntity().copyFrom(new Price(null, 2, date, date.plusDays(1), 7, 1, 0, 9.99, "EUR")));
+        entityManager.persist(new JpaPriceEntity().copyFrom(new Price(null, 1, date, date.plusDays(1), 8, 99999, 0, 9.99, "EUR")));
+        entityManager.flush();
+
+        // When
+        List<Price> result;
+        try (Stream<Price> prices = repository.streamAllPricesOrdered()) {
+            result = prices.toList();
+        }
+
+        // Then
+        assertThat(result)
+                .extracting(Price::getBrandId, Price::getProductId, Price::getPriceList)
+                .containsExactly(
+                        tuple(1, 35455, 1),
+                        tuple(1, 35455, 2),
+                        tuple(1, 35455, 3),
+                        tuple(1, 35455, 4),
+                        tuple(1, 99999, 8),
+                        tuple(2, 1, 7));
+    }
+
+    @Test
+    @DisplayName("La consulta de ventana debe devolver solo las tarifas que la solapan")
+    void givenSeedPrices_whenFindPricesBetween_thenReturnsOverlappingRows() {
+        assertThat(repository.findPricesBetween(35455, 1, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 14, 23, 59, 59)))
+                .extracting(Price::getPriceList)
+                .containsExactlyInAnyOrder(1, 2);
+        assertThat(repository.findPricesBetween(35455, 1, LocalDateTime.of(2020, 6, 15, 11, 0), LocalDateTime.of(2020, 6, 15, 16, 0)))
+                .extracting(Price::getPriceList)
+                .containsExactlyInAnyOrder(1, 3, 4);
+    }
+
+    @Test
+    @DisplayName("El cursor de una cadena debe devolver las tarifas aplicables ordenadas por producto")
+    void givenSeveralProducts_whenStreamApplicablePrices_thenReturnsApplicableRowsByProduct() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        JpaPriceEntity other = new JpaPriceEntity().copyFrom(
+                new Price(null, 1, date.minusDays(1), date.plusDays(1), 7, 10000, 0, 9.99, "EUR"));
+        entityManager.persist(other);
+        entityManager.flush();
+
+        // When
+        List<Price> result;
+        try (Stream<Price> prices = repository.streamApplicablePrices(1, date)) {
+            result = prices.toList();
+        }
+
+        // Then
+        assertThat(result).extracting(Price::getProductId).containsExactly(10000, 35455, 35455);
+        assertThat(result.get(0).getPriceList()).isEqualTo(7);
+        assertThat(result.subList(1, 3)).extracting(Price::getPriceList).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    @DisplayName("La consulta multi-clave debe devolver las tarifas aplicables de cada consulta y nada del producto cartesiano")
+    void givenSeveralQueries_whenFindApplicablePricesInBatch_thenReturnsApplicableRowsPerQuery() {
+        // Given
+        LocalDateTime morning = LocalDateTime.of(2020, 6, 14, 10, 0);
+        LocalDateTime afternoon = LocalDateTime.of(2020, 6, 14, 16, 0);
+        entityManager.persist(new JpaPriceEntity().copyFrom(
+                new Price(null, 2, morning.minusDays(1), morning.plusDays(1), 5, 12345, 0, 10.00, "EUR")));
+        // Cadena 1 y producto 12345: encaja en los IN de cadenas y productos, pero ninguna consulta lo pide
+        entityManager.persist(new JpaPriceEntity().copyFrom(
+                new Price(null, 1, morning.minusDays(1), morning.plusDays(1), 6, 12345, 0, 10.00, "EUR")));
+        entityManager.flush();
+
+        PriceQuery morningQuery = new PriceQuery(morning, 35455, 1);
+        PriceQuery afternoonQuery = new PriceQuery(afternoon, 35455, 1);
+        PriceQuery otherBrandQuery = new PriceQuery(morning, 12345, 2);
+        PriceQuery missingQuery = new PriceQuery(morning, 99999, 1);
+
+        // When
+        Map<PriceQuery, List<Price>> result = repository.findApplicablePrices(
+                List.of(morningQuery, afternoonQuery, otherBrandQuery, missingQuery));
+
+        // Then
+        assertThat(result).containsOnlyKeys(morningQuery, afternoonQuery, otherBrandQuery);
+        assertThat(result.get(morningQuery)).extracting(Price::getPriceList).containsExactly(1);
+        assertThat(result.get(afternoonQuery)).extracting(Price::getPriceList).containsExactlyInAnyOrder(1, 2);
+        assertThat(result.get(otherBrandQuery)).singleElement()
+                .extracting(Price::getBrandId, Price::getProductId, Price::getPriceList, Price::getStartDate)
+                .containsExactly(2, 12345, 5, morning.minusDays(1));
+    }
+
+    @Test
+    @DisplayName("La consulta multi-clave por producto debe devolver todas las tarifas de cada clave pedida")
+    void givenSeveralKeys_whenFindPricesInBatch_thenReturnsAllRowsPerKey() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 10, 0);
+        entityManager.persist(new JpaPriceEntity().copyFrom(
+                new Price(null, 2, date.minusDays(1), date.plusDays(1), 5, 12345, 0, 10.00, "EUR")));
+        entityManager.persist(new JpaPriceEntity().copyFrom(
+                new Price(null, 1, date.minusDays(1), date.plusDays(1), 6, 12345, 0, 10.00, "EUR")));
+        entityManager.flush();
+
+        PriceKey seed = new PriceKey(1, 35455);
+        PriceKey otherBrand = new PriceKey(2, 12345);
+
+        // When
+        Map<PriceKey, List<Price>> result = repository.findPrices(List.of(seed, otherBrand, seed, new PriceKey(1, 99999)));
+
+        // Then
+        assertThat(result).containsOnlyKeys(seed, otherBrand);
+        assertThat(result.get(seed)).extracting(Price::getPriceList).containsExactlyInAnyOrder(1, 2, 3, 4);
+        assertThat(result.get(otherBrand)).extracting(Price::getPriceList).containsExactly(5);
+    }
+
+    @Test
+    @DisplayName("La consulta multi-clave de entidades debe devolver las filas gestionadas de cada producto pedido")
+    void givenSeveralKeys_whenFindEntities_thenReturnsManagedRowsOfThoseKeys() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 10, 0);
+        entityManager.persist(new JpaPriceEntity().copyFrom(
+                new Price(null, 2, date.minusDays(1), date.plusDays(1), 5, 12345, 0, 10.00, "EUR")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<JpaPriceEntity> entities = repository.findEntities(
+                List.of(new PriceKey(1, 35455), new PriceKey(2, 12345), new PriceKey(1, 99999)));
+
+        // Then
+        assertThat(entities).extracting(JpaPriceEntity::getBrandId, JpaPriceEntity::getPriceList)
+                .containsExactlyInAnyOrder(tuple(1, 1), tuple(1, 2), tuple(1, 3), tuple(1, 4), tuple(2, 5));
+        assertThat(entities).allMatch(entityManager::contains);
+    }
+
+    private void persist(Integer productId, LocalDateTime startDate, Integer priceList, Integer priority) {
+        JpaPriceEntity entity = new JpaPriceEntity();
+        entity.setBrandId(1);
+        entity.setProductId(productId);
+        entity.setStartDate(startDate);
+        entity.setEndDate(startDate.plusMonths(1));
+        entity.setPriceList(priceList);
+        entity.setPriority(priority);
+        entity.setPrice(10.00);
+        entity.setCurrency("EUR");
+        entityManager.persist(entity);
+    }
+}
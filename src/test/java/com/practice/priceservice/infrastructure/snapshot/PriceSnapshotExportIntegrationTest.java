@@ -0,0 +1,46 @@
+package com.practice.priceservice.infrastructure.snapshot;
+
+import com.practice.priceservice.domain.Price;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de integración de la exportación al arrancar: el cursor ordenado sobre la tabla de import.sql
+ * debe producir un snapshot que SnapshotPriceRepository puede mapear y consultar.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:snapshotexport")
+@DisplayName("Integration Tests - Price snapshot export")
+class PriceSnapshotExportIntegrationTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void exportPath(DynamicPropertyRegistry registry) {
+        registry.add("priceservice.snapshot.export-path", () -> directory.resolve("prices.snapshot").toString());
+    }
+
+    @Test
+    @DisplayName("El snapshot exportado al arrancar debe contener todas las tarifas y resolver los escenarios del enunciado")
+    void givenExportAtStartup_whenOpenSnapshot_thenResolvesSeedPrices() {
+        // Given
+        SnapshotPriceRepository snapshot = new SnapshotPriceRepository(directory.resolve("prices.snapshot"));
+
+        // When
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+        // Then
+        assertThat(snapshot.size()).isEqualTo(4);
+        assertThat(snapshot.findBestPrice(date, 35455, 1)).map(Price::getPriceList).contains(2);
+        assertThat(snapshot.findPrices(35455, 1)).extracting(Price::getPriceList).containsExactly(1, 2, 3, 4);
+    }
+}
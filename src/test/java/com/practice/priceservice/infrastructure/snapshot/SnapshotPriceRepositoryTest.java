@@ -0,0 +1,170 @@
+package com.practice.priceservice.infrastructure.snapshot;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para SnapshotPriceRepository.
+ * Escribe los datos de import.sql (más otra cadena y otro producto) con PriceSnapshotWriter y los lee mapeados.
+ */
+@DisplayName("Unit Tests - SnapshotPriceRepository")
+class SnapshotPriceRepositoryTest {
+
+    private static final Integer PRODUCT_ID = 35455;
+    private static final Integer BRAND_ID = 1;
+
+    private static final List<Price> PRICES = List.of(
+            new Price(4L, BRAND_ID, LocalDateTime.of(2020, 6, 15, 16, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 4, PRODUCT_ID, 1, 38.95, "EUR"),
+            new Price(1L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, PRODUCT_ID, 0, 35.50, "EUR"),
+            new Price(5L, 2, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, PRODUCT_ID, 0, 3550.0, "JPY"),
+            new Price(3L, BRAND_ID, LocalDateTime.of(2020, 6, 15, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0), 3, PRODUCT_ID, 1, 30.50, "EUR"),
+            new Price(6L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 1, 0, 9.99, "USD"),
+            new Price(2L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 2, PRODUCT_ID, 1, 25.45, "EUR")
+    );
+
+    @TempDir
+    private Path directory;
+
+    private SnapshotPriceRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path snapshot = directory.resolve("prices.snapshot");
+        new PriceSnapshotWriter().write(PRICES, snapshot);
+        repository = new SnapshotPriceRepository(snapshot);
+    }
+
+    @Test
+    @DisplayName("Debe devolver la tarifa de mayor prioridad en los 5 escenarios del enunciado")
+    void givenSeedPrices_whenFindBestPrice_thenReturnsWinningPriceList() {
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 10, 0))).isEqualTo(1);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 16, 0))).isEqualTo(2);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 21, 0))).isEqualTo(1);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 15, 10, 0))).isEqualTo(3);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 16, 21, 0))).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Los límites de cada tarifa son inclusivos, igual que el BETWEEN de la consulta JPA")
+    void givenBoundaryDates_whenFindBestPrice_thenBoundsAreInclusive() {
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 18, 30))).isEqualTo(2);
+        assertThat(priceListAt(LocalDateTime.of(2020, 6, 14, 18, 30, 0, 1))).isEqualTo(1);
+        assertThat(repository.findBestPrice(LocalDateTime.of(2020, 12, 31, 23, 59, 59, 1), PRODUCT_ID, BRAND_ID)).isEmpty();
+        assertThat(repository.findBestPrice(LocalDateTime.of(2020, 6, 13, 23, 59, 59), PRODUCT_ID, BRAND_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir todos los campos del precio, incluidos importe y divisa")
+    void givenSnapshot_whenFindPrices_thenRoundTripsEveryField() {
+        assertThat(repository.size()).isEqualTo(PRICES.size());
+        assertThat(repository.findPrices(PRODUCT_ID, BRAND_ID))
+                .extracting(Price::getId)
+                .containsExactly(1L, 2L, 3L, 4L);
+        assertThat(repository.findPrices(PRODUCT_ID, 2))
+                .singleElement()
+                .usingRecursiveComparison()
+                .isEqualTo(PRICES.get(2));
+        assertThat(repository.findPrices(1, BRAND_ID))
+                .singleElement()
+                .usingRecursiveComparison()
+                .isEqualTo(PRICES.get(4));
+    }
+
+    @Test
+    @DisplayName("Debe devolver todas las tarifas aplicables y resolver las consultas por lotes")
+    void givenQueries_whenFindApplicablePrices_thenReturnsApplicablePricesPerQuery() {
+        PriceQuery overlapping = new PriceQuery(LocalDateTime.of(2020, 6, 14, 16, 0), PRODUCT_ID, BRAND_ID);
+        PriceQuery otherBrand = new PriceQuery(LocalDateTime.of(2020, 6, 14, 16, 0), PRODUCT_ID, 2);
+        PriceQuery unknown = new PriceQuery(LocalDateTime.of(2020, 6, 14, 16, 0), 99999, BRAND_ID);
+
+        Map<PriceQuery, List<Price>> result = repository.findApplicablePrices(List.of(overlapping, otherBrand, unknown));
+
+        assertThat(result).containsOnlyKeys(overlapping, otherBrand);
+        assertThat(result.get(overlapping)).extracting(Price::getPriceList).containsExactlyInAnyOrder(1, 2);
+        assertThat(result.get(otherBrand)).extracting(Price::getCurrency).containsExactly("JPY");
+    }
+
+    @Test
+    @DisplayName("Debe resolver la línea temporal de una ventana solo con las filas que la solapan")
+    void givenWindow_whenFindTimeline_thenReturnsWinningSegments() {
+        assertThat(repository.findTimeline(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 14, 23, 59, 59)))
+                .extracting(segment -> segment.getPrice().getPriceList())
+                .containsExactly(1, 2, 1);
+        assertThat(repository.findTimeline(PRODUCT_ID, 2, LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2021, 1, 7, 0, 0)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("El volcado de una cadena debe recorrer sus filas y emitir el ganador de cada producto")
+    void givenBrand_whenForEachBestPrice_thenEmitsWinnerPerProductInOrder() {
+        List<Price> exported = new ArrayList<>();
+
+        repository.forEachBestPrice(BRAND_ID, LocalDateTime.of(2020, 6, 14, 16, 0), exported::add);
+
+        assertThat(exported).extracting(Price::getId).containsExactly(6L, 2L);
+    }
+
+    @Test
+    @DisplayName("La escritura en streaming debe producir el mismo snapshot que la de una colección ordenada en memoria")
+    void givenOrderedSource_whenWriteStreaming_thenWritesSameSnapshot() throws IOException {
+        // Given
+        List<Price> ordered = PRICES.stream()
+                .sorted(Comparator.comparing(Price::getBrandId)
+                        .thenComparing(Price::getProductId)
+                        .thenComparing(Price::getStartDate))
+                .toList();
+        Path streamed = directory.resolve("streamed.snapshot");
+
+        // When
+        int rows = new PriceSnapshotWriter().write(ordered::forEach, streamed);
+
+        // Then
+        assertThat(rows).isEqualTo(PRICES.size());
+        assertThat(streamed).hasSameBinaryContentAs(directory.resolve("prices.snapshot"));
+        assertThat(directory.resolve("streamed.snapshot.tmp")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("La escritura en streaming debe rechazar filas desordenadas sin dejar el destino ni ficheros temporales")
+    void givenUnorderedSource_whenWriteStreaming_thenFailsWithoutTarget() throws IOException {
+        // Given
+        Path target = Files.createDirectory(directory.resolve("unordered")).resolve("prices.snapshot");
+
+        // When & Then
+        assertThatThrownBy(() -> new PriceSnapshotWriter().write(PRICES::forEach, target))
+                .isInstanceOf(IllegalArgumentException.class);
+        try (Stream<Path> files = Files.list(target.getParent())) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar ficheros que no son un snapshot de precios")
+    void givenForeignFile_whenOpenSnapshot_thenThrowsIllegalArgumentException() throws IOException {
+        Path foreign = Files.write(directory.resolve("foreign.bin"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+
+        assertThatThrownBy(() -> new SnapshotPriceRepository(foreign))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Integer priceListAt(LocalDateTime date) {
+        return repository.findBestPrice(date, PRODUCT_ID, BRAND_ID).orElseThrow().getPriceList();
+    }
+}
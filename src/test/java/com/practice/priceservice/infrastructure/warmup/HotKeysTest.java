@@ -0,0 +1,80 @@
+package com.practice.priceservice.infrastructure.warmup;
+
+import com.practice.priceservice.domain.PriceKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para HotKeys.
+ */
+@DisplayName("Unit Tests - HotKeys")
+class HotKeysTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Debe leer claves de líneas brandId,productId y de líneas de access log")
+    void givenCsvAndAccessLogLines_whenParse_thenExtractsKey() {
+        assertThat(HotKeys.parse("1,35455")).contains(new PriceKey(1, 35455));
+        assertThat(HotKeys.parse(" 2 , 10 ")).contains(new PriceKey(2, 10));
+        assertThat(HotKeys.parse("127.0.0.1 - - [14/Jun/2020:16:00:00 +0000] "
+                + "\"GET /api/prices?date=2020-06-14T16:00:00&productId=35455&brandId=1 HTTP/1.1\" 200 142"))
+                .contains(new PriceKey(1, 35455));
+        assertThat(HotKeys.parse("\"GET /api/prices/timeline?brandId=3&productId=7&from=a&to=b HTTP/1.1\""))
+                .contains(new PriceKey(3, 7));
+    }
+
+    @Test
+    @DisplayName("Debe ignorar comentarios, líneas vacías y líneas sin clave completa")
+    void givenLinesWithoutKey_whenParse_thenReturnsEmpty() {
+        assertThat(HotKeys.parse("# brandId,productId")).isEmpty();
+        assertThat(HotKeys.parse("   ")).isEmpty();
+        assertThat(HotKeys.parse("\"GET /actuator/prometheus HTTP/1.1\" 200")).isEmpty();
+        assertThat(HotKeys.parse("\"GET /api/prices?productId=35455 HTTP/1.1\" 400")).isEmpty();
+        assertThat(HotKeys.parse("1,99999999999")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe devolver las claves más frecuentes primero, hasta el máximo indicado")
+    void givenRepeatedKeys_whenRead_thenReturnsMostFrequentFirst() throws IOException {
+        // Given
+        Path file = directory.resolve("hot-keys.log");
+        Files.write(file, List.of(
+                "1,100",
+                "\"GET /api/prices?date=2020-06-14T16:00:00&productId=200&brandId=1 HTTP/1.1\" 200 142",
+                "1,200",
+                "1,300",
+                "1,200",
+                "1,300",
+                "1,200"));
+
+        // When
+        List<PriceKey> keys = HotKeys.read(file, 2);
+
+        // Then
+        assertThat(keys).containsExactly(new PriceKey(1, 200), new PriceKey(1, 300));
+    }
+
+    @Test
+    @DisplayName("Las claves que no cumplen el filtro no deben contar para el máximo")
+    void givenFilter_whenRead_thenFillsMaximumWithMatchingKeysOnly() throws IOException {
+        // Given
+        Path file = directory.resolve("hot-keys.log");
+        Files.write(file, List.of("1,100", "1,100", "1,100", "1,200", "1,200", "1,300"));
+
+        // When
+        List<PriceKey> keys = HotKeys.read(file, 2, key -> key.getProductId() != 100);
+
+        // Then
+        assertThat(keys).containsExactly(new PriceKey(1, 200), new PriceKey(1, 300));
+    }
+}
@@ -0,0 +1,59 @@
+package com.practice.priceservice.infrastructure.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test de integración del calentamiento: con la caché activada y un fichero de claves calientes, al terminar el
+ * arranque la clave del enunciado ya está en caché y la aplicación se declara lista.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmup",
+        "priceservice.cache.enabled=true",
+        "priceservice.warmup.iterations=2"
+})
+@AutoConfigureMockMvc
+@DisplayName("Integration Tests - Startup warm-up")
+class PriceWarmupIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void hotKeys(DynamicPropertyRegistry registry) throws IOException {
+        Path keys = Files.createTempFile("hot-keys", ".csv");
+        keys.toFile().deleteOnExit();
+        Files.write(keys, List.of("# brandId,productId", "1,35455"));
+        registry.add("priceservice.warmup.keys-path", keys::toString);
+    }
+
+    @Test
+    @DisplayName("Tras el arranque la clave caliente debe estar en caché y el readiness probe en UP")
+    void givenHotKeysFile_whenApplicationStarted_thenCacheIsWarmAndReady() throws Exception {
+        assertThat(meterRegistry.get("cache.size").tag("cache", "price-timelines").gauge().value()).isGreaterThanOrEqualTo(1);
+
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+}
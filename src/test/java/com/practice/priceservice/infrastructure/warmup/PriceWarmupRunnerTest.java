@@ -0,0 +1,133 @@
+package com.practice.priceservice.infrastructure.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.priceservice.application.PriceService;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceSegment;
+import com.practice.priceservice.infrastructure.cluster.PriceClusterRouter;
+import com.practice.priceservice.infrastructure.web.dto.PriceResponse;
+import com.practice.priceservice.infrastructure.web.mapper.PriceMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para PriceWarmupRunner.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests - PriceWarmupRunner")
+class PriceWarmupRunnerTest {
+
+    private static final Price PRICE = new Price(2L, 1, LocalDateTime.of(2020, 6, 14, 15, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30), 2, 35455, 1, 25.45, "EUR");
+    private static final PriceResponse RESPONSE = new PriceResponse(35455, 1, 2, PRICE.getStartDate(),
+            PRICE.getEndDate(), 25.45, "EUR");
+
+    @Mock
+    private PriceService priceService;
+
+    @Mock
+    private PriceMapper priceMapper;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private ObjectProvider<PriceClusterRouter> clusterRouter;
+
+    @Mock
+    private PriceClusterRouter router;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Cada iteración debe consultar cada clave, resolverlas en lote y serializar los precios encontrados")
+    void givenHotKeys_whenRun_thenLooksUpMapsAndSerializesEachIteration() throws Exception {
+        // Given
+        Path keys = keysFile("1,35455", "1,99999");
+        when(priceService.getEffectivePrice(any(), eq(35455), eq(1)))
+                .thenReturn(Optional.of(new PriceSegment(PRICE.getStartDate(), PRICE.getEndDate(), PRICE)));
+        when(priceService.getEffectivePrice(any(), eq(99999), eq(1))).thenReturn(Optional.empty());
+        when(priceService.getBestPrices(anyList())).thenReturn(List.of(Optional.of(PRICE), Optional.empty()));
+        when(priceMapper.toResponse(PRICE)).thenReturn(RESPONSE);
+
+        // When
+        runner(keys, 3).run(new DefaultApplicationArguments());
+
+        // Then
+        verify(priceService, times(3)).getEffectivePrice(any(), eq(35455), eq(1));
+        verify(priceService, times(3)).getEffectivePrice(any(), eq(99999), eq(1));
+        verify(priceService, times(3)).getBestPrices(argThat(queries -> queries.size() == 2));
+        verify(objectMapper, times(6)).writeValueAsBytes(RESPONSE);
+    }
+
+    @Test
+    @DisplayName("En un cluster solo debe calentar las claves de este nodo")
+    void givenClusterNode_whenRun_thenWarmsOnlyOwnedKeys() throws Exception {
+        // Given
+        Path keys = keysFile("1,35455", "1,99999");
+        when(clusterRouter.getIfAvailable()).thenReturn(router);
+        when(router.owns(1, 35455)).thenReturn(false);
+        when(router.owns(1, 99999)).thenReturn(true);
+        when(priceService.getEffectivePrice(any(), eq(99999), eq(1))).thenReturn(Optional.empty());
+        when(priceService.getBestPrices(anyList())).thenReturn(List.of(Optional.empty()));
+
+        // When
+        runner(keys, 1).run(new DefaultApplicationArguments());
+
+        // Then
+        verify(priceService).getEffectivePrice(any(), eq(99999), eq(1));
+        verify(priceService, never()).getEffectivePrice(any(), eq(35455), any());
+        verify(priceService).getBestPrices(argThat(queries -> queries.size() == 1 && queries.get(0).getProductId() == 99999));
+    }
+
+    @Test
+    @DisplayName("Sin fichero de claves debe arrancar igualmente sin consultar nada")
+    void givenMissingKeysFile_whenRun_thenSkipsWarmup() {
+        PriceWarmupRunner runner = runner(directory.resolve("missing.log"), 3);
+
+        assertThatCode(() -> runner.run(new DefaultApplicationArguments())).doesNotThrowAnyException();
+        verifyNoInteractions(priceService);
+    }
+
+    @Test
+    @DisplayName("Un fallo durante el calentamiento no debe impedir el arranque")
+    void givenServiceFailure_whenRun_thenStopsWithoutThrowing() throws IOException {
+        // Given
+        Path keys = keysFile("1,35455");
+        when(priceService.getEffectivePrice(any(), any(), any())).thenThrow(new IllegalStateException("BD no disponible"));
+        PriceWarmupRunner runner = runner(keys, 3);
+
+        // When & Then
+        assertThatCode(() -> runner.run(new DefaultApplicationArguments())).doesNotThrowAnyException();
+        verify(priceService, times(1)).getEffectivePrice(any(), any(), any());
+    }
+
+    private PriceWarmupRunner runner(Path keys, int iterations) {
+        return new PriceWarmupRunner(priceService, priceMapper, objectMapper, clusterRouter, keys, 1000, iterations, Duration.ofMinutes(1));
+    }
+
+    private Path keysFile(String... lines) throws IOException {
+        return Files.write(directory.resolve("hot-keys.csv"), List.of(lines));
+    }
+}
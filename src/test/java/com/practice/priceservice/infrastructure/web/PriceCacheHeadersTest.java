@@ -0,0 +1,72 @@
+package com.practice.priceservice.infrastructure.web;
+
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceSegment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para PriceCacheHeaders con un reloj fijo en UTC.
+ */
+@DisplayName("Unit Tests - PriceCacheHeaders")
+class PriceCacheHeadersTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    private final PriceCacheHeaders headers = new PriceCacheHeaders(Duration.ofHours(1),
+            Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("El max-age debe ser el tiempo que queda hasta el fin del tramo")
+    void givenSegmentEndingSoon_whenCacheControl_thenMaxAgeIsRemainingTime() {
+        PriceSegment segment = segment(NOW.minusHours(1), NOW.plusMinutes(30));
+
+        assertThat(headers.cacheControl(segment).getHeaderValue()).isEqualTo("max-age=1800, public");
+    }
+
+    @Test
+    @DisplayName("El max-age no debe superar el límite, ni en tramos largos ni en tramos ya cerrados")
+    void givenLongOrClosedSegment_whenCacheControl_thenMaxAgeIsLimit() {
+        PriceSegment open = segment(NOW.minusHours(1), NOW.plusDays(30));
+        PriceSegment closed = segment(NOW.minusDays(3), NOW.minusDays(2));
+
+        assertThat(headers.cacheControl(open).getHeaderValue()).isEqualTo("max-age=3600, public");
+        assertThat(headers.cacheControl(closed).getHeaderValue()).isEqualTo("max-age=3600, public");
+    }
+
+    @Test
+    @DisplayName("El ETag debe ser estable para la misma fila y cambiar si cambia cualquier campo serializado")
+    void givenSameAndModifiedRow_whenETag_thenChangesOnlyWithContent() {
+        Price price = new Price(2L, 1, NOW.minusHours(1), NOW.plusHours(2), 2, 35455, 1, 25.45, "EUR");
+        Price same = new Price(2L, 1, NOW.minusHours(1), NOW.plusHours(2), 2, 35455, 1, 25.45, "EUR");
+        Price repriced = new Price(2L, 1, NOW.minusHours(1), NOW.plusHours(2), 2, 35455, 1, 19.99, "EUR");
+
+        assertThat(headers.eTag(price, MediaType.APPLICATION_JSON))
+                .startsWith("\"2-")
+                .endsWith("-json\"")
+                .isEqualTo(headers.eTag(same, MediaType.APPLICATION_JSON))
+                .isNotEqualTo(headers.eTag(repriced, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("El ETag debe ser distinto para JSON y CBOR de la misma fila")
+    void givenSameRow_whenETagForJsonAndCbor_thenDiffers() {
+        Price price = new Price(2L, 1, NOW.minusHours(1), NOW.plusHours(2), 2, 35455, 1, 25.45, "EUR");
+
+        assertThat(headers.eTag(price, MediaType.APPLICATION_CBOR))
+                .endsWith("-cbor\"")
+                .isNotEqualTo(headers.eTag(price, MediaType.APPLICATION_JSON));
+    }
+
+    private PriceSegment segment(LocalDateTime start, LocalDateTime end) {
+        return new PriceSegment(start, end, new Price(1L, 1, start, end, 1, 35455, 0, 35.50, "EUR"));
+    }
+}
@@ -2,20 +2,31 @@ package com.practice.priceservice.infrastructure.web;
 
 import com.practice.priceservice.application.PriceService;
 import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceQuery;
+import com.practice.priceservice.domain.PriceSegment;
+import com.practice.priceservice.infrastructure.metrics.PriceMetrics;
 import com.practice.priceservice.infrastructure.web.dto.PriceResponse;
+import com.practice.priceservice.infrastructure.web.dto.PriceSegmentResponse;
 import com.practice.priceservice.infrastructure.web.mapper.PriceMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -23,6 +34,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Solo se prueba la capa de controller, mockeando las dependencias.
  */
 @WebMvcTest(PriceController.class)
+@Import({PriceMetrics.class, PriceCacheHeaders.class, SimpleMeterRegistry.class})
 @DisplayName("Unit Tests - PriceController")
 class PriceControllerTest {
 
@@ -65,8 +77,8 @@ class PriceControllerTest {
                 "EUR"
         );
 
-        when(priceService.getBestPrice(testDate, productId, brandId))
-                .thenReturn(Optional.of(priceEntity));
+        when(priceService.getEffectivePrice(testDate, productId, brandId))
+                .thenReturn(Optional.of(segment(priceEntity)));
         when(priceMapper.toResponse(priceEntity))
                 .thenReturn(priceResponse);
 
@@ -83,7 +95,7 @@ class PriceControllerTest {
                 .andExpect(jsonPath("$.price").value(35.50))
                 .andExpect(jsonPath("$.currency").value("EUR"));
 
-        verify(priceService, times(1)).getBestPrice(testDate, productId, brandId);
+        verify(priceService, times(1)).getEffectivePrice(testDate, productId, brandId);
         verify(priceMapper, times(1)).toResponse(priceEntity);
     }
 
@@ -95,7 +107,7 @@ class PriceControllerTest {
         Integer productId = 99999;
         Integer brandId = 1;
 
-        when(priceService.getBestPrice(testDate, productId, brandId))
+        when(priceService.getEffectivePrice(testDate, productId, brandId))
                 .thenReturn(Optional.empty());
 
         // When & Then
@@ -105,7 +117,7 @@ class PriceControllerTest {
                         .param("brandId", String.valueOf(brandId)))
                 .andExpect(status().isNotFound());
 
-        verify(priceService, times(1)).getBestPrice(testDate, productId, brandId);
+        verify(priceService, times(1)).getEffectivePrice(testDate, productId, brandId);
         verifyNoInteractions(priceMapper);
     }
 
@@ -214,8 +226,8 @@ class PriceControllerTest {
                 "EUR"
         );
 
-        when(priceService.getBestPrice(testDate, productId, brandId))
-                .thenReturn(Optional.of(priceEntity));
+        when(priceService.getEffectivePrice(testDate, productId, brandId))
+                .thenReturn(Optional.of(segment(priceEntity)));
         when(priceMapper.toResponse(priceEntity))
                 .thenReturn(priceResponse);
 
@@ -227,9 +239,220 @@ class PriceControllerTest {
                 .andExpect(status().isOk());
 
         // Then
-        verify(priceService, times(1)).getBestPrice(testDate, productId, brandId);
+        verify(priceService, times(1)).getEffectivePrice(testDate, productId, brandId);
         verify(priceMapper, times(1)).toResponse(priceEntity);
         verifyNoMoreInteractions(priceService);
         verifyNoMoreInteractions(priceMapper);
     }
+
+    @Test
+    @DisplayName("La respuesta debe incluir ETag y Cache-Control con max-age, sin Last-Modified")
+    void givenPriceExists_whenGetPrice_thenReturnsValidators() throws Exception {
+        // Given
+        LocalDateTime testDate = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+        Price priceEntity = new Price(2L, 1, testDate.minusHours(1), testDate.plusHours(2), 2, 35455, 1, 25.45, "EUR");
+        PriceResponse priceResponse = new PriceResponse(35455, 1, 2, testDate.minusHours(1), testDate.plusHours(2), 25.45, "EUR");
+
+        when(priceService.getEffectivePrice(testDate, 35455, 1))
+                .thenReturn(Optional.of(segment(priceEntity)));
+        when(priceMapper.toResponse(priceEntity))
+                .thenReturn(priceResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", new PriceCacheHeaders(Duration.ofHours(1)).eTag(priceEntity, MediaType.APPLICATION_JSON)))
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andExpect(header().string("Cache-Control", startsWith("max-age=")))
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    @DisplayName("Con un If-None-Match que coincide debe retornar 304 sin cuerpo y sin llamar al mapper")
+    void givenMatchingIfNoneMatch_whenGetPrice_thenReturnsNotModifiedWithoutMapping() throws Exception {
+        // Given
+        LocalDateTime testDate = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+        Price priceEntity = new Price(2L, 1, testDate.minusHours(1), testDate.plusHours(2), 2, 35455, 1, 25.45, "EUR");
+        String eTag = new PriceCacheHeaders(Duration.ofHours(1)).eTag(priceEntity, MediaType.APPLICATION_JSON);
+
+        when(priceService.getEffectivePrice(testDate, 35455, 1))
+                .thenReturn(Optional.of(segment(priceEntity)));
+
+        // When & Then
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(header().exists("Cache-Control"))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(priceMapper);
+    }
+
+    @Test
+    @DisplayName("Con un If-None-Match de otra versión debe retornar 200 con el precio")
+    void givenStaleIfNoneMatch_whenGetPrice_thenReturnsOk() throws Exception {
+        // Given
+        LocalDateTime testDate = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+        Price priceEntity = new Price(2L, 1, testDate.minusHours(1), testDate.plusHours(2), 2, 35455, 1, 25.45, "EUR");
+        PriceResponse priceResponse = new PriceResponse(35455, 1, 2, testDate.minusHours(1), testDate.plusHours(2), 25.45, "EUR");
+
+        when(priceService.getEffectivePrice(testDate, 35455, 1))
+                .thenReturn(Optional.of(segment(priceEntity)));
+        when(priceMapper.toResponse(priceEntity))
+                .thenReturn(priceResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header("If-None-Match", "\"2-0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(25.45));
+
+        verify(priceMapper, times(1)).toResponse(priceEntity);
+    }
+
+    @Test
+    @DisplayName("Un If-Modified-Since posterior al inicio del tramo no debe dar 304 si la tarifa se ha reescrito")
+    void givenIfModifiedSinceAfterRewrite_whenGetPrice_thenReturnsOk() throws Exception {
+        // Given
+        LocalDateTime testDate = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+        Price rewritten = new Price(2L, 1, testDate.minusHours(1), testDate.plusHours(2), 2, 35455, 1, 19.99, "EUR");
+        PriceResponse priceResponse = new PriceResponse(35455, 1, 2, testDate.minusHours(1), testDate.plusHours(2), 19.99, "EUR");
+
+        when(priceService.getEffectivePrice(testDate, 35455, 1))
+                .thenReturn(Optional.of(segment(rewritten)));
+        when(priceMapper.toResponse(rewritten))
+                .thenReturn(priceResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header("If-Modified-Since", "Sun, 14 Jun 2020 16:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(19.99));
+    }
+
+    @Test
+    @DisplayName("La línea temporal debe devolver un tramo mapeado por cada tramo del service")
+    void givenSegments_whenGetTimeline_thenReturnsMappedSegments() throws Exception {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2020, 6, 14, 0, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2020, 6, 14, 23, 59, 59);
+        Price base = new Price(1L, 1, from, to, 1, 35455, 0, 35.50, "EUR");
+        PriceSegment segment = new PriceSegment(from, to.plusNanos(1), base);
+
+        when(priceService.getTimeline(35455, 1, from, to)).thenReturn(List.of(segment));
+        when(priceMapper.toSegmentResponse(segment))
+                .thenReturn(new PriceSegmentResponse(from, to, 1, 35.50, "EUR"));
+
+        // When & Then
+        mockMvc.perform(get("/api/prices/timeline")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .param("from", "2020-06-14T00:00:00")
+                        .param("to", "2020-06-14T23:59:59"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(35455))
+                .andExpect(jsonPath("$.segments.length()").value(1))
+                .andExpect(jsonPath("$.segments[0].priceList").value(1))
+                .andExpect(jsonPath("$.segments[0].price").value(35.50));
+    }
+
+    @Test
+    @DisplayName("Cuando from es posterior a to, la línea temporal debe retornar 400 Bad Request")
+    void givenInvertedWindow_whenGetTimeline_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/prices/timeline")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .param("from", "2020-06-15T00:00:00")
+                        .param("to", "2020-06-14T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(priceService);
+    }
+
+    @Test
+    @DisplayName("En un lote debe devolver una respuesta por consulta, con price null si no hay precio")
+    void givenBatchRequest_whenGetPrices_thenReturnsOneResponsePerQuery() throws Exception {
+        // Given
+        LocalDateTime testDate = LocalDateTime.of(2024, 6, 14, 16, 0, 0);
+        PriceQuery found = new PriceQuery(testDate, 35455, 1);
+        PriceQuery missing = new PriceQuery(testDate, 99999, 1);
+
+        Price priceEntity = new Price(2L, 1, testDate.minusHours(1), testDate.plusHours(2), 2, 35455, 1, 25.45, "EUR");
+        PriceResponse priceResponse = new PriceResponse(35455, 1, 2, testDate.minusHours(1), testDate.plusHours(2), 25.45, "EUR");
+
+        when(priceService.getBestPrices(List.of(found, missing)))
+                .thenReturn(List.of(Optional.of(priceEntity), Optional.empty()));
+        when(priceMapper.toResponse(priceEntity))
+                .thenReturn(priceResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"date": "2024-06-14T16:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2024-06-14T16:00:00", "productId": 99999, "brandId": 1}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].productId").value(35455))
+                .andExpect(jsonPath("$[0].price.priceList").value(2))
+                .andExpect(jsonPath("$[0].price.price").value(25.45))
+                .andExpect(jsonPath("$[1].productId").value(99999))
+                .andExpect(jsonPath("$[1].price").doesNotExist());
+
+        verify(priceService, times(1)).getBestPrices(List.of(found, missing));
+        verify(priceMapper, times(1)).toResponse(priceEntity);
+    }
+
+    @Test
+    @DisplayName("Cuando el lote está vacío, debe retornar 400 Bad Request")
+    void givenEmptyBatch_whenGetPrices_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(priceService);
+        verifyNoInteractions(priceMapper);
+    }
+
+    @Test
+    @DisplayName("Cuando una consulta del lote es inválida, debe retornar 400 Bad Request")
+    void givenInvalidQueryInBatch_whenGetPrices_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"date": "2024-06-14T16:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2024-06-14T16:00:00", "productId": -1}
+                                ]
+                                """))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(priceService);
+        verifyNoInteractions(priceMapper);
+    }
+
+    /**
+     * Tramo que cubre toda la vigencia de la tarifa, como si fuera la única del producto.
+     */
+    private static PriceSegment segment(Price price) {
+        return new PriceSegment(price.getStartDate(), price.getEndDate().plusNanos(1), price);
+    }
 }
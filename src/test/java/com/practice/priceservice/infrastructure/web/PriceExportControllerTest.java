@@ -0,0 +1,109 @@
+package com.practice.priceservice.infrastructure.web;
+
+import com.practice.priceservice.application.PriceService;
+import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.infrastructure.metrics.PriceMetrics;
+import com.practice.priceservice.infrastructure.web.dto.PriceResponse;
+import com.practice.priceservice.infrastructure.web.mapper.PriceMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitarios para PriceExportController usando @WebMvcTest.
+ * El servicio se mockea para emitir dos productos y se comprueba el formato de cada línea.
+ */
+@WebMvcTest(PriceExportController.class)
+@Import({PriceMetrics.class, SimpleMeterRegistry.class})
+@DisplayName("Unit Tests - PriceExportController")
+class PriceExportControllerTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PriceService priceService;
+
+    @MockitoBean
+    private PriceMapper priceMapper;
+
+    @BeforeEach
+    void setUp() {
+        List<Price> prices = List.of(
+                new Price(6L, 1, DATE.minusDays(1), DATE.plusDays(1), 1, 1, 0, 9.99, "EUR"),
+                new Price(2L, 1, DATE.minusHours(1), DATE.plusHours(2), 2, 35455, 1, 25.45, "EUR"));
+        doAnswer(invocation -> {
+            Consumer<Price> action = invocation.getArgument(2);
+            prices.forEach(action);
+            return null;
+        }).when(priceService).forEachBestPrice(eq(1), eq(DATE), any());
+        when(priceMapper.toResponse(any(Price.class))).thenAnswer(invocation -> {
+            Price price = invocation.getArgument(0);
+            return new PriceResponse(price.getProductId(), price.getBrandId(), price.getPriceList(),
+                    price.getStartDate(), price.getEndDate(), price.getPrice(), price.getCurrency());
+        });
+    }
+
+    @Test
+    @DisplayName("Por defecto debe volcar un objeto JSON por línea con el ganador de cada producto")
+    void givenBrandWithTwoProducts_whenExport_thenWritesOneJsonLinePerProduct() throws Exception {
+        String body = mockMvc.perform(get("/api/prices/export")
+                        .param("brandId", "1")
+                        .param("date", "2020-06-14T16:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("application/x-ndjson")))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines().toList())
+                .hasSize(2)
+                .satisfiesExactly(
+                        line -> assertThat(line).contains("\"productId\":1,", "\"price\":9.99",
+                                "\"startDate\":\"2020-06-13T16:00:00\"", "\"endDate\":\"2020-06-15T16:00:00\""),
+                        line -> assertThat(line).contains("\"productId\":35455,", "\"priceList\":2"));
+    }
+
+    @Test
+    @DisplayName("Con format=CSV debe escribir la cabecera y una fila por producto")
+    void givenCsvFormat_whenExport_thenWritesHeaderAndRows() throws Exception {
+        mockMvc.perform(get("/api/prices/export")
+                        .param("brandId", "1")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/csv")))
+                .andExpect(content().string(PriceExportController.CSV_HEADER + "\n"
+                        + "1,1,1,2020-06-13T16:00:00,2020-06-15T16:00:00,9.99,EUR\n"
+                        + "35455,1,2,2020-06-14T15:00:00,2020-06-14T18:00:00,25.45,EUR\n"));
+    }
+
+    @Test
+    @DisplayName("Cuando el brandId no es positivo, debe retornar 400 Bad Request sin consultar el servicio")
+    void givenNonPositiveBrandId_whenExport_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/prices/export")
+                        .param("brandId", "0")
+                        .param("date", "2020-06-14T16:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(priceService, never()).forEachBestPrice(any(), any(), any());
+    }
+}
@@ -1,13 +1,22 @@
 package com.practice.priceservice.infrastructure.web;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -20,6 +29,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DisplayName("Integration Tests - Price API Scenarios")
 class PriceIntegrationTest {
 
+    private static final CBORMapper CBOR = new CBORMapper();
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -136,4 +147,169 @@ class PriceIntegrationTest {
                         .param("brandId", "1"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Test adicional: el lote resuelve los 5 escenarios y el caso sin precio en una sola petición")
+    void givenBatchWithAllScenarios_whenGetPrices_thenReturnsExpectedPriceLists() throws Exception {
+        mockMvc.perform(post("/api/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"date": "2020-06-14T10:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2020-06-14T16:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2020-06-14T21:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2020-06-15T10:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2020-06-16T21:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2019-01-01T10:00:00", "productId": 35455, "brandId": 1}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6))
+                .andExpect(jsonPath("$[0].price.priceList").value(1))
+                .andExpect(jsonPath("$[1].price.priceList").value(2))
+                .andExpect(jsonPath("$[2].price.priceList").value(1))
+                .andExpect(jsonPath("$[3].price.priceList").value(3))
+                .andExpect(jsonPath("$[4].price.priceList").value(4))
+                .andExpect(jsonPath("$[4].price.price").value(38.95))
+                .andExpect(jsonPath("$[5].date").value("2019-01-01T10:00:00"))
+                .andExpect(jsonPath("$[5].price").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Test adicional: la línea temporal del día 14 devuelve los tramos 1, 2 y 1 recortados al día, con fin inclusivo")
+    void givenDay14Window_whenGetTimeline_thenReturnsResolvedSegments() throws Exception {
+        mockMvc.perform(get("/api/prices/timeline")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .param("from", "2020-06-14T00:00:00")
+                        .param("to", "2020-06-14T23:59:59"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.segments.length()").value(3))
+                .andExpect(jsonPath("$.segments[0].priceList").value(1))
+                .andExpect(jsonPath("$.segments[0].startDate").value("2020-06-14T00:00:00"))
+                .andExpect(jsonPath("$.segments[0].endDate").value("2020-06-14T14:59:59.999999999"))
+                .andExpect(jsonPath("$.segments[1].priceList").value(2))
+                .andExpect(jsonPath("$.segments[1].price").value(25.45))
+                .andExpect(jsonPath("$.segments[1].startDate").value("2020-06-14T15:00:00"))
+                .andExpect(jsonPath("$.segments[1].endDate").value("2020-06-14T18:30:00"))
+                .andExpect(jsonPath("$.segments[2].priceList").value(1))
+                .andExpect(jsonPath("$.segments[2].startDate").value("2020-06-14T18:30:00.000000001"))
+                .andExpect(jsonPath("$.segments[2].endDate").value("2020-06-14T23:59:59"));
+    }
+
+    @Test
+    @DisplayName("Test adicional: el volcado de la brand 1 a las 16:00 del día 14 devuelve una línea con la tarifa 2")
+    void givenBrand1At4pm_whenExport_thenStreamsWinningPricePerProduct() throws Exception {
+        mockMvc.perform(get("/api/prices/export")
+                        .param("brandId", "1")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("productId,brandId,priceList,startDate,endDate,price,currency\n"
+                        + "35455,1,2,2020-06-14T15:00:00,2020-06-14T18:30:00,25.45,EUR\n"));
+    }
+
+    @Test
+    @DisplayName("Test adicional: repetir la petición con el ETag recibido debe retornar 304 sin cuerpo")
+    void givenETagFromPreviousResponse_whenGetPriceAgain_thenReturnsNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Test adicional: JSON y CBOR reciben ETags distintos y el de uno no valida al otro")
+    void givenJsonETag_whenGetPriceAsCbor_thenReturnsCborWithOwnETag() throws Exception {
+        String jsonETag = mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        String cborETag = mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header("Accept", "application/json;q=0.5, application/cbor")
+                        .header("If-None-Match", jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(jsonETag).endsWith("-json\"");
+        assertThat(cborETag).endsWith("-cbor\"");
+
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", cborETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Test adicional: con Accept application/cbor devuelve la tarifa 2 en CBOR con las fechas como arrays")
+    void givenCborAccept_whenGetPrice_thenReturnsCborEncodedPrice() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode price = CBOR.readTree(body);
+        assertThat(price.get("priceList").asInt()).isEqualTo(2);
+        assertThat(price.get("price").asDouble()).isEqualTo(25.45);
+        assertThat(price.get("currency").asText()).isEqualTo("EUR");
+        assertThat(CBOR.convertValue(price.get("startDate"), int[].class)).containsExactly(2020, 6, 14, 15, 0);
+        assertThat(CBOR.convertValue(price.get("endDate"), int[].class)).containsExactly(2020, 6, 14, 18, 30);
+    }
+
+    @Test
+    @DisplayName("Test adicional: el lote acepta y devuelve CBOR")
+    void givenCborBatch_whenGetPrices_thenReturnsCborResults() throws Exception {
+        byte[] request = CBOR.writeValueAsBytes(List.of(
+                Map.of("date", "2020-06-14T16:00:00", "productId", 35455, "brandId", 1),
+                Map.of("date", List.of(2019, 1, 1, 10, 0), "productId", 35455, "brandId", 1)));
+
+        byte[] body = mockMvc.perform(post("/api/prices/batch")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode results = CBOR.readTree(body);
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).get("price").get("priceList").asInt()).isEqualTo(2);
+        assertThat(results.get(1).get("price").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test adicional: el esquema CDDL del formato CBOR se publica como recurso estático")
+    void givenCddlSchema_whenGetSchema_thenReturnsIt() throws Exception {
+        mockMvc.perform(get("/schemas/price.cddl"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("price-response = {")));
+    }
 }
@@ -1,7 +1,9 @@
 package com.practice.priceservice.infrastructure.web.mapper;
 
 import com.practice.priceservice.domain.Price;
+import com.practice.priceservice.domain.PriceSegment;
 import com.practice.priceservice.infrastructure.web.dto.PriceResponse;
+import com.practice.priceservice.infrastructure.web.dto.PriceSegmentResponse;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
@@ -26,4 +28,19 @@ class PriceMapperTest {
         assertEquals(price.getPrice(), response.getPrice());
         assertEquals(price.getCurrency(), response.getCurrency());
     }
+
+    @Test
+    void shouldMapSegmentToResponse() {
+        Price price = new Price(1L, 1, LocalDateTime.now(), LocalDateTime.now().plusHours(1),
+                2, 35455, 1, 25.45, "EUR");
+        PriceSegment segment = new PriceSegment(price.getStartDate().plusMinutes(5), price.getEndDate(), price);
+
+        PriceSegmentResponse response = mapper.toSegmentResponse(segment);
+
+        assertEquals(segment.getStartDate(), response.getStartDate());
+        assertEquals(segment.getEndDate().minusNanos(1), response.getEndDate());
+        assertEquals(price.getPriceList(), response.getPriceList());
+        assertEquals(price.getPrice(), response.getPrice());
+        assertEquals(price.getCurrency(), response.getCurrency());
+    }
 }